@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.aspects.core.around;
+
+import de.sky.newcrm.apims.spring.environment.core.IncidentManagement;
+import de.sky.newcrm.apims.spring.flow.ApimsFlowContextHolder;
+import de.sky.newcrm.apims.spring.serialization.core.mapper.jackson3.DefaultJacksonObjectFactory;
+import de.sky.newcrm.apims.spring.serialization.core.masker.ApimsAroundObjectMaskerDefaultImpl;
+import de.sky.newcrm.apims.spring.serialization.core.serializer.ApimsAroundObjectSerializerDefaultImpl;
+import de.sky.newcrm.apims.spring.telemetry.logging.aspects.ApimsAroundLoggingListener;
+import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsLoggingHelper;
+import de.sky.newcrm.apims.spring.telemetry.mdc.aspect.ApimsAroundMdcErrorListener;
+import de.sky.newcrm.apims.spring.telemetry.mdc.aspect.ApimsAroundMdcListener;
+import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
+import de.sky.newcrm.apims.spring.telemetry.metrics.aspects.ApimsAroundMetricsListener;
+import de.sky.newcrm.apims.spring.telemetry.metrics.core.ApimsMeterRegistry;
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One call of a {@code @Component} bean through the {@link ApimsComponentAspect}, i.e. the complete around pipeline
+ * of {@link ApimsAspectAroundHandlerDefaultImpl#aroundMethod(ApimsAspectType, org.aspectj.lang.ProceedingJoinPoint)}
+ * including the Spring AOP proxy. {@code BASE} registers the {@link ApimsAroundFlowContextListener} only, the other
+ * values add the metrics, MDC, logging or MDC error listeners individually and {@code ALL} together. With
+ * {@code failing=true} the bean throws, which drives the error paths of the listeners.
+ * <p>
+ * Metrics go to a plain {@link SimpleMeterRegistry}, log events are discarded by the no-op appender of the
+ * {@code logback.xml} of this module, so the benchmark runs offline. Run with
+ * {@code java -jar target/benchmarks.jar ApimsAspectAroundHandlerBenchmark -prof gc} for the allocation per call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ApimsAspectAroundHandlerBenchmark {
+
+    @Param({"BASE", "METRICS", "MDC", "LOGGING", "ERROR", "ALL"})
+    private String listeners;
+
+    @Param({"false", "true"})
+    private boolean failing;
+
+    private BenchmarkComponent component;
+    private BenchmarkRequest request;
+
+    @Setup
+    public void setup() {
+        ApimsMdc mdc = new ApimsMdc(Map.of("app.name", "benchmark", "app.domain", "apims"));
+        inject(mdc, "mdcPrefix", "apims.");
+        inject(mdc, "globalFieldsMdcPrefix", "apims.");
+
+        List<ApimsAroundListener> listenerList = new ArrayList<>();
+        listenerList.add(new ApimsAroundFlowContextListener());
+        if (isEnabled("METRICS")) {
+            ApimsAroundMetricsListener metricsListener =
+                    new ApimsAroundMetricsListener(new ApimsMeterRegistry(new SimpleMeterRegistry()), Set.of());
+            inject(metricsListener, "mdc", mdc);
+            listenerList.add(metricsListener);
+        }
+        if (isEnabled("MDC")) {
+            ApimsAroundMdcListener mdcListener = new ApimsAroundMdcListener(Map.of("customerId", "customerId"));
+            inject(mdcListener, "mdc", mdc);
+            listenerList.add(mdcListener);
+        }
+        if (isEnabled("LOGGING")) {
+            ApimsLoggingHelper loggingHelper = new ApimsLoggingHelper(new ApimsAroundObjectSerializerDefaultImpl(
+                    DefaultJacksonObjectFactory.createDefaultJsonMapperBuilder().build(),
+                    new ApimsAroundObjectMaskerDefaultImpl(List.of("password", "pin"), "___masked___"),
+                    null,
+                    15000));
+            inject(loggingHelper, "newLogFormat", true);
+            listenerList.add(new ApimsAroundLoggingListener(loggingHelper));
+        }
+        if (isEnabled("ERROR")) {
+            ApimsAroundMdcErrorListener errorListener = new ApimsAroundMdcErrorListener(new IncidentManagement());
+            inject(errorListener, "mdc", mdc);
+            listenerList.add(errorListener);
+        }
+
+        ApimsAspectAroundHandlerDefaultImpl handler =
+                new ApimsAspectAroundHandlerDefaultImpl(false, listenerList, null);
+        inject(handler, "saveLogLinesSpanTagMaxLength", 1000);
+        if (isEnabled("MDC")) {
+            inject(handler, "mdc", mdc);
+        }
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new BenchmarkComponent());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ApimsComponentAspect(handler));
+        component = proxyFactory.getProxy();
+        request = new BenchmarkRequest("4711", "secret", 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ApimsFlowContextHolder.resetFlowContext();
+        MDC.clear();
+    }
+
+    @Benchmark
+    public Object aroundMethod() {
+        try {
+            return component.execute(request, failing);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    private boolean isEnabled(String listener) {
+        return "ALL".equals(listeners) || listener.equals(listeners);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        ReflectionUtils.setField(ObjectUtils.findField(target.getClass(), fieldName), target, value);
+    }
+
+    public record BenchmarkRequest(String customerId, String password, int amount) {}
+
+    public record BenchmarkResponse(String customerId, String status, int amount) {}
+
+    @Component
+    public static class BenchmarkComponent {
+
+        public BenchmarkResponse execute(BenchmarkRequest request, boolean failing) {
+            if (failing) {
+                throw new IllegalStateException("customer " + request.customerId() + " is locked");
+            }
+            return new BenchmarkResponse(request.customerId(), "OK", request.amount());
+        }
+    }
+}
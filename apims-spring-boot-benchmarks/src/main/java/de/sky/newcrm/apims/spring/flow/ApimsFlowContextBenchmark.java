@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.flow;
+
+import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsAroundLoggingListenerSuppress;
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The annotation lookups of {@link ApimsFlowContextImpl} for the current method of the flow, as done by the around
+ * listeners on every call. The lookups hit a present and a missing annotation, both are cached.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsFlowContextBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ApimsFlowContextBenchmark {
+
+    private ApimsFlowContext flowContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Method method = ObjectUtils.findMethod(BenchmarkService.class, "find", String.class, String.class);
+        ApimsFlowContextHolder.pushFlowMethodReference(ApimsFlowMethodReference.builder()
+                .method(method)
+                .args(new Object[] {"4711", "active"})
+                .build());
+        flowContext = ApimsFlowContext.get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ApimsFlowContextHolder.resetFlowContext();
+    }
+
+    @Benchmark
+    public Annotation findCurrentMethodAnnotation() {
+        return flowContext.findCurrentMethodAnnotation(ApimsAroundLoggingListenerSuppress.class);
+    }
+
+    @Benchmark
+    public Annotation findCurrentMethodAnnotationMissing() {
+        return flowContext.findCurrentMethodAnnotation(Deprecated.class);
+    }
+
+    @Benchmark
+    public Annotation findCurrentClassAnnotation() {
+        return flowContext.findCurrentClassAnnotation(ApimsAroundLoggingListenerSuppress.class, false);
+    }
+
+    @Benchmark
+    public Annotation findCurrentMethodOrClassAnnotation() {
+        return flowContext.findCurrentMethodOrClassAnnotation(Deprecated.class, false);
+    }
+
+    @Benchmark
+    public Annotation findCurrentMethodParamAnnotation() {
+        return flowContext.findCurrentMethodParamAnnotation(PathVariable.class, 0);
+    }
+
+    @ApimsAroundLoggingListenerSuppress(suppressArgs = true)
+    public static class BenchmarkService {
+
+        @ApimsAroundLoggingListenerSuppress(suppressReturnValue = true)
+        public String find(@PathVariable("id") String id, String status) {
+            return id + status;
+        }
+    }
+}
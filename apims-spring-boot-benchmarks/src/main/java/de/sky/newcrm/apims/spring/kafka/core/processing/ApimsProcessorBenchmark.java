@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.kafka.core.processing;
+
+import jakarta.validation.constraints.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ApimsProcessor#process(String, Object, ApimsProcessingStrategy)} with 1, 5 and 20 registered handlers of
+ * one processing group. Every handler supports the inbound entity, so {@code PROCESS_ALL_HANDLERS} runs all of them and
+ * {@code PROCESS_FIRST_SUPPORTED_HANDLER_ONLY} the first one. Another group with the same number of handlers is
+ * registered to keep the group selection honest.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsProcessorBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApimsProcessorBenchmark {
+
+    private static final String PROCESSING_GROUP = "BENCHMARK";
+    private static final String OTHER_PROCESSING_GROUP = "OTHER";
+
+    @Param({"1", "5", "20"})
+    private int handlerCount;
+
+    @Param({"PROCESS_ALL_HANDLERS", "PROCESS_FIRST_SUPPORTED_HANDLER_ONLY"})
+    private ApimsProcessingStrategy strategy;
+
+    private ApimsProcessor processor;
+    private Inbound inbound;
+
+    @Setup
+    public void setup() {
+        List<ApimsProcessingHandler<?, ?>> handlers = new ArrayList<>();
+        for (int i = 0; i < handlerCount; i++) {
+            handlers.add(new BenchmarkHandler(OTHER_PROCESSING_GROUP, i));
+            handlers.add(new BenchmarkHandler(PROCESSING_GROUP, i));
+        }
+        processor = new ApimsProcessor(handlers);
+        inbound = new Inbound("id-1", 42L);
+    }
+
+    @Benchmark
+    public int process() {
+        return processor.process(PROCESSING_GROUP, inbound, strategy);
+    }
+
+    public record Inbound(@NotNull String id, @NotNull Long value) {}
+
+    public record Converted(@NotNull String id, long value) {}
+
+    private static class BenchmarkHandler extends ApimsProcessingHandler<Inbound, Converted> {
+
+        private final String processingGroupName;
+        private final int order;
+        private Converted lastProcessed;
+
+        private BenchmarkHandler(String processingGroupName, int order) {
+            this.processingGroupName = processingGroupName;
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public String getProcessingGroupName() {
+            return processingGroupName;
+        }
+
+        @Override
+        public boolean supportsInboundData(Inbound inboundEntity) {
+            return inboundEntity.value() != null;
+        }
+
+        @Override
+        public Converted convertInboundData(Inbound inboundEntity) {
+            return new Converted(inboundEntity.id(), inboundEntity.value() + order);
+        }
+
+        @Override
+        public void handleValidateInboundDataException(Inbound inboundEntity, Exception exception) {
+            defaultHandleValidateInboundDataException(inboundEntity, exception);
+        }
+
+        @Override
+        public void handleValidateProcessingDataException(
+                Inbound inboundEntity, Converted processingEntity, Exception exception) {
+            defaultHandleValidateProcessingDataException(inboundEntity, processingEntity, exception);
+        }
+
+        @Override
+        public void process(Converted processingEntity) {
+            lastProcessed = processingEntity;
+        }
+
+        @Override
+        public void handleProcessException(Inbound inboundEntity, Converted processingEntity, Exception exception) {
+            defaultHandleProcessException(inboundEntity, processingEntity, exception);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.serialization.core.serializer;
+
+import de.sky.newcrm.apims.spring.serialization.core.mapper.jackson3.DefaultJacksonObjectFactory;
+import de.sky.newcrm.apims.spring.serialization.core.masker.ApimsAroundObjectMaskerDefaultImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ApimsAroundObjectSerializerDefaultImpl#serialize(Object, int)} of the typical around arguments and results:
+ * an url with query parameters, a small request object, the argument array of a call and a list of 500 objects that
+ * exceeds the maximum length.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsAroundObjectSerializerBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApimsAroundObjectSerializerBenchmark {
+
+    @Param({"URL", "OBJECT", "ARGS", "LIST"})
+    private String payloadType;
+
+    @Param({"1000", "15000"})
+    private int maxLength;
+
+    private ApimsAroundObjectSerializerDefaultImpl serializer;
+    private Object payload;
+
+    @Setup
+    public void setup() {
+        serializer = new ApimsAroundObjectSerializerDefaultImpl(
+                DefaultJacksonObjectFactory.createDefaultJsonMapperBuilder().build(),
+                new ApimsAroundObjectMaskerDefaultImpl(List.of("password", "pin"), "___masked___"),
+                null,
+                maxLength);
+        Customer customer = new Customer("4711", "Max", "Mustermann", "secret", List.of("TV", "SPORT"));
+        payload = switch (payloadType) {
+            case "URL" -> "https://api.example.com/customers/4711?password=secret&pin=1234&status=active";
+            case "OBJECT" -> customer;
+            case "ARGS" -> new Object[] {"4711", customer, 42};
+            default -> {
+                List<Customer> customers = new ArrayList<>(500);
+                for (int i = 0; i < 500; i++) {
+                    customers.add(new Customer(String.valueOf(i), "Max", "Mustermann", "secret", List.of("TV")));
+                }
+                yield customers;
+            }
+        };
+    }
+
+    @Benchmark
+    public String serialize() {
+        return serializer.serialize(payload);
+    }
+
+    public record Customer(String id, String firstName, String lastName, String password, List<String> products) {}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code findAll()} over 10k entities for each {@link ApimsEntityCloner} strategy, for the list based
+ * {@link ApimsEntityIdInMemoryStore} and the {@link ApimsEntityIdConcurrentInMemoryStore}.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsEntityStoreFindAllBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApimsEntityStoreFindAllBenchmark {
+
+    @Param({"10000"})
+    private int entityCount;
+
+    @Param({"json", "copy", "immutable"})
+    private String cloner;
+
+    private ApimsEntityStore<Customer> listStore;
+    private ApimsEntityStore<Customer> concurrentStore;
+
+    @Setup
+    public void setup() {
+        listStore = new ListStore(createCloner());
+        concurrentStore = new ConcurrentStore(createCloner());
+        List<Customer> customers = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            customers.add(new Customer(
+                    String.valueOf(i),
+                    "first-" + i,
+                    "last-" + i,
+                    LocalDate.of(1970, 1, 1).plusDays(i),
+                    List.of(new Address("street " + i, "city-" + (i % 100), String.valueOf(10000 + i)))));
+        }
+        // save() of the list store is O(n), fill it directly
+        listStore.setEntities(customers);
+        concurrentStore.saveAll(customers);
+    }
+
+    @Benchmark
+    public List<Customer> listStoreFindAll() {
+        return listStore.findAll();
+    }
+
+    @Benchmark
+    public List<Customer> concurrentStoreFindAll() {
+        return concurrentStore.findAll();
+    }
+
+    private ApimsEntityCloner<Customer> createCloner() {
+        return switch (cloner) {
+            case "copy" -> ApimsEntityCopyCloner.of(Customer.class);
+            case "immutable" -> new ApimsEntityImmutableCloner<>();
+            default -> null;
+        };
+    }
+
+    public record Address(String street, String city, String zipCode) {}
+
+    public record Customer(String id, String firstName, String lastName, LocalDate birthDate, List<Address> addresses) {}
+
+    private static class ListStore extends ApimsEntityIdInMemoryStore<String, Customer> {
+
+        private ListStore(ApimsEntityCloner<Customer> entityCloner) {
+            super(String.class, Customer.class, null, entityCloner);
+        }
+    }
+
+    private static class ConcurrentStore extends ApimsEntityIdConcurrentInMemoryStore<String, Customer> {
+
+        private ConcurrentStore(ApimsEntityCloner<Customer> entityCloner) {
+            super(String.class, Customer.class, entityCloner);
+        }
+    }
+}
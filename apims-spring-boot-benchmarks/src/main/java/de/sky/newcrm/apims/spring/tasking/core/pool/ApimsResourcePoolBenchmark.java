@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.tasking.core.pool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Borrow and return of a shared {@link ApimsResourcePoolImpl} under contention: 64 platform threads borrowing in a
+ * loop, and 10k virtual threads started at once that borrow one resource each. The resource is used for a few
+ * hundred cpu tokens while it is borrowed, {@code maxAvailableResources} limits the idle resources.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsResourcePoolBenchmark -prof gc}.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApimsResourcePoolBenchmark {
+
+    private static final int VIRTUAL_THREADS = 10_000;
+    private static final long WORK_TOKENS = 200;
+
+    @Param({"8", "64"})
+    private int maxAvailableResources;
+
+    private BenchmarkResourcePool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new BenchmarkResourcePool(maxAvailableResources);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        pool.destroy();
+    }
+
+    @Benchmark
+    @Threads(64)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void platformThreads() {
+        borrow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void virtualThreads() {
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < VIRTUAL_THREADS; i++) {
+                executorService.execute(this::borrow);
+            }
+        }
+    }
+
+    private void borrow() {
+        try (ApimsResourceLease<byte[]> lease = pool.acquire()) {
+            Blackhole.consumeCPU(WORK_TOKENS);
+            lease.getResource()[0]++;
+        }
+    }
+
+    static class BenchmarkResourcePool extends ApimsResourcePoolImpl<byte[]> {
+
+        BenchmarkResourcePool(int maxAvailableResources) {
+            super(maxAvailableResources, -1);
+        }
+
+        @Override
+        protected byte[] createResource() {
+            return new byte[1024];
+        }
+
+        @Override
+        protected boolean isResourceValid(byte[] resource) {
+            return true;
+        }
+
+        @Override
+        protected void disposeResource(byte[] resource) {
+            // nothing to release
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.telemetry.mdc.core;
+
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link ApimsMdc} operations of the around pipeline: the reset at the start of an inbound call
+ * ({@code removeAllApimsValues} and {@code putGlobalFields} against {@code resetToGlobalFields}), the snapshot and
+ * restore of a worker handoff, single values and the error info of a failed call.
+ * The MDC holds some non apims values of other libraries, like in a running service.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsMdcBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ApimsMdcBenchmark {
+
+    private ApimsMdc mdc;
+    private ApimsMdcSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mdc = new ApimsMdc(Map.of(
+                "app.name", "benchmark",
+                "app.domain", "apims",
+                "app.env", "local",
+                "app.instance-id", "benchmark-1"));
+        inject("mdcPrefix", "apims.");
+        inject("globalFieldsMdcPrefix", "apims.");
+        MDC.put("traceId", "6a3f0c4b8e2d4f1a");
+        MDC.put("spanId", "8e2d4f1a");
+        mdc.putGlobalFields();
+        mdc.put("customerId", "4711");
+        snapshot = mdc.snapshot();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Benchmark
+    public void resetInboundCall() {
+        mdc.removeAllApimsValues();
+        mdc.putGlobalFields();
+    }
+
+    @Benchmark
+    public void resetToGlobalFields() {
+        mdc.resetToGlobalFields();
+    }
+
+    @Benchmark
+    public ApimsMdcSnapshot snapshotAndRestore() {
+        ApimsMdcSnapshot current = mdc.snapshot();
+        mdc.restore(snapshot);
+        return current;
+    }
+
+    @Benchmark
+    public String putGetRemove() {
+        mdc.put("contractId", "0815");
+        String value = mdc.get("contractId");
+        mdc.remove("contractId");
+        return value;
+    }
+
+    @Benchmark
+    public Map<String, String> getApimsMap() {
+        return mdc.getApimsMap();
+    }
+
+    @Benchmark
+    public boolean putAndClearErrorInfo() {
+        mdc.putErrorInfo("hash", "12345");
+        mdc.putErrorInfo("exceptionClass", "java.lang.IllegalStateException");
+        mdc.putErrorInfo("componentType", "SERVICE");
+        boolean hasError = mdc.hasError("12345");
+        mdc.clearError();
+        return hasError;
+    }
+
+    private void inject(String fieldName, Object value) {
+        ReflectionUtils.setField(ObjectUtils.findField(ApimsMdc.class, fieldName), mdc, value);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SHA-512 file content digests of {@link ChecksumUtils} over temp files from 1 MB to 1 GB: the former read loop with
+ * a 2 KB heap buffer, the sequential {@link ChecksumUtils#contentDigest(File)} and the
+ * {@link ChecksumUtils#parallelContentDigest(File, int)} with the default chunk size. The files stay in the page
+ * cache after the first iteration, so the results show the cpu and copy costs, not the disk.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ChecksumUtilsBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChecksumUtilsBenchmark {
+
+    @Param({"1", "16", "256", "1024"})
+    private int fileSizeMb;
+
+    private Path path;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        path = Files.createTempFile("apims-checksum-benchmark", ".bin");
+        file = path.toFile();
+        byte[] block = new byte[1024 * 1024];
+        Random random = new Random(4711);
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            for (int i = 0; i < fileSizeMb; i++) {
+                random.nextBytes(block);
+                outputStream.write(block);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public byte[] heapBuffer2k() throws IOException, NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-512");
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            FileChannel channel = inputStream.getChannel();
+            ByteBuffer buff = ByteBuffer.allocate(2048);
+            while (channel.read(buff) != -1) {
+                buff.flip();
+                messageDigest.update(buff);
+                buff.clear();
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    @Benchmark
+    public byte[] contentDigest() throws IOException {
+        return ChecksumUtils.contentDigest(file);
+    }
+
+    @Benchmark
+    public byte[] parallelContentDigest() throws IOException {
+        return ChecksumUtils.parallelContentDigest(file, ChecksumUtils.DEFAULT_PARALLEL_CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Id generation of {@link IdUtils} with 8 threads: the random long of a shared {@link Random}, as used before, against
+ * the thread local random, the time-ordered ids and {@link UUID#randomUUID()}. The encode benchmarks compare the
+ * former base64 and per char hex string conversion of {@link IdUtils#encodeId(String)} with the current one.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar IdUtilsBenchmark -prof gc}, {@code -t} overrides the threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class IdUtilsBenchmark {
+
+    private static final String ID = "000001a15015b6dce4fa32c8339b8f63";
+
+    private final Random sharedRandom = new Random();
+    private final String encodedId = IdUtils.encodeId(ID);
+
+    @Benchmark
+    public long sharedRandomNextLong() {
+        return sharedRandom.nextLong();
+    }
+
+    @Benchmark
+    public long nextLong() {
+        return IdUtils.nextLong();
+    }
+
+    @Benchmark
+    public String nextId() {
+        return IdUtils.nextId();
+    }
+
+    @Benchmark
+    public UUID nextUuidV7() {
+        return IdUtils.nextUuidV7();
+    }
+
+    @Benchmark
+    public String nextUlid() {
+        return IdUtils.nextUlid();
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String base64HexEncodeId() {
+        return IdUtils.asciiToHex(new String(Base64.getEncoder().encode(ID.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Benchmark
+    public String encodeId() {
+        return IdUtils.encodeId(ID);
+    }
+
+    @Benchmark
+    public String base64HexDecodeId() {
+        return new String(Base64.getDecoder().decode(IdUtils.hexToAscii(encodedId)), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String decodeId() {
+        return IdUtils.decodeId(encodedId);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the regex based {@link JSONStringMasker} with the {@link CompiledJSONStringMasker}.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar JSONStringMaskerBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JSONStringMaskerBenchmark {
+
+    private static final String MASK_VALUE = "___masked___";
+
+    @Param({"1024", "102400"})
+    private int payloadSize;
+
+    @Param({"5", "50"})
+    private int keyCount;
+
+    private List<String> keys;
+    private String payload;
+    private CompiledJSONStringMasker compiledMasker;
+
+    @Setup
+    public void setup() {
+        keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add("secret" + i);
+        }
+        StringBuilder buf = new StringBuilder(payloadSize + 64).append("{\n");
+        int i = 0;
+        while (buf.length() < payloadSize) {
+            String key = i % 10 == 0 ? keys.get(i % keyCount) : "field" + i;
+            buf.append("  \"").append(key).append("\" : \"value of ").append(key).append("\",\n");
+            i++;
+        }
+        payload = buf.append("  \"last\" : 1\n}").toString();
+        compiledMasker = new CompiledJSONStringMasker(MASK_VALUE, keys);
+    }
+
+    @Benchmark
+    public String regexMasker() {
+        return JSONStringMasker.mask(payload, MASK_VALUE, keys);
+    }
+
+    @Benchmark
+    public String compiledMasker() {
+        return compiledMasker.mask(payload);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the regex based {@link UrlParamsStringMasker} with the {@link CompiledUrlParamsStringMasker} for an url
+ * with masked parameters, an url without a matching parameter and a plain string argument without parameters.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar UrlParamsStringMaskerBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlParamsStringMaskerBenchmark {
+
+    private static final String MASK_VALUE = "___masked___";
+
+    @Param({"MATCH", "NO_MATCH", "PLAIN"})
+    private String sourceType;
+
+    @Param({"5", "50"})
+    private int keyCount;
+
+    private List<String> keys;
+    private String source;
+    private CompiledUrlParamsStringMasker compiledMasker;
+
+    @Setup
+    public void setup() {
+        keys = new ArrayList<>(keyCount);
+        keys.add("client_secret");
+        keys.add("password");
+        for (int i = keys.size(); i < keyCount; i++) {
+            keys.add("secret" + i);
+        }
+        source = switch (sourceType) {
+            case "MATCH" -> "https://login.example.com/services/oauth2/token?grant_type=password"
+                    + "&client_id=3MVG96mGXeuuwTZiNeAhpfAiHTLhKKxDLGsjlX6AqITPkvGo23yWwWYANBiUxz2Dl7RfjDo2G6"
+                    + "&client_secret=6B861844CB9BBCE8DDF1298734DB9369A637AE993A9730133F7E5BD5CFA4BE91"
+                    + "&username=apims-user%40example.com&password=secret";
+            case "NO_MATCH" -> "https://api.example.com/customers/4711/contracts?status=active&page=2&size=50";
+            default -> "4711-0815-customer-contract-id";
+        };
+        compiledMasker = new CompiledUrlParamsStringMasker(MASK_VALUE, keys);
+    }
+
+    @Benchmark
+    public String regexMasker() {
+        return UrlParamsStringMasker.mask(source, MASK_VALUE, keys);
+    }
+
+    @Benchmark
+    public String compiledMasker() {
+        return compiledMasker.mask(source);
+    }
+}
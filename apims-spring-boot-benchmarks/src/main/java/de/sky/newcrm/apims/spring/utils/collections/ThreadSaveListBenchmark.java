@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils.collections;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A shared {@link ThreadSaveList} of 1000 entries used by 1, 4 and 16 threads. Each operation is a read
+ * ({@code filter}, {@code getAll} or {@code stream}) with the probability {@code readPercent}, otherwise a write (an
+ * {@code add} followed by a {@code remove} of a thread specific entry, so the size stays stable). Compares the
+ * {@link ThreadSaveArrayList} with the {@link ThreadSaveCopyOnWriteList} and the {@link ThreadSaveConcurrentDequeList}.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ThreadSaveListBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadSaveListBenchmark {
+
+    private static final int SIZE = 1000;
+
+    @Param({"ARRAY_LIST", "COPY_ON_WRITE", "CONCURRENT_DEQUE"})
+    private String implementation;
+
+    @Param({"90", "50"})
+    private int readPercent;
+
+    private ThreadSaveList<String> list;
+
+    @Setup
+    public void setup() {
+        list = switch (implementation) {
+            case "ARRAY_LIST" -> new ThreadSaveArrayList<>();
+            case "COPY_ON_WRITE" -> new ThreadSaveCopyOnWriteList<>();
+            default -> new ThreadSaveConcurrentDequeList<>();
+        };
+        for (int i = 0; i < SIZE; i++) {
+            list.add("entry-" + i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private String entry;
+
+        @Setup
+        public void setup() {
+            entry = "thread-" + COUNTER.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object threads1(ThreadState threadState) {
+        return operation(threadState);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object threads4(ThreadState threadState) {
+        return operation(threadState);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object threads16(ThreadState threadState) {
+        return operation(threadState);
+    }
+
+    private Object operation(ThreadState threadState) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) >= readPercent) {
+            list.add(threadState.entry);
+            return list.remove(threadState.entry);
+        }
+        return switch (random.nextInt(3)) {
+            case 0 -> list.filter(e -> e.endsWith("-42"));
+            case 1 -> list.getAll().get(SIZE / 2);
+            default -> list.stream().filter(e -> e.startsWith("thread-")).count();
+        };
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.web.core.oauth.validator;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import de.sky.newcrm.apims.spring.web.core.oauth.entity.ApimsConfigKeySourceTypeEnum;
+import de.sky.newcrm.apims.spring.web.core.oauth.entity.ApimsKeySource;
+import de.sky.newcrm.apims.spring.web.core.oauth.exception.ApimsOAuthTokenNotValidException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RS256 validation of {@code tokenCount} distinct bearer tokens (requests of different sessions, round robin) by an
+ * {@link ApimsAbstractTokenValidator}, with ({@code cache=true}) and without the validated token cache.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ApimsTokenValidatorBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApimsTokenValidatorBenchmark {
+
+    private static final String ISSUER = "https://issuer.benchmark";
+    private static final Set<String> RUNTIME_AUDIENCES = Set.of("api://benchmark");
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    @Param({"1", "100"})
+    private int tokenCount;
+
+    private BenchmarkTokenValidator validator;
+    private JWT[] tokens;
+    private int next;
+
+    @Setup
+    public void setup() throws JOSEException, ParseException {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("benchmark").generate();
+        validator = new BenchmarkTokenValidator(rsaKey);
+        validator.setValidatedTokenCache(
+                cache ? ApimsAbstractTokenValidator.DEFAULT_VALIDATED_TOKEN_CACHE_TTL_SECONDS : 0L, 10_000L);
+        validator.setMeterRegistry(new SimpleMeterRegistry());
+        tokens = new JWT[tokenCount];
+        RSASSASigner signer = new RSASSASigner(rsaKey);
+        for (int i = 0; i < tokenCount; i++) {
+            SignedJWT signedJWT = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256)
+                            .keyID(rsaKey.getKeyID())
+                            .build(),
+                    new JWTClaimsSet.Builder()
+                            .issuer(ISSUER)
+                            .subject("user-" + i)
+                            .audience(List.of("api://benchmark"))
+                            .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                            .build());
+            signedJWT.sign(signer);
+            tokens[i] = JWTParser.parse(signedJWT.serialize());
+        }
+    }
+
+    @Benchmark
+    public JWTClaimsSet validate() throws ApimsOAuthTokenNotValidException {
+        JWT token = tokens[next];
+        next = next + 1 == tokens.length ? 0 : next + 1;
+        return validator.validate(token, RUNTIME_AUDIENCES);
+    }
+
+    private static class BenchmarkTokenValidator extends ApimsAbstractTokenValidator {
+
+        private BenchmarkTokenValidator(RSAKey rsaKey) {
+            super(
+                    Set.of(ISSUER),
+                    ApimsKeySource.builder()
+                            .keySourceType(ApimsConfigKeySourceTypeEnum.RESOURCE_LOCATION)
+                            .jwtSource(new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())))
+                            .build());
+            setExplicitAudienceCheck(true);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
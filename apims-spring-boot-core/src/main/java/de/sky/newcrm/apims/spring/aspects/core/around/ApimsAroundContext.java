@@ -6,19 +6,37 @@ package de.sky.newcrm.apims.spring.aspects.core.around;
 
 import de.sky.newcrm.apims.spring.flow.ApimsFlowContext;
 import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsAroundLoggingListenerSuppress;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.slf4j.Logger;
 
+/**
+ * Context of an advised invocation.
+ * <p>
+ * Instances created by the {@link ApimsAspectAroundHandlerDefaultImpl} are recycled per thread and call depth,
+ * listeners must not keep a reference to the context after {@link ApimsAroundListener#afterAroundMethod}.
+ * Listener specific state should be kept in the listener data slot (see {@link #setListenerData(Object)}).
+ */
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressWarnings({"java:S107"})
 public class ApimsAroundContext {
 
+    private static final int DEFAULT_LISTENER_DATA_SIZE = 8;
+
     private ProceedingJoinPoint proceedingJoinPoint;
+    private ApimsMethodDescriptor methodDescriptor;
     private Class<?> declaringType;
     private ApimsAspectType type;
     private String signature;
@@ -33,6 +51,76 @@ public class ApimsAroundContext {
     private Logger logger;
     private int spanTagCount;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int listenerIndex;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Object[] listenerData;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long[] listenerStartTimes;
+
+    public Map<String, Object> getData() {
+        if (data == null) {
+            data = new HashMap<>();
+        }
+        return data;
+    }
+
+    /**
+     * @return the value stored by the currently called listener, or {@code null}
+     */
+    public Object getListenerData() {
+        return listenerData == null || listenerIndex >= listenerData.length ? null : listenerData[listenerIndex];
+    }
+
+    /**
+     * Stores a value for the currently called listener, it is available until the call is completed.
+     */
+    public void setListenerData(Object value) {
+        if (listenerData == null || listenerIndex >= listenerData.length) {
+            listenerData = listenerData == null
+                    ? new Object[Math.max(DEFAULT_LISTENER_DATA_SIZE, listenerIndex + 1)]
+                    : Arrays.copyOf(listenerData, listenerIndex + 1);
+        }
+        listenerData[listenerIndex] = value;
+    }
+
+    /**
+     * @return the value stored by the currently called listener, or {@code null}; the slot is cleared
+     */
+    public Object removeListenerData() {
+        Object value = getListenerData();
+        if (value != null) {
+            listenerData[listenerIndex] = null;
+        }
+        return value;
+    }
+
+    /**
+     * @return the start time stored by the currently called listener, or {@code 0}
+     */
+    public long getListenerStartTime() {
+        return listenerStartTimes == null || listenerIndex >= listenerStartTimes.length
+                ? 0L
+                : listenerStartTimes[listenerIndex];
+    }
+
+    /**
+     * Stores a start time (e.g. {@link System#nanoTime()}) for the currently called listener without boxing.
+     */
+    public void setListenerStartTime(long startTime) {
+        if (listenerStartTimes == null || listenerIndex >= listenerStartTimes.length) {
+            listenerStartTimes = listenerStartTimes == null
+                    ? new long[Math.max(DEFAULT_LISTENER_DATA_SIZE, listenerIndex + 1)]
+                    : Arrays.copyOf(listenerStartTimes, listenerIndex + 1);
+        }
+        listenerStartTimes[listenerIndex] = startTime;
+    }
+
     public boolean isApimsAroundLoggingListenerSuppressed() {
         ApimsAroundLoggingListenerSuppress apimsAroundLoggingListenerSuppress =
                 findApimsAroundLoggingListenerSuppressAnnotation();
@@ -40,7 +128,57 @@ public class ApimsAroundContext {
     }
 
     public ApimsAroundLoggingListenerSuppress findApimsAroundLoggingListenerSuppressAnnotation() {
+        if (methodDescriptor != null && methodDescriptor.getMethod() != null) {
+            return methodDescriptor.getLoggingListenerSuppress();
+        }
         return ApimsFlowContext.get()
                 .findCurrentMethodOrClassAnnotation(ApimsAroundLoggingListenerSuppress.class, false);
     }
+
+    void selectListener(int listenerIndex) {
+        this.listenerIndex = listenerIndex;
+    }
+
+    void init(
+            ProceedingJoinPoint proceedingJoinPoint,
+            ApimsMethodDescriptor methodDescriptor,
+            ApimsAspectType type,
+            String loglineIntro,
+            int activeCallsCount,
+            boolean createNewSpan,
+            int spanTagMaxLength,
+            int listenerCount) {
+        this.proceedingJoinPoint = proceedingJoinPoint;
+        this.methodDescriptor = methodDescriptor;
+        this.declaringType = methodDescriptor.getDeclaringType();
+        this.type = type;
+        this.signature = methodDescriptor.getSignature();
+        this.shortSignature = methodDescriptor.getShortSignature();
+        this.voidMethod = methodDescriptor.isVoidMethod();
+        this.returnType = methodDescriptor.getReturnType();
+        this.loglineIntro = loglineIntro;
+        this.activeCallsCount = activeCallsCount;
+        this.createNewSpan = createNewSpan;
+        this.spanTagMaxLength = spanTagMaxLength;
+        this.logger = methodDescriptor.getLogger();
+        this.spanTagCount = 0;
+        this.listenerIndex = 0;
+        if (listenerData == null || listenerData.length < listenerCount) {
+            listenerData = new Object[Math.max(DEFAULT_LISTENER_DATA_SIZE, listenerCount)];
+            listenerStartTimes = new long[listenerData.length];
+        }
+    }
+
+    void release() {
+        this.proceedingJoinPoint = null;
+        if (listenerData != null) {
+            Arrays.fill(listenerData, null);
+        }
+        if (listenerStartTimes != null) {
+            Arrays.fill(listenerStartTimes, 0L);
+        }
+        if (data != null) {
+            data.clear();
+        }
+    }
 }
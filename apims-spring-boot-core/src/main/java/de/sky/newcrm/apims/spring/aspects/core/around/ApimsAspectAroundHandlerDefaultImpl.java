@@ -10,18 +10,23 @@ import de.sky.newcrm.apims.spring.exceptions.ApimsUndeclaredThrowableException;
 import de.sky.newcrm.apims.spring.exceptions.InvalidRequestDataBusinessException;
 import de.sky.newcrm.apims.spring.exceptions.NoRetryableException;
 import de.sky.newcrm.apims.spring.flow.ApimsFlowContext;
+import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsAroundLoggingListenerSuppress;
 import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
 import de.sky.newcrm.apims.spring.utils.ExceptionUtils;
 import de.sky.newcrm.apims.spring.utils.ObjectUtils;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.OrderComparator;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.Assert;
 
 @Slf4j
@@ -36,9 +41,16 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
 
     private final boolean createNewSpan;
     private final List<ApimsAroundListener> listenersBeforeList = new ArrayList<>();
-    private final List<ApimsAroundListener> listenersAfterList = new ArrayList<>();
     private final List<ApimsAroundInterceptor> interceptorList = new ArrayList<>();
-    private final ThreadLocal<Integer> activeCalls = new ThreadLocal<>();
+    private final ThreadLocal<ApimsAroundThreadState> threadState =
+            ThreadLocal.withInitial(ApimsAroundThreadState::new);
+    private final String[] fixedTypeValues = new String[ApimsAspectType.values().length];
+    private final ClassValue<Map<Method, ApimsMethodDescriptor>> methodDescriptors = new ClassValue<>() {
+        @Override
+        protected Map<Method, ApimsMethodDescriptor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     @Autowired(required = false)
     private ApimsMdc mdc;
@@ -49,14 +61,14 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
         if (listeners != null) {
             listenersBeforeList.addAll(listeners);
             listenersBeforeList.sort(new OrderComparator());
-            for (ApimsAroundListener listener : listenersBeforeList) {
-                listenersAfterList.add(0, listener);
-            }
         }
         if (interceptors != null) {
             interceptorList.addAll(interceptors);
             interceptorList.sort(new OrderComparator());
         }
+        for (ApimsAspectType type : ApimsAspectType.values()) {
+            fixedTypeValues[type.ordinal()] = calculateFixedTypeValue(type);
+        }
     }
 
     @Override
@@ -66,99 +78,94 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
         Assert.notNull(type, "[Assertion failed] - 'type' is required; it must not be null");
         Assert.notNull(
                 proceedingJoinPoint, "[Assertion failed] - 'proceedingJoinPoint' is required; it must not be null");
-        if (mdc != null && getActiveCallsCount() == 0) {
-            mdc.removeAllApimsValues();
-            mdc.putGlobalFields();
+        final ApimsAroundThreadState state = threadState.get();
+        if (mdc != null && state.activeCalls == 0) {
+            mdc.resetToGlobalFields();
         }
-        final Class<?> declaringType = getDeclaringType(proceedingJoinPoint);
-        if (Object.class.equals(declaringType)
-                || declaringType.getPackage().getName().contains("autoconfigure")) {
+        final ApimsMethodDescriptor methodDescriptor = getMethodDescriptor(proceedingJoinPoint);
+        if (methodDescriptor.isSkipped()) {
             return proceedingJoinPoint.proceed();
         }
-        final String signature = proceedingJoinPoint.getSignature().toString();
-        String shortSignature = proceedingJoinPoint.getSignature().toShortString();
-        if (!shortSignature.startsWith(declaringType.getSimpleName())) {
-            shortSignature = declaringType.getSimpleName() + shortSignature.substring(shortSignature.indexOf("."));
-        }
-        final boolean voidMethodFlag = signature.startsWith("void ");
-        final String returnType = voidMethodFlag ? "void" : signature.substring(0, signature.indexOf(" "));
-        final String typeValue = calculateFixedTypeValue(type);
-        final String loglineIntro = "[" + typeValue + "] : " + returnType + " " + shortSignature;
-        ApimsAroundContext context = ApimsAroundContext.builder()
-                .proceedingJoinPoint(proceedingJoinPoint)
-                .declaringType(declaringType)
-                .type(type)
-                .signature(signature)
-                .shortSignature(shortSignature)
-                .voidMethod(voidMethodFlag)
-                .returnType(returnType)
-                .loglineIntro(loglineIntro)
-                .data(new HashMap<>())
-                .activeCallsCount(incrementActiveCallsCount())
-                // .tracingContext(tracingContext)
-                .spanTagMaxLength(saveLogLinesSpanTagMaxLength)
-                .createNewSpan(createNewSpan)
-                .logger(LoggerFactory.getLogger(declaringType))
-                .build();
+        final int listenerCount = listenersBeforeList.size();
+        final int activeCallsCount = incrementActiveCallsCount();
+        final ApimsAroundContext context = state.contextAt(activeCallsCount - 1);
+        Object result = null;
+        Exception resultError;
+        // the call depth and the context are released even if a listener or the method throws an Error
+        try {
+            context.init(
+                    proceedingJoinPoint,
+                    methodDescriptor,
+                    type,
+                    methodDescriptor.getLoglineIntro(type, fixedTypeValues[type.ordinal()]),
+                    activeCallsCount,
+                    createNewSpan,
+                    saveLogLinesSpanTagMaxLength,
+                    listenerCount);
 
-        List<ApimsAroundListener> calledListeners = new ArrayList<>();
-        ApimsAroundFilterDelegateException listenerException = null;
-        for (ApimsAroundListener listener : listenersBeforeList) {
-            calledListeners.add(listener);
-            try {
-                listener.beforeAroundMethod(context);
-            } catch (Exception e) {
-                if (e instanceof ApimsAroundFilterDelegateException delegateException) {
-                    listenerException = delegateException;
-                    break;
-                } else {
-                    log.warn("[APIMS ASPECT] aroundMethod failed.", e);
+            // listeners are called in order, so the called listeners are always the first calledListenersCount ones
+            int calledListenersCount = 0;
+            ApimsAroundFilterDelegateException listenerException = null;
+            for (int i = 0; i < listenerCount; i++) {
+                calledListenersCount++;
+                context.selectListener(i);
+                try {
+                    listenersBeforeList.get(i).beforeAroundMethod(context);
+                } catch (Exception e) {
+                    if (e instanceof ApimsAroundFilterDelegateException delegateException) {
+                        listenerException = delegateException;
+                        break;
+                    } else {
+                        log.warn("[APIMS ASPECT] aroundMethod failed.", e);
+                    }
                 }
             }
-        }
-        Object result = null;
-        Exception resultError = listenerException == null ? null : listenerException.getCause();
-        if (resultError == null) {
-            try {
-                ApimsAroundInterceptorResult interceptorResult = null;
-                for (ApimsAroundInterceptor interceptor : interceptorList) {
-                    interceptorResult = interceptor.intercept(context);
+            resultError = listenerException == null ? null : listenerException.getCause();
+            if (resultError == null) {
+                try {
+                    ApimsAroundInterceptorResult interceptorResult = null;
+                    for (int i = 0; i < interceptorList.size(); i++) {
+                        interceptorResult = interceptorList.get(i).intercept(context);
+                        if (interceptorResult != null) {
+                            break;
+                        }
+                    }
                     if (interceptorResult != null) {
-                        break;
+                        result = interceptorResult.getResult();
+                    } else {
+                        result = proceedingJoinPoint.proceed();
                     }
-                }
-                if (interceptorResult != null) {
-                    result = interceptorResult.getResult();
-                } else {
-                    result = proceedingJoinPoint.proceed();
-                }
-            } catch (Exception e) {
-                Exception resolvedException = resolveProceedingJoinPointException(e);
-                Exception reportError = ExceptionUtils.resolveUndeclaredThrowableException(resolvedException);
-                if (e instanceof ApimsUndeclaredThrowableException) {
-                    resultError = e;
-                } else if (e instanceof UndeclaredThrowableException) {
-                    resultError = new ApimsUndeclaredThrowableException(reportError);
-                } else {
-                    resultError = resolvedException;
-                }
-                ApimsBusinessException annotation = reportError.getClass().getAnnotation(ApimsBusinessException.class);
-                boolean reportAsError = annotation == null || annotation.logAsError();
-                if (reportAsError) {
-                    // context.setSpanError(reportError);
-                    if (context.getActiveCallsCount() == 1
-                            && !(resultError instanceof NoRetryableException)
-                            && !(resultError.getCause() instanceof InvalidRequestDataBusinessException)
-                            && !ApimsAspectType.RESTCONTROLLER.equals(
-                                    type)) { // controller case: see ApimsErrorAttributes
-                        // log stacktrace
-                        context.getLogger().error(reportError.getMessage(), reportError);
+                } catch (Exception e) {
+                    Exception resolvedException = resolveProceedingJoinPointException(e);
+                    Exception reportError = ExceptionUtils.resolveUndeclaredThrowableException(resolvedException);
+                    if (e instanceof ApimsUndeclaredThrowableException) {
+                        resultError = e;
+                    } else if (e instanceof UndeclaredThrowableException) {
+                        resultError = new ApimsUndeclaredThrowableException(reportError);
+                    } else {
+                        resultError = resolvedException;
+                    }
+                    ApimsBusinessException annotation =
+                            reportError.getClass().getAnnotation(ApimsBusinessException.class);
+                    boolean reportAsError = annotation == null || annotation.logAsError();
+                    if (reportAsError) {
+                        // context.setSpanError(reportError);
+                        if (context.getActiveCallsCount() == 1
+                                && !(resultError instanceof NoRetryableException)
+                                && !(resultError.getCause() instanceof InvalidRequestDataBusinessException)
+                                && !ApimsAspectType.RESTCONTROLLER.equals(
+                                        type)) { // controller case: see ApimsErrorAttributes
+                            // log stacktrace
+                            context.getLogger().error(reportError.getMessage(), reportError);
+                        }
                     }
                 }
             }
+            resultError = onAfterAroundMethod(context, result, resultError, calledListenersCount);
+        } finally {
+            context.release();
+            decrementActiveCallsCount();
         }
-        resultError = onAfterAroundMethod(context, result, resultError, calledListeners);
-        decrementActiveCallsCount();
         if (resultError != null) {
             throw resultError;
         }
@@ -169,17 +176,16 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
             ApimsAroundContext context,
             Object result,
             Exception resultError,
-            List<ApimsAroundListener> calledListeners) {
-        for (ApimsAroundListener listener : listenersAfterList) {
-            if (calledListeners.contains(listener)) {
-                try {
-                    listener.afterAroundMethod(context, result, resultError);
-                } catch (Exception e) {
-                    if (resultError == null && e instanceof ApimsAroundFilterDelegateException delegateException) {
-                        resultError = delegateException.getCause();
-                    } else {
-                        log.warn("[APIMS ASPECT] aroundMethod failed.", e);
-                    }
+            int calledListenersCount) {
+        for (int i = calledListenersCount - 1; i > -1; i--) {
+            context.selectListener(i);
+            try {
+                listenersBeforeList.get(i).afterAroundMethod(context, result, resultError);
+            } catch (Exception e) {
+                if (resultError == null && e instanceof ApimsAroundFilterDelegateException delegateException) {
+                    resultError = delegateException.getCause();
+                } else {
+                    log.warn("[APIMS ASPECT] aroundMethod failed.", e);
                 }
             }
         }
@@ -187,33 +193,17 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
     }
 
     protected int getActiveCallsCount() {
-        Integer value = activeCalls.get();
-        if (value == null) {
-            value = 0;
-        }
-        return value;
+        return threadState.get().activeCalls;
     }
 
     protected int incrementActiveCallsCount() {
-        Integer value = activeCalls.get();
-        if (value == null) {
-            value = 0;
-        }
-        value++;
-        activeCalls.set(value);
-        return value;
+        return ++threadState.get().activeCalls;
     }
 
     protected void decrementActiveCallsCount() {
-        Integer value = activeCalls.get();
-        if (value == null) {
-            return;
-        }
-        value--;
-        if (value < 1) {
-            activeCalls.remove();
-        } else {
-            activeCalls.set(value);
+        ApimsAroundThreadState state = threadState.get();
+        if (state.activeCalls > 0) {
+            state.activeCalls--;
         }
     }
 
@@ -225,6 +215,63 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
         return new String(new char[TYPE_NAME_MAX_LEN - typeValue.length()]).replace('\0', '_') + typeValue;
     }
 
+    protected ApimsMethodDescriptor getMethodDescriptor(ProceedingJoinPoint proceedingJoinPoint) {
+        Method method = proceedingJoinPoint.getSignature() instanceof MethodSignature methodSignature
+                ? methodSignature.getMethod()
+                : null;
+        if (method == null) {
+            return createMethodDescriptor(proceedingJoinPoint, null);
+        }
+        Object instance = proceedingJoinPoint.getTarget() == null
+                ? proceedingJoinPoint.getThis()
+                : proceedingJoinPoint.getTarget();
+        Class<?> instanceType =
+                instance == null ? proceedingJoinPoint.getSignature().getDeclaringType() : instance.getClass();
+        Map<Method, ApimsMethodDescriptor> instanceTypeDescriptors = methodDescriptors.get(instanceType);
+        ApimsMethodDescriptor methodDescriptor = instanceTypeDescriptors.get(method);
+        if (methodDescriptor == null) {
+            methodDescriptor = instanceTypeDescriptors.computeIfAbsent(
+                    method, m -> createMethodDescriptor(proceedingJoinPoint, m));
+        }
+        return methodDescriptor;
+    }
+
+    protected ApimsMethodDescriptor createMethodDescriptor(ProceedingJoinPoint proceedingJoinPoint, Method method) {
+        final Class<?> declaringType = getDeclaringType(proceedingJoinPoint);
+        if (Object.class.equals(declaringType)
+                || declaringType.getPackage().getName().contains("autoconfigure")) {
+            return ApimsMethodDescriptor.builder()
+                    .method(method)
+                    .declaringType(declaringType)
+                    .skipped(true)
+                    .build();
+        }
+        final String signature = proceedingJoinPoint.getSignature().toString();
+        String shortSignature = proceedingJoinPoint.getSignature().toShortString();
+        if (!shortSignature.startsWith(declaringType.getSimpleName())) {
+            shortSignature = declaringType.getSimpleName() + shortSignature.substring(shortSignature.indexOf("."));
+        }
+        final boolean voidMethodFlag = signature.startsWith("void ");
+        ApimsAroundLoggingListenerSuppress loggingListenerSuppress = null;
+        if (method != null) {
+            loggingListenerSuppress = AnnotationUtils.findAnnotation(method, ApimsAroundLoggingListenerSuppress.class);
+            if (loggingListenerSuppress == null) {
+                loggingListenerSuppress = ObjectUtils.findClassAnnotation(
+                        method.getDeclaringClass(), ApimsAroundLoggingListenerSuppress.class, false);
+            }
+        }
+        return ApimsMethodDescriptor.builder()
+                .method(method)
+                .declaringType(declaringType)
+                .signature(signature)
+                .shortSignature(shortSignature)
+                .voidMethod(voidMethodFlag)
+                .returnType(voidMethodFlag ? "void" : signature.substring(0, signature.indexOf(" ")))
+                .logger(LoggerFactory.getLogger(declaringType))
+                .loggingListenerSuppress(loggingListenerSuppress)
+                .build();
+    }
+
     @ApimsReportGeneratedHint
     protected Class<?> getDeclaringType(ProceedingJoinPoint proceedingJoinPoint) {
         if (proceedingJoinPoint.getTarget() != null) {
@@ -287,4 +334,27 @@ public class ApimsAspectAroundHandlerDefaultImpl implements ApimsAspectAroundHan
     protected <A extends Annotation> A findCurrentMethodAnnotation(Class<A> annotationType) {
         return ApimsFlowContext.get().findCurrentMethodAnnotation(annotationType);
     }
+
+    /**
+     * Per thread call depth and the contexts recycled per depth.
+     */
+    private static final class ApimsAroundThreadState {
+
+        private static final int INITIAL_DEPTH = 8;
+
+        private int activeCalls;
+        private ApimsAroundContext[] contexts = new ApimsAroundContext[INITIAL_DEPTH];
+
+        private ApimsAroundContext contextAt(int index) {
+            if (index >= contexts.length) {
+                contexts = Arrays.copyOf(contexts, Math.max(index + 1, contexts.length * 2));
+            }
+            ApimsAroundContext context = contexts[index];
+            if (context == null) {
+                context = new ApimsAroundContext();
+                contexts[index] = context;
+            }
+            return context;
+        }
+    }
 }
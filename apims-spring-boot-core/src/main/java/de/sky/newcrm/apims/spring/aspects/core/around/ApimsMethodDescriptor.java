@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.aspects.core.around;
+
+import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsAroundLoggingListenerSuppress;
+import java.lang.reflect.Method;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import org.slf4j.Logger;
+
+/**
+ * Per method values of an advised invocation, computed once by the {@link ApimsAspectAroundHandlerDefaultImpl}.
+ */
+@Getter
+@Builder
+public class ApimsMethodDescriptor {
+
+    private final Method method;
+    private final Class<?> declaringType;
+    private final boolean skipped;
+    private final String signature;
+    private final String shortSignature;
+    private final boolean voidMethod;
+    private final String returnType;
+    private final Logger logger;
+    private final ApimsAroundLoggingListenerSuppress loggingListenerSuppress;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] loglineIntros = new String[ApimsAspectType.values().length];
+
+    public String getLoglineIntro(ApimsAspectType type, String typeValue) {
+        String loglineIntro = loglineIntros[type.ordinal()];
+        if (loglineIntro == null) {
+            loglineIntro = "[" + typeValue + "] : " + returnType + " " + shortSignature;
+            loglineIntros[type.ordinal()] = loglineIntro;
+        }
+        return loglineIntro;
+    }
+}
@@ -7,11 +7,14 @@ package de.sky.newcrm.apims.spring.async.autoconfigure;
 import de.sky.newcrm.apims.spring.async.config.ApimsAsyncConfig;
 import de.sky.newcrm.apims.spring.environment.core.ApimsReportGeneratedHint;
 import de.sky.newcrm.apims.spring.environment.core.ApimsSpringContext;
+import de.sky.newcrm.apims.spring.tasking.core.ApimsRunnableWrapper;
+import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
 import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -30,16 +33,27 @@ public class ApimsAsyncAutoConfiguration implements AsyncConfigurer {
     private static final Logger log = LoggerFactory.getLogger(ApimsAsyncAutoConfiguration.class);
 
     private final ApimsAsyncConfig apimsAsyncConfig;
+    private final ObjectProvider<ApimsRunnableWrapper> runnableWrapperProvider;
+    private final ObjectProvider<ApimsMdc> apimsMdcProvider;
 
-    public ApimsAsyncAutoConfiguration(ApimsAsyncConfig apimsAsyncConfig) {
+    public ApimsAsyncAutoConfiguration(
+            ApimsAsyncConfig apimsAsyncConfig,
+            ObjectProvider<ApimsRunnableWrapper> runnableWrapperProvider,
+            ObjectProvider<ApimsMdc> apimsMdcProvider) {
         log.debug("[APIMS AUTOCONFIG] Async.");
         this.apimsAsyncConfig = apimsAsyncConfig;
+        this.runnableWrapperProvider = runnableWrapperProvider;
+        this.apimsMdcProvider = apimsMdcProvider;
     }
 
     @Override
     public Executor getAsyncExecutor() {
         final boolean mockEnabled = Boolean.parseBoolean(getProperty("apims.app.mocks.async-mock-enabled", "false"));
-        return ApimsAsyncAutoConfigurationHelper.createExecuter(apimsAsyncConfig, mockEnabled);
+        return ApimsAsyncAutoConfigurationHelper.createExecuter(
+                apimsAsyncConfig,
+                mockEnabled,
+                runnableWrapperProvider,
+                apimsMdcProvider == null ? null : apimsMdcProvider.getIfAvailable());
     }
 
     @Override
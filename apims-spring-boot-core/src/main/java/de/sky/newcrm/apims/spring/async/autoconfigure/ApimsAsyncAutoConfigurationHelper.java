@@ -6,24 +6,47 @@ package de.sky.newcrm.apims.spring.async.autoconfigure;
 
 import de.sky.newcrm.apims.spring.async.config.ApimsPoolConfig;
 import de.sky.newcrm.apims.spring.tasking.core.ApimsExecutor;
+import de.sky.newcrm.apims.spring.tasking.core.ApimsRunnableWrapper;
+import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
 import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import org.springframework.beans.factory.ObjectProvider;
 
 public class ApimsAsyncAutoConfigurationHelper {
 
     private ApimsAsyncAutoConfigurationHelper() {}
 
     public static ApimsExecutor createExecuter(ApimsPoolConfig p, boolean mockEnabled) {
+        return createExecuter(p, mockEnabled, null);
+    }
+
+    public static ApimsExecutor createExecuter(
+            ApimsPoolConfig p, boolean mockEnabled, ObjectProvider<ApimsRunnableWrapper> runnableWrapperProvider) {
+        return createExecuter(p, mockEnabled, runnableWrapperProvider, null);
+    }
+
+    public static ApimsExecutor createExecuter(
+            ApimsPoolConfig p,
+            boolean mockEnabled,
+            ObjectProvider<ApimsRunnableWrapper> runnableWrapperProvider,
+            ApimsMdc apimsMdc) {
 
         if (mockEnabled) {
             return ObjectUtils.createInstance("de.sky.newcrm.apims.spring.mocks.ApimsMockedExecutor");
         }
-        return new ApimsExecutor(
+        ApimsExecutor executor = new ApimsExecutor(
                 p.getCorePoolSize(),
                 p.getMaxPoolSize(),
                 p.getKeepAliveSeconds(),
                 p.getQueueCapacity(),
                 p.isAllowCoreThreadTimeOut(),
                 p.isPrestartAllCoreThreads(),
-                p.getThreadNamePrefix());
+                p.getThreadNamePrefix(),
+                p.isVirtualThreads());
+        if (runnableWrapperProvider != null) {
+            // the prototype bean is only defined with the tasking auto-configuration
+            executor.setRunnableWrapperFactory(() -> runnableWrapperProvider.getIfAvailable(ApimsRunnableWrapper::new));
+        }
+        executor.setApimsMdc(apimsMdc);
+        return executor;
     }
 }
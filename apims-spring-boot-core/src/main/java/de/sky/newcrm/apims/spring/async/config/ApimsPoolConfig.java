@@ -17,6 +17,7 @@ public abstract class ApimsPoolConfig {
     private boolean allowCoreThreadTimeOut = false;
     private boolean prestartAllCoreThreads = false;
     private String threadNamePrefix = "ApimsAsyncThread-";
+    private boolean virtualThreads = false;
 
     protected ApimsPoolConfig() {
         this(1, Integer.MAX_VALUE, 60, Integer.MAX_VALUE, false, false, "ApimsAsyncThread-");
@@ -9,6 +9,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.jspecify.annotations.Nullable;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -16,8 +17,20 @@ import org.springframework.core.annotation.AnnotationUtils;
 @SuppressWarnings({"java:S6212"})
 public class ApimsFlowContextImpl implements ApimsFlowContext {
 
+    private static final Object NO_ANNOTATION = new Object();
+
+    /**
+     * Annotation lookup results per declaring class, keyed by the identity of the method and annotation type. A
+     * cached lookup neither builds a key nor allocates anything else, the table goes away with its class.
+     */
+    private static final ClassValue<ClassAnnotations> annotationCache = new ClassValue<>() {
+        @Override
+        protected ClassAnnotations computeValue(Class<?> type) {
+            return new ClassAnnotations();
+        }
+    };
+
     private final Deque<ApimsFlowMethodReference> flowMethodReferenceStack = new ArrayDeque<>();
-    private static final Map<String, Optional<Annotation>> annotationCacheMap = new ConcurrentHashMap<>();
 
     ApimsFlowContextImpl() {}
 
@@ -38,66 +51,61 @@ public class ApimsFlowContextImpl implements ApimsFlowContext {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <A extends Annotation> A findCurrentMethodAnnotation(@Nullable Class<A> annotationType) {
         if (annotationType != null) {
             Method method = getCurrentMethod();
             if (method != null) {
-                String key = method + ":" + annotationType.getName();
-                return (A) annotationCacheMap
-                        .computeIfAbsent(
-                                key, s -> Optional.ofNullable(AnnotationUtils.findAnnotation(method, annotationType)))
-                        .orElse(null);
+                MethodAnnotations methodAnnotations = getMethodAnnotations(method);
+                Object annotation = methodAnnotations.annotations.get(annotationType);
+                if (annotation == null) {
+                    annotation = methodAnnotations.annotations.computeIfAbsent(
+                            annotationType, t -> nullSafe(AnnotationUtils.findAnnotation(method, annotationType)));
+                }
+                return unwrap(annotation);
             }
         }
         return null;
     }
 
     @Override
-    @SuppressWarnings({"unchecked", "java:S3776"})
     public <A extends Annotation> A findCurrentMethodParamAnnotation(
             @Nullable Class<A> annotationType, int paramIndex) {
         if (annotationType != null) {
             Method method = getCurrentMethod();
             if (method != null) {
-                String key = method + "[" + paramIndex + "]:" + annotationType.getName();
-                return (A) annotationCacheMap
-                        .computeIfAbsent(key, s -> {
-                            Annotation annotation = findMethodParamAnnotation(method, annotationType, paramIndex);
-                            if (annotation == null) {
-                                for (Class<?> implementedInterface :
-                                        method.getDeclaringClass().getInterfaces()) {
-                                    Method nextMethod = ObjectUtils.findMethod(
-                                            implementedInterface, method.getName(), false, method.getParameterTypes());
-                                    if (nextMethod != null) {
-                                        annotation = findMethodParamAnnotation(nextMethod, annotationType, paramIndex);
-                                        if (annotation != null) {
-                                            break;
-                                        }
-                                    }
-                                }
-                            }
-                            return Optional.ofNullable(annotation);
-                        })
-                        .orElse(null);
+                MethodAnnotations methodAnnotations = getMethodAnnotations(method);
+                AtomicReferenceArray<Object> paramAnnotations = methodAnnotations.paramAnnotations.get(annotationType);
+                if (paramAnnotations == null) {
+                    paramAnnotations = methodAnnotations.paramAnnotations.computeIfAbsent(
+                            annotationType, t -> new AtomicReferenceArray<>(method.getParameterCount()));
+                }
+                Object annotation = paramAnnotations.get(paramIndex);
+                if (annotation == null) {
+                    // concurrent lookups of the same parameter find the same annotation, the last write wins
+                    annotation = nullSafe(findMethodOrInterfaceParamAnnotation(method, annotationType, paramIndex));
+                    paramAnnotations.set(paramIndex, annotation);
+                }
+                return unwrap(annotation);
             }
         }
         return null;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <A extends Annotation> A findCurrentClassAnnotation(Class<A> annotationType, boolean topClassOnly) {
         if (annotationType != null) {
             Method method = getCurrentMethod();
             if (method != null) {
-                String key = method.getDeclaringClass() + ":" + annotationType.getName() + ":" + topClassOnly;
-                return (A) annotationCacheMap
-                        .computeIfAbsent(
-                                key,
-                                s -> Optional.ofNullable(ObjectUtils.findClassAnnotation(
-                                        method.getDeclaringClass(), annotationType, topClassOnly)))
-                        .orElse(null);
+                Class<?> declaringClass = method.getDeclaringClass();
+                ClassAnnotations classAnnotations = annotationCache.get(declaringClass);
+                Map<Class<?>, Object> annotations =
+                        topClassOnly ? classAnnotations.topClassAnnotations : classAnnotations.classAnnotations;
+                Object annotation = annotations.get(annotationType);
+                if (annotation == null) {
+                    annotation = annotations.computeIfAbsent(annotationType, t -> nullSafe(
+                            ObjectUtils.findClassAnnotation(declaringClass, annotationType, topClassOnly)));
+                }
+                return unwrap(annotation);
             }
         }
         return null;
@@ -118,6 +126,24 @@ public class ApimsFlowContextImpl implements ApimsFlowContext {
         return methodReference == null ? null : methodReference.getMethod();
     }
 
+    <A extends Annotation> A findMethodOrInterfaceParamAnnotation(
+            Method method, Class<A> annotationType, int paramIndex) {
+        A annotation = findMethodParamAnnotation(method, annotationType, paramIndex);
+        if (annotation == null) {
+            for (Class<?> implementedInterface : method.getDeclaringClass().getInterfaces()) {
+                Method nextMethod = ObjectUtils.findMethod(
+                        implementedInterface, method.getName(), false, method.getParameterTypes());
+                if (nextMethod != null) {
+                    annotation = findMethodParamAnnotation(nextMethod, annotationType, paramIndex);
+                    if (annotation != null) {
+                        break;
+                    }
+                }
+            }
+        }
+        return annotation;
+    }
+
     @SuppressWarnings("unchecked")
     <A extends Annotation> A findMethodParamAnnotation(Method method, Class<A> annotationType, int paramIndex) {
         Annotation[][] allParameterAnnotations = method.getParameterAnnotations();
@@ -131,4 +157,35 @@ public class ApimsFlowContextImpl implements ApimsFlowContext {
         }
         return annotation;
     }
+
+    private static MethodAnnotations getMethodAnnotations(Method method) {
+        Map<Method, MethodAnnotations> methods = annotationCache.get(method.getDeclaringClass()).methods;
+        MethodAnnotations methodAnnotations = methods.get(method);
+        if (methodAnnotations == null) {
+            methodAnnotations = methods.computeIfAbsent(method, m -> new MethodAnnotations());
+        }
+        return methodAnnotations;
+    }
+
+    private static Object nullSafe(Annotation annotation) {
+        return annotation == null ? NO_ANNOTATION : annotation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A extends Annotation> A unwrap(Object annotation) {
+        return annotation == NO_ANNOTATION ? null : (A) annotation;
+    }
+
+    private static final class ClassAnnotations {
+
+        private final Map<Method, MethodAnnotations> methods = new ConcurrentHashMap<>();
+        private final Map<Class<?>, Object> classAnnotations = new ConcurrentHashMap<>();
+        private final Map<Class<?>, Object> topClassAnnotations = new ConcurrentHashMap<>();
+    }
+
+    private static final class MethodAnnotations {
+
+        private final Map<Class<?>, Object> annotations = new ConcurrentHashMap<>();
+        private final Map<Class<?>, AtomicReferenceArray<Object>> paramAnnotations = new ConcurrentHashMap<>();
+    }
 }
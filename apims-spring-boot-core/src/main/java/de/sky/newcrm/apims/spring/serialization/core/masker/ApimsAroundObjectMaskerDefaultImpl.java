@@ -4,18 +4,26 @@
  */
 package de.sky.newcrm.apims.spring.serialization.core.masker;
 
-import de.sky.newcrm.apims.spring.utils.JSONStringMasker;
-import de.sky.newcrm.apims.spring.utils.UrlParamsStringMasker;
+import de.sky.newcrm.apims.spring.utils.CompiledJSONStringMasker;
+import de.sky.newcrm.apims.spring.utils.CompiledUrlParamsStringMasker;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import org.springframework.util.StringUtils;
 
-@RequiredArgsConstructor
 public class ApimsAroundObjectMaskerDefaultImpl implements ApimsAroundObjectMasker {
 
     public static final String DEFAULT_MASK_VALUE = "___masked___";
     private final List<String> maskKeys;
     private final String maskValue;
+    private final CompiledJSONStringMasker jsonStringMasker;
+    private final CompiledUrlParamsStringMasker urlParamsStringMasker;
+
+    public ApimsAroundObjectMaskerDefaultImpl(List<String> maskKeys, String maskValue) {
+        this.maskKeys = maskKeys;
+        this.maskValue = maskValue;
+        this.jsonStringMasker = new CompiledJSONStringMasker(getMaskValue(), maskKeys == null ? List.of() : maskKeys);
+        this.urlParamsStringMasker =
+                new CompiledUrlParamsStringMasker(getMaskValue(), maskKeys == null ? List.of() : maskKeys);
+    }
 
     @Override
     public List<String> getMaskKeys() {
@@ -29,11 +37,11 @@ public class ApimsAroundObjectMaskerDefaultImpl implements ApimsAroundObjectMask
 
     @Override
     public String maskJsonValue(String source) {
-        return JSONStringMasker.mask(source, getMaskValue(), maskKeys);
+        return jsonStringMasker.mask(source);
     }
 
     @Override
     public String maskUrlParamsValue(String source) {
-        return UrlParamsStringMasker.mask(source, getMaskValue(), maskKeys);
+        return urlParamsStringMasker.mask(source);
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.serialization.core.serializer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * String sink with a fixed character budget.
+ * <p>
+ * Keeps at most {@code limit} characters. The first write beyond the budget fails with an {@link IOException}, which
+ * aborts the running serialization, so the remaining object graph is never serialized.
+ */
+final class ApimsAroundObjectSerializerBoundedWriter extends Writer {
+
+    private final StringBuilder buf;
+    private final int limit;
+    private boolean limitReached;
+
+    ApimsAroundObjectSerializerBoundedWriter(int limit) {
+        this.limit = limit;
+        this.buf = new StringBuilder(Math.min(limit, 1024));
+    }
+
+    boolean isLimitReached() {
+        return limitReached;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (buf.length() >= limit) {
+            abort();
+        }
+        buf.append((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int remaining = limit - buf.length();
+        if (len > remaining) {
+            buf.append(cbuf, off, remaining);
+            abort();
+        }
+        buf.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        int remaining = limit - buf.length();
+        if (len > remaining) {
+            buf.append(str, off, off + remaining);
+            abort();
+        }
+        buf.append(str, off, off + len);
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    @Override
+    public void close() {
+        // keep the content for toString()
+    }
+
+    @Override
+    public String toString() {
+        return buf.toString();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (limitReached) {
+            abort();
+        }
+    }
+
+    private void abort() throws IOException {
+        limitReached = true;
+        throw new IOException("serialization limit of " + limit + " characters reached");
+    }
+}
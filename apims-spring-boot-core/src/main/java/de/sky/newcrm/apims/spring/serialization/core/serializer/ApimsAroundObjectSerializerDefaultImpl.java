@@ -19,6 +19,8 @@ import tools.jackson.databind.ObjectMapper;
 @SuppressWarnings({"java:S6212"})
 public class ApimsAroundObjectSerializerDefaultImpl implements ApimsAroundObjectSerializer {
 
+    private static final int MASKING_HEADROOM = 64;
+
     private final ObjectMapper objectMapper;
     private final List<ApimsAroundObjectSerializerTypeHandler> typeHandlers;
     private final ApimsAroundObjectMasker masker;
@@ -69,7 +71,7 @@ public class ApimsAroundObjectSerializerDefaultImpl implements ApimsAroundObject
                     if (i != 0) {
                         iBuf.append(", ");
                     }
-                    iBuf.append("[").append(serialize(o, maxLength)).append("]");
+                    iBuf.append("[").append(serialize(o, calculateItemMaxLength(maxLength, iBuf))).append("]");
                     i++;
                     if (nMaxLength > 0 && iBuf.length() > nMaxLength) {
                         iBuf.append("...");
@@ -90,7 +92,7 @@ public class ApimsAroundObjectSerializerDefaultImpl implements ApimsAroundObject
                 if (object.equals(o)) {
                     iBuf.append("[").append(o).append("]");
                 } else {
-                    iBuf.append("[").append(serialize(o, maxLength)).append("]");
+                    iBuf.append("[").append(serialize(o, calculateItemMaxLength(maxLength, iBuf))).append("]");
                 }
                 i++;
                 if (nMaxLength > 0 && iBuf.length() > nMaxLength) {
@@ -117,11 +119,7 @@ public class ApimsAroundObjectSerializerDefaultImpl implements ApimsAroundObject
                 if (object instanceof GenericContainer) {
                     data = String.valueOf(object);
                 } else {
-                    try {
-                        data = objectMapper.writeValueAsString(object);
-                    } catch (Exception e) {
-                        data = String.valueOf(object);
-                    }
+                    data = writeValueAsString(object, nMaxLength);
                 }
             }
         }
@@ -130,4 +128,37 @@ public class ApimsAroundObjectSerializerDefaultImpl implements ApimsAroundObject
         }
         return masker.maskJsonValue(data);
     }
+
+    /**
+     * Serializes the object with the object mapper, but stops as soon as more than {@code nMaxLength} characters are
+     * written. The caller cuts the value to {@code nMaxLength} anyway, so one additional character is enough to
+     * detect the truncation and the result is the same as serializing the whole object graph.
+     */
+    protected String writeValueAsString(Object object, int nMaxLength) {
+        if (nMaxLength < 1) {
+            try {
+                return objectMapper.writeValueAsString(object);
+            } catch (Exception e) {
+                return String.valueOf(object);
+            }
+        }
+        ApimsAroundObjectSerializerBoundedWriter writer = new ApimsAroundObjectSerializerBoundedWriter(nMaxLength + 1);
+        try {
+            objectMapper.writeValue(writer, object);
+            return writer.toString();
+        } catch (Exception e) {
+            return writer.isLimitReached() ? writer.toString() : String.valueOf(object);
+        }
+    }
+
+    /**
+     * Budget of the next array or iterable item: the characters still left plus some headroom, because masking can
+     * shorten the serialized item (collapsed whitespaces).
+     */
+    private static int calculateItemMaxLength(int maxLength, StringBuilder iBuf) {
+        if (maxLength < 1) {
+            return maxLength;
+        }
+        return Math.max(maxLength - iBuf.length(), 0) + MASKING_HEADROOM;
+    }
 }
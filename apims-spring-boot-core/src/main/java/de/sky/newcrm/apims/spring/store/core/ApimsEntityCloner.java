@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+/**
+ * Strategy used by the in memory stores to decouple stored entities from the instances handed in and out.
+ * <p>
+ * {@link #toStored(Object)} is called once when an entity is written, {@link #fromStored(Object)} on every read. The
+ * stored form is opaque to the stores, so a strategy can keep e.g. serialized bytes and only pay for the
+ * deserialization on read. Stores that need entity instances internally use {@link #cloneEntity(Object)}.
+ */
+public interface ApimsEntityCloner<T> {
+
+    Object toStored(T entity);
+
+    T fromStored(Object stored);
+
+    default T cloneEntity(T entity) {
+        return entity == null ? null : fromStored(toStored(entity));
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+import de.sky.newcrm.apims.spring.exceptions.ApimsRuntimeException;
+import de.sky.newcrm.apims.spring.utils.AssertUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Strategy that copies entities in memory, without serialization, on write and on read.
+ * <p>
+ * {@link #of(Class)} resolves the copy function once per entity class:
+ * <ul>
+ *   <li>a constructor taking an instance of the class itself (copy constructor), or</li>
+ *   <li>for records, the canonical constructor with deep copied components: nested records, types with a copy
+ *   constructor, lists, sets, maps and arrays are copied, known immutable values (strings, boxed primitives,
+ *   {@link BigDecimal}, {@link UUID}, enums, java.time types ...) are shared.</li>
+ * </ul>
+ * Any other value (e.g. a {@link java.util.Date} or a bean without copy constructor) would be shared between the store
+ * and the caller, so it is rejected: {@link #of(Class)} fails for declared record component types, values only known
+ * at runtime fail on copy. Use the {@link ApimsEntityJsonCloner} or a custom copy function for such entities.
+ */
+public class ApimsEntityCopyCloner<T> implements ApimsEntityCloner<T> {
+
+    private static final UnaryOperator<Object> SHARED = value -> value;
+    private static final UnaryOperator<Object> NOT_COPYABLE = value -> {
+        throw new IllegalStateException(notCopyableMessage(value.getClass()));
+    };
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class,
+            Boolean.class,
+            Character.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            UUID.class,
+            URI.class,
+            Locale.class,
+            Currency.class);
+    private static final ClassValue<UnaryOperator<Object>> COPY_FUNCTIONS = new ClassValue<>() {
+        @Override
+        protected UnaryOperator<Object> computeValue(Class<?> type) {
+            return createCopyFunction(type);
+        }
+    };
+
+    private final UnaryOperator<T> copyFunction;
+
+    public ApimsEntityCopyCloner(UnaryOperator<T> copyFunction) {
+        AssertUtils.notNullCheck("copyFunction", copyFunction);
+        this.copyFunction = copyFunction;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ApimsEntityCopyCloner<T> of(Class<T> entityClass) {
+        UnaryOperator<Object> copyFunction = COPY_FUNCTIONS.get(entityClass);
+        AssertUtils.notNullCheck(
+                "Copy constructor or record (" + entityClass.getName() + ")",
+                copyFunction == SHARED || copyFunction == NOT_COPYABLE ? null : copyFunction);
+        if (entityClass.isRecord()) {
+            validateRecord(entityClass, new HashSet<>());
+        }
+        return new ApimsEntityCopyCloner<>(entity -> (T) copyFunction.apply(entity));
+    }
+
+    @Override
+    public Object toStored(T entity) {
+        return cloneEntity(entity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T fromStored(Object stored) {
+        return cloneEntity((T) stored);
+    }
+
+    @Override
+    public T cloneEntity(T entity) {
+        return entity == null ? null : copyFunction.apply(entity);
+    }
+
+    static Object copyValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof List<?> list) {
+            return copyValues(list, new ArrayList<>(list.size()));
+        }
+        if (value instanceof Set<?> set) {
+            return copyValues(set, new LinkedHashSet<>(set.size()));
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            if (value instanceof Object[] array) {
+                for (int i = 0; i < length; i++) {
+                    ((Object[]) copy)[i] = copyValue(array[i]);
+                }
+            } else {
+                System.arraycopy(value, 0, copy, 0, length);
+            }
+            return copy;
+        }
+        return COPY_FUNCTIONS.get(value.getClass()).apply(value);
+    }
+
+    private static <C extends Collection<Object>> C copyValues(Collection<?> values, C target) {
+        for (Object value : values) {
+            target.add(copyValue(value));
+        }
+        return target;
+    }
+
+    /**
+     * Checks the declared component types of a record, so a not copyable type fails when the cloner is created and not
+     * with the first saved entity. Interfaces, abstract types and type variables are checked on copy.
+     */
+    private static void validateRecord(Class<?> type, Set<Class<?>> validated) {
+        if (!validated.add(type)) {
+            return;
+        }
+        for (RecordComponent component : type.getRecordComponents()) {
+            validateType(component.getGenericType(), validated);
+        }
+    }
+
+    private static void validateType(Type type, Set<Class<?>> validated) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            validateType(parameterizedType.getRawType(), validated);
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                validateType(argument, validated);
+            }
+        } else if (type instanceof GenericArrayType arrayType) {
+            validateType(arrayType.getGenericComponentType(), validated);
+        } else if (type instanceof Class<?> clazz) {
+            if (clazz.isArray()) {
+                validateType(clazz.getComponentType(), validated);
+            } else if (clazz.isRecord()) {
+                validateRecord(clazz, validated);
+            } else if (!List.class.isAssignableFrom(clazz)
+                    && !Set.class.isAssignableFrom(clazz)
+                    && !Map.class.isAssignableFrom(clazz)
+                    && !clazz.isInterface()
+                    && !Modifier.isAbstract(clazz.getModifiers())
+                    && !Object.class.equals(clazz)) {
+                Assert.state(COPY_FUNCTIONS.get(clazz) != NOT_COPYABLE, () -> notCopyableMessage(clazz));
+            }
+        }
+    }
+
+    private static String notCopyableMessage(Class<?> type) {
+        return "[Assertion failed] - " + type.getName()
+                + " is neither immutable, a record nor has a copy constructor; it would be shared by the copy";
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        return type.isPrimitive()
+                || Enum.class.isAssignableFrom(type)
+                || IMMUTABLE_TYPES.contains(type)
+                || type.getPackageName().startsWith("java.time");
+    }
+
+    private static UnaryOperator<Object> createCopyFunction(Class<?> type) {
+        if (isImmutable(type)) {
+            return SHARED;
+        }
+        if (type.getName().startsWith("java.")) {
+            return NOT_COPYABLE;
+        }
+        try {
+            if (type.isRecord()) {
+                return createRecordCopyFunction(type);
+            }
+            Constructor<?> copyConstructor = ReflectionUtils.accessibleConstructor(type, type);
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(copyConstructor);
+            return value -> invoke(handle, value);
+        } catch (NoSuchMethodException _) {
+            return NOT_COPYABLE;
+        } catch (IllegalAccessException e) {
+            throw new ApimsRuntimeException("Copy constructor of " + type.getName() + " is not accessible", e);
+        }
+    }
+
+    @SuppressWarnings("java:S1181")
+    private static UnaryOperator<Object> createRecordCopyFunction(Class<?> type)
+            throws NoSuchMethodException, IllegalAccessException {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] componentTypes = new Class<?>[components.length];
+        MethodHandle[] accessors = new MethodHandle[components.length];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (int i = 0; i < components.length; i++) {
+            componentTypes[i] = components[i].getType();
+            Method accessor = components[i].getAccessor();
+            ReflectionUtils.makeAccessible(accessor);
+            accessors[i] = lookup.unreflect(accessor);
+        }
+        Constructor<?> constructor = ReflectionUtils.accessibleConstructor(type, componentTypes);
+        MethodHandle canonicalConstructor = lookup.unreflectConstructor(constructor);
+        return value -> {
+            Object[] args = new Object[accessors.length];
+            for (int i = 0; i < accessors.length; i++) {
+                args[i] = copyValue(invoke(accessors[i], value));
+            }
+            try {
+                return canonicalConstructor.invokeWithArguments(args);
+            } catch (Throwable e) {
+                throw new ApimsRuntimeException("Copy of " + type.getName() + " failed", e);
+            }
+        };
+    }
+
+    @SuppressWarnings("java:S1181")
+    private static Object invoke(MethodHandle handle, Object value) {
+        try {
+            return handle.invoke(value);
+        } catch (Throwable e) {
+            throw new ApimsRuntimeException("Copy of " + value.getClass().getName() + " failed", e);
+        }
+    }
+}
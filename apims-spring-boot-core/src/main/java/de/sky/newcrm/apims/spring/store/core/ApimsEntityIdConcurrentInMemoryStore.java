@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+import com.veracode.annotation.FilePathCleanser;
+import de.sky.newcrm.apims.spring.exceptions.ApimsRuntimeException;
+import de.sky.newcrm.apims.spring.serialization.core.mapper.jackson3.ObjectMapperUtils;
+import de.sky.newcrm.apims.spring.utils.AssertUtils;
+import de.sky.newcrm.apims.spring.utils.FunctionUtils;
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Id based in memory store for a large number of entities.
+ * <p>
+ * The entities are kept in the stored form of the {@link ApimsEntityCloner} (serialized JSON by default) in a
+ * {@link ConcurrentHashMap} keyed by the entity id, so lookups by id are O(1) and do not lock the whole store. The id
+ * accessor and the fields of the optional secondary indexes are resolved once at construction time. Iteration
+ * ({@link #findAll()}) follows the order of the first insertion of an id; saving an existing id keeps its position.
+ * <p>
+ * Reads are weakly consistent: a {@link #findAll()} running concurrently to writes may or may not see them.
+ */
+@SuppressWarnings({"java:S119"})
+public abstract class ApimsEntityIdConcurrentInMemoryStore<ID, T> implements ApimsEntityIdStore<ID, T> {
+
+    private static final Object NULL_INDEX_VALUE = new Object();
+
+    protected final Class<ID> keyClass;
+    protected final Class<T> entityClass;
+    protected final ObjectMapper objectMapper;
+    protected final ApimsEntityCloner<T> entityCloner;
+    private final Function<T, ID> idAccessor;
+    private final String[] indexFieldNames;
+    private final Field[] indexFields;
+    private final Map<String, Map<Object, Set<ID>>> indexes;
+    private final Map<ID, StoredEntity> entities = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, ID> insertionOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    protected ApimsEntityIdConcurrentInMemoryStore(
+            Class<?> keyClass, Class<?> entityClass, String... indexFieldNames) {
+        this(keyClass, entityClass, null, indexFieldNames);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ApimsEntityIdConcurrentInMemoryStore(
+            Class<?> keyClass, Class<?> entityClass, ApimsEntityCloner<T> entityCloner, String... indexFieldNames) {
+        this.keyClass = (Class<ID>) keyClass;
+        this.entityClass = (Class<T>) entityClass;
+        this.objectMapper = ObjectMapperUtils.getApimsObjectMapperJson().unwrap();
+        this.entityCloner =
+                entityCloner == null ? new ApimsEntityJsonCloner<>(objectMapper, this.entityClass) : entityCloner;
+        this.idAccessor = createIdAccessor(this.entityClass);
+        this.indexFieldNames = indexFieldNames == null ? new String[0] : indexFieldNames.clone();
+        this.indexFields = new Field[this.indexFieldNames.length];
+        Map<String, Map<Object, Set<ID>>> indexMap = new HashMap<>();
+        for (int i = 0; i < this.indexFieldNames.length; i++) {
+            String fieldName = this.indexFieldNames[i];
+            indexFields[i] = ObjectUtils.findField(entityClass, fieldName);
+            AssertUtils.notNullCheck("Index field (" + entityClass.getName() + "." + fieldName + ")", indexFields[i]);
+            indexMap.put(fieldName, new ConcurrentHashMap<>());
+        }
+        this.indexes = Map.copyOf(indexMap);
+    }
+
+    @Override
+    public Class<ID> getKeyClass() {
+        return keyClass;
+    }
+
+    @Override
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public List<String> getIndexFieldNames() {
+        return List.of(indexFieldNames);
+    }
+
+    @Override
+    public ID getId(T entity) {
+        return idAccessor.apply(entity);
+    }
+
+    @Override
+    public boolean isIdEquals(ID id, ID other) {
+        return ObjectUtils.isEquals(id, other);
+    }
+
+    @Override
+    public boolean isEntityIdEquals(T entity, ID other) {
+        return ObjectUtils.isEquals(getId(entity), other);
+    }
+
+    @Override
+    public boolean isEntityEquals(T entity, T other) {
+        return isEntityIdEquals(entity, getId(other));
+    }
+
+    @Override
+    public T cloneEntity(T entity) {
+        return entityCloner.cloneEntity(entity);
+    }
+
+    @Override
+    public List<T> cloneEntities(Iterable<T> entities) {
+        List<T> list = new ArrayList<>();
+        if (entities != null) {
+            for (T entity : entities) {
+                list.add(cloneEntity(entity));
+            }
+        }
+        // unmodifiableList
+        return list.stream().toList();
+    }
+
+    @Override
+    public List<T> cloneEntities(Predicate<T> predicate) {
+        List<T> list = new ArrayList<>();
+        for (ID id : insertionOrder.values()) {
+            StoredEntity storedEntity = entities.get(id);
+            if (storedEntity != null) {
+                T entity = entityCloner.fromStored(storedEntity.data());
+                if (predicate.test(entity)) {
+                    list.add(entity);
+                }
+            }
+        }
+        // unmodifiableList
+        return list.stream().toList();
+    }
+
+    @Override
+    public List<T> getEntities() {
+        return findAll();
+    }
+
+    @Override
+    public void setEntities(List<T> entities) {
+        deleteAll();
+        saveAll(entities);
+    }
+
+    @Override
+    @FilePathCleanser
+    public void loadEntitiesByJsonFile(String resourceName) {
+        loadEntitiesByJsonFile(
+                new File(Objects.requireNonNull(this.getClass().getResource(resourceName)).getFile()));
+    }
+
+    @Override
+    public void loadEntitiesByJsonFile(File file) {
+        List<T> list = FunctionUtils.execute(
+                () -> objectMapper.readValue(
+                        file, objectMapper.getTypeFactory().constructCollectionType(List.class, entityClass)),
+                ApimsRuntimeException.class);
+        saveAll(list);
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        final ID id = getId(entity);
+        AssertUtils.notNullCheck("Entity id (" + entityClass.getName() + ".@Id)", id);
+        final Object data = entityCloner.toStored(entity);
+        final Object[] indexValues = readIndexValues(entity);
+        entities.compute(id, (key, current) -> {
+            long position;
+            if (current == null) {
+                position = sequence.incrementAndGet();
+                insertionOrder.put(position, key);
+            } else {
+                position = current.position();
+                removeFromIndexes(key, current.indexValues());
+            }
+            addToIndexes(key, indexValues);
+            return new StoredEntity(position, data, indexValues);
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> list = new ArrayList<>();
+        for (S entity : entities) {
+            list.add(save(entity));
+        }
+        return list;
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<T> list = new ArrayList<>(entities.size());
+        for (ID id : insertionOrder.values()) {
+            StoredEntity storedEntity = entities.get(id);
+            if (storedEntity != null) {
+                list.add(entityCloner.fromStored(storedEntity.data()));
+            }
+        }
+        // unmodifiableList
+        return list.stream().toList();
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        StoredEntity storedEntity = id == null ? null : entities.get(id);
+        return storedEntity == null ? Optional.empty() : Optional.of(entityCloner.fromStored(storedEntity.data()));
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<T> list = new ArrayList<>();
+        for (ID id : ids) {
+            findById(id).ifPresent(list::add);
+        }
+        return list;
+    }
+
+    /**
+     * Returns all entities whose indexed field {@code fieldName} equals {@code value}, in insertion order.
+     */
+    public List<T> findAllByIndex(String fieldName, Object value) {
+        Map<Object, Set<ID>> index = indexes.get(fieldName);
+        AssertUtils.notNullCheck("Index (" + entityClass.getName() + "." + fieldName + ")", index);
+        Set<ID> ids = index.get(toIndexKey(value));
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<StoredEntity> storedEntities = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            StoredEntity storedEntity = entities.get(id);
+            if (storedEntity != null) {
+                storedEntities.add(storedEntity);
+            }
+        }
+        storedEntities.sort(Comparator.comparingLong(StoredEntity::position));
+        List<T> list = new ArrayList<>(storedEntities.size());
+        for (StoredEntity storedEntity : storedEntities) {
+            list.add(entityCloner.fromStored(storedEntity.data()));
+        }
+        // unmodifiableList
+        return list.stream().toList();
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return id != null && entities.containsKey(id);
+    }
+
+    @Override
+    public long count() {
+        return entities.size();
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(getId(entity));
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        if (id == null) {
+            return;
+        }
+        entities.computeIfPresent(id, (key, current) -> {
+            insertionOrder.remove(current.position());
+            removeFromIndexes(key, current.indexValues());
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        for (ID id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (ID id : insertionOrder.values()) {
+            deleteById(id);
+        }
+    }
+
+    private Object[] readIndexValues(T entity) {
+        Object[] values = new Object[indexFields.length];
+        for (int i = 0; i < indexFields.length; i++) {
+            values[i] = toIndexKey(ReflectionUtils.getField(indexFields[i], entity));
+        }
+        return values;
+    }
+
+    private void addToIndexes(ID id, Object[] indexValues) {
+        for (int i = 0; i < indexValues.length; i++) {
+            indexes.get(indexFieldNames[i]).compute(indexValues[i], (k, ids) -> {
+                Set<ID> result = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                result.add(id);
+                return result;
+            });
+        }
+    }
+
+    private void removeFromIndexes(ID id, Object[] indexValues) {
+        for (int i = 0; i < indexValues.length; i++) {
+            indexes.get(indexFieldNames[i]).computeIfPresent(indexValues[i], (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Object toIndexKey(Object value) {
+        return value == null ? NULL_INDEX_VALUE : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ID, T> Function<T, ID> createIdAccessor(Class<T> entityClass) {
+        if (ApimsEntity.class.isAssignableFrom(entityClass)) {
+            return entity -> (ID) ((ApimsEntity) entity).getId();
+        }
+        Field idField = ApimsEntityIdInMemoryStore.findIdField(entityClass);
+        ReflectionUtils.makeAccessible(idField);
+        return entity -> (ID) ReflectionUtils.getField(idField, entity);
+    }
+
+    private record StoredEntity(long position, Object data, Object[] indexValues) {}
+}
@@ -18,7 +18,7 @@ import java.util.Optional;
 public abstract class ApimsEntityIdInMemoryStore<ID, T> extends ApimsEntityInMemoryStore<T>
         implements ApimsEntityIdStore<ID, T> {
 
-    private final String[] entityIdAnnotationClassNames =
+    private static final String[] ENTITY_ID_ANNOTATION_CLASS_NAMES =
             new String[] {"org.springframework.data.annotation.Id", "jakarta.persistence.Id"};
     protected final Class<ID> keyClass;
     private Field idField = null;
@@ -27,9 +27,14 @@ public abstract class ApimsEntityIdInMemoryStore<ID, T> extends ApimsEntityInMem
         this(keyClass, entityClass, null);
     }
 
-    @SuppressWarnings("unchecked")
     protected ApimsEntityIdInMemoryStore(Class<?> keyClass, Class<?> entityClass, ThreadSaveList<T> backend) {
-        super(entityClass, backend);
+        this(keyClass, entityClass, backend, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ApimsEntityIdInMemoryStore(
+            Class<?> keyClass, Class<?> entityClass, ThreadSaveList<T> backend, ApimsEntityCloner<T> entityCloner) {
+        super(entityClass, backend, entityCloner);
         this.keyClass = (Class<ID>) keyClass;
     }
 
@@ -103,26 +108,30 @@ public abstract class ApimsEntityIdInMemoryStore<ID, T> extends ApimsEntityInMem
         return ObjectUtils.getField(getIdField(), entity);
     }
 
-    @SuppressWarnings("unchecked")
     protected synchronized Field getIdField() {
         if (idField == null) {
-            for (String entityIdAnnotationClassName : entityIdAnnotationClassNames) {
-                Class<? extends Annotation> clazz =
-                        (Class<? extends Annotation>) ObjectUtils.getClass(entityIdAnnotationClassName, true);
-                if (clazz != null) {
-                    idField = ObjectUtils.findAnnotatedField(getEntityClass(), clazz);
-                    if (idField != null) {
-                        return idField;
-                    }
+            idField = findIdField(getEntityClass());
+        }
+        return idField;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Field findIdField(Class<?> entityClass) {
+        for (String entityIdAnnotationClassName : ENTITY_ID_ANNOTATION_CLASS_NAMES) {
+            Class<? extends Annotation> clazz =
+                    (Class<? extends Annotation>) ObjectUtils.getClass(entityIdAnnotationClassName, true);
+            if (clazz != null) {
+                Field field = ObjectUtils.findAnnotatedField(entityClass, clazz);
+                if (field != null) {
+                    return field;
                 }
             }
-            idField = ObjectUtils.findField(getEntityClass(), "id");
-            if (idField == null) {
-                idField = ObjectUtils.findField(getEntityClass(), "_id");
-            }
-            AssertUtils.notNullCheck(
-                    "Field with @Id annotation (" + getEntityClass().getName() + ".@Id)", idField);
         }
-        return idField;
+        Field field = ObjectUtils.findField(entityClass, "id");
+        if (field == null) {
+            field = ObjectUtils.findField(entityClass, "_id");
+        }
+        AssertUtils.notNullCheck("Field with @Id annotation (" + entityClass.getName() + ".@Id)", field);
+        return field;
     }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+/**
+ * Opt-in strategy for immutable entities (e.g. records with immutable components): no copies at all, the stores
+ * share the saved instances with all readers. Must not be used for entities that are modified after save or read.
+ */
+public class ApimsEntityImmutableCloner<T> implements ApimsEntityCloner<T> {
+
+    @Override
+    public Object toStored(T entity) {
+        return entity;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T fromStored(Object stored) {
+        return (T) stored;
+    }
+
+    @Override
+    public T cloneEntity(T entity) {
+        return entity;
+    }
+}
@@ -23,17 +23,25 @@ public abstract class ApimsEntityInMemoryStore<T> implements ApimsEntityStore<T>
 
     protected final Class<T> entityClass;
     protected final ObjectMapper objectMapper;
+    protected final ApimsEntityCloner<T> entityCloner;
     private final ThreadSaveList<T> backend;
 
     protected ApimsEntityInMemoryStore(Class<?> entityClass) {
         this(entityClass, null);
     }
 
-    @SuppressWarnings("unchecked")
     protected ApimsEntityInMemoryStore(Class<?> entityClass, ThreadSaveList<T> backend) {
+        this(entityClass, backend, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ApimsEntityInMemoryStore(
+            Class<?> entityClass, ThreadSaveList<T> backend, ApimsEntityCloner<T> entityCloner) {
         this.entityClass = (Class<T>) entityClass;
         this.backend = backend == null ? new ThreadSaveArrayList<>() : backend;
         this.objectMapper = ObjectMapperUtils.getApimsObjectMapperJson().unwrap();
+        this.entityCloner =
+                entityCloner == null ? new ApimsEntityJsonCloner<>(objectMapper, this.entityClass) : entityCloner;
     }
 
     @Override
@@ -43,7 +51,7 @@ public abstract class ApimsEntityInMemoryStore<T> implements ApimsEntityStore<T>
 
     @Override
     public T cloneEntity(T entity) {
-        return cloneEntity(entity, entityClass);
+        return entityCloner.cloneEntity(entity);
     }
 
     @SuppressWarnings("java:S1488")
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+import de.sky.newcrm.apims.spring.exceptions.ApimsRuntimeException;
+import de.sky.newcrm.apims.spring.utils.FunctionUtils;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Default strategy: entities are serialized to JSON bytes once at write time and deserialized on every read.
+ */
+public class ApimsEntityJsonCloner<T> implements ApimsEntityCloner<T> {
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> entityClass;
+
+    public ApimsEntityJsonCloner(ObjectMapper objectMapper, Class<T> entityClass) {
+        this.objectMapper = objectMapper;
+        this.entityClass = entityClass;
+    }
+
+    @Override
+    public Object toStored(T entity) {
+        return FunctionUtils.execute(() -> objectMapper.writeValueAsBytes(entity), ApimsRuntimeException.class);
+    }
+
+    @Override
+    public T fromStored(Object stored) {
+        return FunctionUtils.execute(
+                () -> objectMapper.readValue((byte[]) stored, entityClass), ApimsRuntimeException.class);
+    }
+}
@@ -8,8 +8,10 @@ import de.sky.newcrm.apims.spring.async.autoconfigure.ApimsAsyncAutoConfiguratio
 import de.sky.newcrm.apims.spring.tasking.config.ApimsTaskingConfig;
 import de.sky.newcrm.apims.spring.tasking.core.ApimsExecutor;
 import de.sky.newcrm.apims.spring.tasking.core.ApimsRunnableWrapper;
+import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -38,8 +40,11 @@ public class ApimsTaskingAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ApimsExecutor apimsTaskExecuter(
-            @Value("${apims.app.mocks.tasking-mock-enabled:false}") boolean mockEnabled) {
-        return ApimsAsyncAutoConfigurationHelper.createExecuter(apimsTaskingConfig, mockEnabled);
+            @Value("${apims.app.mocks.tasking-mock-enabled:false}") boolean mockEnabled,
+            ObjectProvider<ApimsRunnableWrapper> runnableWrapperProvider,
+            ObjectProvider<ApimsMdc> apimsMdcProvider) {
+        return ApimsAsyncAutoConfigurationHelper.createExecuter(
+                apimsTaskingConfig, mockEnabled, runnableWrapperProvider, apimsMdcProvider.getIfAvailable());
     }
 
     @Bean()
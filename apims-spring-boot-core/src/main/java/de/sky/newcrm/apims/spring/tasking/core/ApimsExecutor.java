@@ -5,8 +5,7 @@
 package de.sky.newcrm.apims.spring.tasking.core;
 
 import de.sky.newcrm.apims.spring.environment.core.ApimsReportGeneratedHint;
-import de.sky.newcrm.apims.spring.environment.core.ApimsSpringContext;
-import de.sky.newcrm.apims.spring.utils.ThreadUtils;
+import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +13,10 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.UUID;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 @Slf4j
 @SuppressWarnings({"java:S6212"})
@@ -38,6 +39,12 @@ public class ApimsExecutor implements Executor {
 
     private String threadNamePrefix = "ApimsTaskExecuterThread-";
 
+    private boolean virtualThreads = false;
+
+    private Supplier<ApimsRunnableWrapper> runnableWrapperFactory = ApimsRunnableWrapper::new;
+
+    private ApimsMdc apimsMdc;
+
     private Executor delegate;
 
     private final ApimsExecutorContext context =
@@ -80,21 +87,69 @@ public class ApimsExecutor implements Executor {
         this.threadNamePrefix = threadNamePrefix;
     }
 
+    /**
+     * @param virtualThreads if {@code true}, every command runs in its own virtual thread and {@code maxPoolSize}
+     *     limits the number of concurrently running commands (no limit, if not set). The other pool settings are
+     *     ignored in this mode.
+     */
+    @SuppressWarnings("java:S107")
+    public ApimsExecutor(
+            int corePoolSize,
+            int maxPoolSize,
+            int keepAliveSeconds,
+            int queueCapacity,
+            boolean allowCoreThreadTimeOut,
+            boolean prestartAllCoreThreads,
+            String threadNamePrefix,
+            boolean virtualThreads) {
+        this(
+                corePoolSize,
+                maxPoolSize,
+                keepAliveSeconds,
+                queueCapacity,
+                allowCoreThreadTimeOut,
+                prestartAllCoreThreads,
+                threadNamePrefix);
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Factory of the {@link ApimsRunnableWrapper} wrapping every command, e.g. {@code ObjectProvider::getIfAvailable}
+     * of the prototype bean. Resolved once instead of a bean lookup per command.
+     */
+    public void setRunnableWrapperFactory(Supplier<ApimsRunnableWrapper> runnableWrapperFactory) {
+        this.runnableWrapperFactory =
+                runnableWrapperFactory == null ? ApimsRunnableWrapper::new : runnableWrapperFactory;
+    }
+
+    /**
+     * If set, every command runs with the apims MDC values of the thread calling {@link #execute(Runnable)}, see
+     * {@link ApimsMdc#wrap(Runnable)}.
+     */
+    public void setApimsMdc(ApimsMdc apimsMdc) {
+        this.apimsMdc = apimsMdc;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
     @Override
     public void execute(Runnable command) {
-        final AtomicReference<ApimsRunnableWrapper> apimsRunnableWrapper = new AtomicReference<>();
+        final ApimsRunnableWrapper apimsRunnableWrapper = createRunnableWrapper();
+        apimsRunnableWrapper.prepare(context, command);
+        final Context ctx = Context.current();
+        final Runnable task = apimsMdc == null ? apimsRunnableWrapper : apimsMdc.wrap(apimsRunnableWrapper);
         try {
-            apimsRunnableWrapper.set(ApimsSpringContext.getApplicationContext().getBean(ApimsRunnableWrapper.class));
-        } catch (Exception e) {
-            apimsRunnableWrapper.set(new ApimsRunnableWrapper());
+            getDelegate().execute(() -> {
+                try (Scope scope = ctx.makeCurrent()) {
+                    task.run();
+                }
+            });
+        } catch (RuntimeException e) {
+            context.decrementCommandCounter();
+            throw e;
         }
-        apimsRunnableWrapper.get().prepare(context, command);
-        final Context ctx = Context.current();
-        getDelegate().execute(() -> {
-            try (Scope scope = ctx.makeCurrent()) {
-                apimsRunnableWrapper.get().run();
-            }
-        });
     }
 
     public long getRunningCommandCounter() {
@@ -105,18 +160,35 @@ public class ApimsExecutor implements Executor {
         return await(DEFAULT_MAX_WAITING_TIME_MILLIS, DEFAULT_WAITING_SLEEP_TIME_MILLIS);
     }
 
+    /**
+     * Waits until all commands are completed, but at most {@code maxWaitingTimeMillis} (forever, if less than 1).
+     * Returns as soon as the last command completes; {@code waitingSleepTimeMillis} is only the interval of the
+     * trace logging of the running commands.
+     *
+     * @return the number of still running commands
+     */
     public long await(long maxWaitingTimeMillis, long waitingSleepTimeMillis) {
-        waitingSleepTimeMillis = waitingSleepTimeMillis < 0 ? 5000 : waitingSleepTimeMillis;
+        waitingSleepTimeMillis = waitingSleepTimeMillis < 1 ? 5000 : waitingSleepTimeMillis;
         long maxWaitingTime = maxWaitingTimeMillis < 1 ? -1 : System.currentTimeMillis() + maxWaitingTimeMillis;
-        while (maxWaitingTime == -1 || System.currentTimeMillis() < maxWaitingTime) {
-            long counter = getRunningCommandCounter();
-            if (counter == 0) {
-                break;
+        long counter = getRunningCommandCounter();
+        while (counter != 0) {
+            long waitingTime = waitingSleepTimeMillis;
+            if (maxWaitingTime != -1) {
+                waitingTime = Math.min(waitingTime, maxWaitingTime - System.currentTimeMillis());
+                if (waitingTime < 1) {
+                    break;
+                }
             }
             if (log.isTraceEnabled()) {
-                log.trace("Running Commands: {}. sleep {} millis", counter, waitingSleepTimeMillis);
+                log.trace("Running Commands: {}. wait {} millis", counter, waitingTime);
+            }
+            try {
+                context.awaitIdle(waitingTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             }
-            ThreadUtils.sleep(waitingSleepTimeMillis);
+            counter = getRunningCommandCounter();
         }
         return getRunningCommandCounter();
     }
@@ -141,7 +213,9 @@ public class ApimsExecutor implements Executor {
             if (queueCapacity < 0) {
                 queueCapacity = Integer.MAX_VALUE;
             }
-            if (maxPoolSize == 1) {
+            if (virtualThreads) {
+                delegate = createVirtualThreadDelegate();
+            } else if (maxPoolSize == 1) {
                 delegate = Executors.newSingleThreadExecutor();
             } else if (corePoolSize == maxPoolSize) {
                 delegate = Executors.newFixedThreadPool(corePoolSize);
@@ -160,4 +234,29 @@ public class ApimsExecutor implements Executor {
         }
         return delegate;
     }
+
+    protected Executor createVirtualThreadDelegate() {
+        final ExecutorService executorService = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        if (maxPoolSize < 1 || maxPoolSize == Integer.MAX_VALUE) {
+            return executorService;
+        }
+        final Semaphore permits = new Semaphore(maxPoolSize);
+        return command -> executorService.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    protected ApimsRunnableWrapper createRunnableWrapper() {
+        try {
+            return runnableWrapperFactory.get();
+        } catch (Exception e) {
+            return new ApimsRunnableWrapper();
+        }
+    }
 }
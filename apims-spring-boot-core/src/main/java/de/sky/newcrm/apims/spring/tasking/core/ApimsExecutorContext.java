@@ -6,10 +6,16 @@ package de.sky.newcrm.apims.spring.tasking.core;
 
 import de.sky.newcrm.apims.spring.environment.core.ApimsReportGeneratedHint;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 class ApimsExecutorContext {
 
     private String id;
     private long runningCommandCounter = 0;
+    private CompletableFuture<Void> idle = CompletableFuture.completedFuture(null);
     private final Object lock = new Object();
 
     ApimsExecutorContext(String id) {
@@ -18,7 +24,9 @@ class ApimsExecutorContext {
 
     void incrementCommandCounter() {
         synchronized (lock) {
-            runningCommandCounter++;
+            if (runningCommandCounter++ == 0) {
+                idle = new CompletableFuture<>();
+            }
         }
     }
 
@@ -30,6 +38,27 @@ class ApimsExecutorContext {
             } else {
                 runningCommandCounter--;
             }
+            if (runningCommandCounter == 0) {
+                idle.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Waits until no command is running anymore.
+     *
+     * @return {@code true}, if no command is running, {@code false} if the waiting time elapsed before
+     */
+    boolean awaitIdle(long waitingTimeMillis) throws InterruptedException {
+        final CompletableFuture<Void> future;
+        synchronized (lock) {
+            future = idle;
+        }
+        try {
+            future.get(waitingTimeMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
         }
     }
 
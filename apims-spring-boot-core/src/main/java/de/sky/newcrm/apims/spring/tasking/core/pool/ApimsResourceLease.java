@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.tasking.core.pool;
+
+/**
+ * A resource borrowed from an {@link ApimsResourcePool}. The lease is owned by the caller, not by the current
+ * thread, and hands the resource back to the pool on {@link #close()}. Closing it more than once has no effect.
+ */
+public interface ApimsResourceLease<T> extends AutoCloseable {
+
+    T getResource();
+
+    /**
+     * Marks the resource as broken, it is disposed instead of returned to the pool on {@link #close()}.
+     */
+    void invalidate();
+
+    @Override
+    void close();
+}
@@ -9,6 +9,8 @@ import org.springframework.beans.factory.InitializingBean;
 
 public interface ApimsResourcePool<T> extends InitializingBean, DisposableBean {
 
+    ApimsResourceLease<T> acquire();
+
     T allocate();
 
     void release(T resource);
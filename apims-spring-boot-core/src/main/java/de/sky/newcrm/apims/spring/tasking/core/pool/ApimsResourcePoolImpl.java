@@ -4,6 +4,9 @@
  */
 package de.sky.newcrm.apims.spring.tasking.core.pool;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -13,14 +16,66 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Pool of reusable resources without a global lock.
+ * <p>
+ * Idle resources are kept in a {@link ConcurrentLinkedDeque} and reused last in, first out. Every borrow returns
+ * an {@link ApimsResourceLease} that is owned by the caller, so a lease may be closed by another thread and works
+ * with virtual threads. Resources are created, validated and disposed by the calling thread without holding a
+ * lock. {@link #allocate()} and {@link #release(Object)} are kept for callers working with the plain resource, the
+ * lease is looked up by the identity of the resource.
+ * <p>
+ * With a {@code maintenanceIntervalMillis} greater than 0, a maintainer started by {@link #afterPropertiesSet()}
+ * retires expired and invalid idle resources and creates idle resources up to {@code minIdle}, so this work leaves
+ * the request path; {@code validateOnBorrow}, the validation on acquire and release, may then be switched off.
+ * With a {@link MeterRegistry}, the pool publishes gauges of the active, idle and pending borrows and timers of the
+ * acquire and creation time, tagged with the {@code poolName}.
+ */
 @Slf4j
 public abstract class ApimsResourcePoolImpl<T> implements ApimsResourcePool<T> {
 
-    private final List<AllocatedResource<T>> availablePoolList = new ArrayList<>();
-    private final Map<String, AllocatedResource<T>> allocatedPoolMap = new ConcurrentHashMap<>();
+    public static final String APIMS_RESOURCE_POOL_ACTIVE_GAUGE_NAME = "apims_resource_pool_active";
+    public static final String APIMS_RESOURCE_POOL_IDLE_GAUGE_NAME = "apims_resource_pool_idle";
+    public static final String APIMS_RESOURCE_POOL_PENDING_GAUGE_NAME = "apims_resource_pool_pending";
+    public static final String APIMS_RESOURCE_POOL_ACQUIRE_TIMER_NAME = "apims_resource_pool_acquire";
+    public static final String APIMS_RESOURCE_POOL_CREATION_TIMER_NAME = "apims_resource_pool_creation";
+
+    private final ConcurrentLinkedDeque<AllocatedResource<T>> availablePool = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger availableCount = new AtomicInteger();
+    private final Map<ResourceKey, ResourceLease> allocatedPoolMap = new ConcurrentHashMap<>();
     private final int maxAvailableResources;
     private final int maxResourceLifetimeSeconds;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    @Getter
+    @Setter
+    private int minIdle = 0;
+
+    @Getter
+    @Setter
+    private long maintenanceIntervalMillis = 0;
+
+    @Getter
+    @Setter
+    private boolean validateOnBorrow = true;
+
+    @Getter
+    @Setter
+    private String poolName = getClass().getSimpleName();
+
+    @Setter
+    private MeterRegistry meterRegistry;
+
+    private volatile Timer acquireTimer;
+    private volatile Timer creationTimer;
+    private ScheduledExecutorService maintainer;
 
     protected ApimsResourcePoolImpl(int maxAvailableResources, int maxResourceLifetimeSeconds) {
         this.maxAvailableResources = maxAvailableResources;
@@ -34,90 +89,135 @@ public abstract class ApimsResourcePoolImpl<T> implements ApimsResourcePool<T> {
     protected abstract void disposeResource(T resource);
 
     @Override
-    public void afterPropertiesSet() throws Exception {}
+    public void afterPropertiesSet() throws Exception {
+        if (meterRegistry != null) {
+            registerMeters(meterRegistry);
+        }
+        if (maintenanceIntervalMillis > 0) {
+            startMaintainer();
+        }
+    }
 
     @Override
-    public T allocate() {
-        synchronized (allocatedPoolMap) {
-            AllocatedResource<T> allocatedResource = null;
-            final String allocatedKey = Thread.currentThread().getName();
-            if (allocatedPoolMap.containsKey(allocatedKey)) {
-                allocatedResource = allocatedPoolMap.remove(allocatedKey);
-            }
-            if (allocatedResource == null && !availablePoolList.isEmpty()) {
-                allocatedResource = availablePoolList.remove(0);
-            }
-            if (allocatedResource != null
-                    && (isResourceTimeout(allocatedResource) || !isResourceValid(allocatedResource.getResource()))) {
+    public ApimsResourceLease<T> acquire() {
+        final Timer timer = acquireTimer;
+        final long start = timer == null ? 0 : System.nanoTime();
+        pendingCount.incrementAndGet();
+        try {
+            AllocatedResource<T> allocatedResource;
+            while ((allocatedResource = pollAvailable()) != null) {
+                if (!isResourceTimeout(allocatedResource)
+                        && (!validateOnBorrow || isResourceValid(allocatedResource.getResource()))) {
+                    log.trace("resource from pool...");
+                    break;
+                }
                 disposeResource(allocatedResource.getResource());
-                allocatedResource = null;
             }
             if (allocatedResource == null) {
                 log.trace("no valid resource in pool. create new one...");
-                T newResource = createResource();
-                Assert.notNull(newResource, "New created resource must not be null!");
-                allocatedResource = new AllocatedResource<>(newResource);
-                allocatedResource.setAllocatedTimeMillis(System.currentTimeMillis());
-            } else {
-                log.trace("resource from pool...");
+                allocatedResource = createAllocatedResource();
+            }
+            ResourceLease lease = new ResourceLease(allocatedResource);
+            allocatedPoolMap.put(lease.key, lease);
+            return lease;
+        } finally {
+            pendingCount.decrementAndGet();
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
-            allocatedResource.setThreadName(allocatedKey);
-            allocatedPoolMap.put(allocatedKey, allocatedResource);
-            return allocatedResource.getResource();
         }
     }
 
+    @Override
+    public T allocate() {
+        return acquire().getResource();
+    }
+
     @Override
     public void release(T resource) {
-        synchronized (allocatedPoolMap) {
-            AllocatedResource<T> allocatedResource = null;
-            final String allocatedKey = Thread.currentThread().getName();
-            if (allocatedPoolMap.containsKey(allocatedKey)) {
-                allocatedResource = allocatedPoolMap.remove(allocatedKey);
+        if (resource == null) {
+            return;
+        }
+        ResourceLease lease = allocatedPoolMap.get(new ResourceKey(resource));
+        if (lease != null) {
+            lease.close();
+        }
+    }
+
+    /**
+     * Retires expired and invalid idle resources and creates idle resources up to {@code minIdle}. Called by the
+     * maintainer, idle resources are borrowed from the pool while they are validated.
+     */
+    public void maintain() {
+        List<AllocatedResource<T>> validResources = new ArrayList<>();
+        for (int i = availableCount.get(); i > 0; i--) {
+            AllocatedResource<T> allocatedResource = availablePool.pollLast();
+            if (allocatedResource == null) {
+                break;
             }
-            if (allocatedResource != null) {
-                if (availablePoolList.size() >= maxAvailableResources
-                        || isResourceTimeout(allocatedResource)
-                        || !isResourceValid(allocatedResource.getResource())) {
-                    log.trace("dispose resource...");
-                    disposeResource(allocatedResource.getResource());
-                } else {
-                    log.trace("return resource in pool...");
-                    availablePoolList.add(allocatedResource);
-                }
+            availableCount.decrementAndGet();
+            if (isResourceTimeout(allocatedResource) || !isResourceValid(allocatedResource.getResource())) {
+                log.trace("retire pool resource...");
+                disposeResource(allocatedResource.getResource());
+            } else {
+                validResources.add(allocatedResource);
+            }
+        }
+        // the oldest resource was polled first and goes back to the end of the pool
+        for (int i = validResources.size() - 1; i >= 0; i--) {
+            offerAvailable(validResources.get(i), false);
+        }
+        final int targetIdle = Math.min(minIdle, maxAvailableResources);
+        while (availableCount.get() < targetIdle) {
+            log.trace("create idle resource...");
+            if (!offerAvailable(createAllocatedResource(), false)) {
+                break;
             }
         }
     }
 
+    public int getActiveCount() {
+        return allocatedPoolMap.size();
+    }
+
+    public int getIdleCount() {
+        return availableCount.get();
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
     @Override
     public void destroy() throws Exception {
-
-        synchronized (allocatedPoolMap) {
-            for (AllocatedResource<T> allocatedResource : availablePoolList) {
-                try {
-                    log.trace("dispose pool resource...");
-                    disposeResource(allocatedResource.getResource());
-                } catch (Exception e) {
-                    log.trace(
-                            "dispose resource {} failed: {}",
-                            allocatedResource.getResource().getClass().getSimpleName(),
-                            e.getMessage());
-                }
+        stopMaintainer();
+        AllocatedResource<T> allocatedResource;
+        while ((allocatedResource = pollAvailable()) != null) {
+            try {
+                log.trace("dispose pool resource...");
+                disposeResource(allocatedResource.getResource());
+            } catch (Exception e) {
+                log.trace(
+                        "dispose resource {} failed: {}",
+                        allocatedResource.getResource().getClass().getSimpleName(),
+                        e.getMessage());
             }
-            availablePoolList.clear();
-            for (AllocatedResource<T> allocatedResource : allocatedPoolMap.values()) {
-                try {
-                    log.trace("dispose allocated resource...");
-                    disposeResource(allocatedResource.getResource());
-                } catch (Exception e) {
-                    log.trace(
-                            "dispose resource {} -> {} failed: {}",
-                            allocatedResource.getThreadName(),
-                            allocatedResource.getResource().getClass().getSimpleName(),
-                            e.getMessage());
-                }
+        }
+        List<ResourceLease> leases = new ArrayList<>(allocatedPoolMap.values());
+        for (ResourceLease lease : leases) {
+            if (!lease.closed.compareAndSet(false, true)) {
+                continue;
+            }
+            allocatedPoolMap.remove(lease.key, lease);
+            try {
+                log.trace("dispose allocated resource...");
+                disposeResource(lease.getResource());
+            } catch (Exception e) {
+                log.trace(
+                        "dispose allocated resource {} failed: {}",
+                        lease.getResource().getClass().getSimpleName(),
+                        e.getMessage());
             }
-            allocatedPoolMap.clear();
         }
     }
 
@@ -127,10 +227,91 @@ public abstract class ApimsResourcePoolImpl<T> implements ApimsResourcePool<T> {
                         < System.currentTimeMillis();
     }
 
+    protected void registerMeters(MeterRegistry registry) {
+        Tags tags = Tags.of("pool", poolName);
+        registry.gaugeMapSize(APIMS_RESOURCE_POOL_ACTIVE_GAUGE_NAME, tags, allocatedPoolMap);
+        registry.gauge(APIMS_RESOURCE_POOL_IDLE_GAUGE_NAME, tags, availableCount);
+        registry.gauge(APIMS_RESOURCE_POOL_PENDING_GAUGE_NAME, tags, pendingCount);
+        acquireTimer = Timer.builder(APIMS_RESOURCE_POOL_ACQUIRE_TIMER_NAME).tags(tags).register(registry);
+        creationTimer = Timer.builder(APIMS_RESOURCE_POOL_CREATION_TIMER_NAME).tags(tags).register(registry);
+    }
+
+    private synchronized void startMaintainer() {
+        if (maintainer != null) {
+            return;
+        }
+        maintainer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("apims-resource-pool-maintainer-" + poolName).factory());
+        maintainer.scheduleWithFixedDelay(this::runMaintenance, 0, maintenanceIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void stopMaintainer() {
+        if (maintainer != null) {
+            maintainer.shutdownNow();
+            maintainer = null;
+        }
+    }
+
+    private void runMaintenance() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.warn("maintenance of resource pool {} failed: {}", poolName, e.getMessage());
+        }
+    }
+
+    private AllocatedResource<T> createAllocatedResource() {
+        final Timer timer = creationTimer;
+        final long start = timer == null ? 0 : System.nanoTime();
+        T newResource = createResource();
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        Assert.notNull(newResource, "New created resource must not be null!");
+        AllocatedResource<T> allocatedResource = new AllocatedResource<>(newResource);
+        allocatedResource.setAllocatedTimeMillis(System.currentTimeMillis());
+        return allocatedResource;
+    }
+
+    private boolean offerAvailable(AllocatedResource<T> allocatedResource, boolean first) {
+        if (availableCount.incrementAndGet() > maxAvailableResources) {
+            availableCount.decrementAndGet();
+            log.trace("dispose resource...");
+            disposeResource(allocatedResource.getResource());
+            return false;
+        }
+        if (first) {
+            availablePool.offerFirst(allocatedResource);
+        } else {
+            availablePool.offerLast(allocatedResource);
+        }
+        return true;
+    }
+
+    private AllocatedResource<T> pollAvailable() {
+        AllocatedResource<T> allocatedResource = availablePool.pollFirst();
+        if (allocatedResource != null) {
+            availableCount.decrementAndGet();
+        }
+        return allocatedResource;
+    }
+
+    private void returnResource(AllocatedResource<T> allocatedResource, boolean invalid) {
+        if (invalid
+                || isResourceTimeout(allocatedResource)
+                || (validateOnBorrow && !isResourceValid(allocatedResource.getResource()))) {
+            log.trace("dispose resource...");
+            disposeResource(allocatedResource.getResource());
+            return;
+        }
+        if (offerAvailable(allocatedResource, true)) {
+            log.trace("return resource in pool...");
+        }
+    }
+
     @Getter
     @Setter
     static class AllocatedResource<T> {
-        private String threadName;
         private long allocatedTimeMillis;
         private final T resource;
 
@@ -138,4 +319,48 @@ public abstract class ApimsResourcePoolImpl<T> implements ApimsResourcePool<T> {
             this.resource = resource;
         }
     }
+
+    private final class ResourceLease implements ApimsResourceLease<T> {
+
+        private final AllocatedResource<T> allocatedResource;
+        private final ResourceKey key;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean invalid;
+
+        private ResourceLease(AllocatedResource<T> allocatedResource) {
+            this.allocatedResource = allocatedResource;
+            this.key = new ResourceKey(allocatedResource.getResource());
+        }
+
+        @Override
+        public T getResource() {
+            return allocatedResource.getResource();
+        }
+
+        @Override
+        public void invalidate() {
+            invalid = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                allocatedPoolMap.remove(key, this);
+                returnResource(allocatedResource, invalid);
+            }
+        }
+    }
+
+    private record ResourceKey(Object resource) {
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ResourceKey other && other.resource == resource;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(resource);
+        }
+    }
 }
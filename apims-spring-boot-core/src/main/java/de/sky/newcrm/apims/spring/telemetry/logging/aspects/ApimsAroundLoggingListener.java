@@ -37,7 +37,7 @@ public class ApimsAroundLoggingListener implements ApimsAroundListener {
         if (context.isApimsAroundLoggingListenerSuppressed()) {
             return;
         }
-        context.getData().put(apimsLoggingHelper.calculateContextDataTimerKey(context), System.nanoTime());
+        context.setListenerStartTime(System.nanoTime());
         final Logger logger = context.getLogger();
         if (context.getActiveCallsCount() > 1 && !log.isDebugEnabled()) {
             return;
@@ -64,8 +64,7 @@ public class ApimsAroundLoggingListener implements ApimsAroundListener {
             return;
         }
 
-        final long startTimeNs =
-                (long) context.getData().remove(apimsLoggingHelper.calculateContextDataTimerKey(context));
+        final long startTimeNs = context.getListenerStartTime();
 
         MethodLogMessage methodLogMessage =
                 apimsLoggingHelper.createAfterMethodLogMessage(context).setDuration(startTimeNs);
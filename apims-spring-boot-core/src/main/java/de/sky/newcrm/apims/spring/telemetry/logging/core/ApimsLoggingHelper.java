@@ -15,8 +15,6 @@ import org.springframework.beans.factory.annotation.Value;
 @Slf4j
 public class ApimsLoggingHelper {
 
-    private static final String CONTEXT_DATA_TIMER_IDENTIFIER = "timer";
-
     private final ApimsAroundObjectSerializer apimsAroundObjectSerializer;
 
     @Value("${apims.aspects.listeners.logging.new-format-enabled:true}")
@@ -114,9 +112,4 @@ public class ApimsLoggingHelper {
         }
         return value.toString();
     }
-
-    public String calculateContextDataTimerKey(ApimsAroundContext context) {
-        return this.getClass().getSimpleName() + "." + context.getShortSignature() + "."
-                + CONTEXT_DATA_TIMER_IDENTIFIER;
-    }
 }
@@ -25,6 +25,7 @@ public class ApimsMdc implements InitializingBean {
     private static final String ERROR_KEY_PREFIX = "apims.error.";
 
     private final Map<String, String> globalFields = new HashMap<>();
+    private volatile ApimsMdcSnapshot globalFieldsSnapshot;
 
     @Value("${apims.mdc.prefix:apims.}")
     private String mdcPrefix;
@@ -44,15 +45,84 @@ public class ApimsMdc implements InitializingBean {
     }
 
     public void putGlobalFields() {
-        globalFields.forEach((key, value) -> MDC.put(calculateApimsMdcKey(key, true), value));
+        Map<String, String> contextMap = getCopyOfContextMap();
+        getGlobalFieldsSnapshot().putInto(contextMap);
+        MDC.setContextMap(contextMap);
     }
 
     public void putAll(Map<String, String> data) {
         data.forEach(this::put);
     }
 
+    /**
+     * Removes the values with the apims prefix with a single update of the MDC. Global fields without this prefix
+     * are kept, see {@link #resetToGlobalFields()}.
+     */
     public void removeAllApimsValues() {
-        removeAll(getApimsMap());
+        if (!StringUtils.hasLength(mdcPrefix)) {
+            return;
+        }
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        if (contextMap != null && contextMap.keySet().removeIf(this::isApimsMdcKey)) {
+            MDC.setContextMap(contextMap);
+        }
+    }
+
+    /**
+     * Starts the MDC of a new inbound call: all apims values are removed and the global fields are set, other values
+     * are kept. Same as {@link #removeAllApimsValues()} followed by {@link #putGlobalFields()}, but with the
+     * prefixed global field keys calculated once and a single update of the MDC.
+     */
+    public void resetToGlobalFields() {
+        restore(getGlobalFieldsSnapshot());
+    }
+
+    /**
+     * Captures the apims values and global fields of the MDC of the current thread, e.g. to hand them over to a
+     * worker thread. The snapshot is immutable, so it is shared with the worker thread instead of copied again.
+     */
+    public ApimsMdcSnapshot snapshot() {
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        if (contextMap == null || contextMap.isEmpty()) {
+            return ApimsMdcSnapshot.EMPTY;
+        }
+        contextMap.keySet().removeIf(key -> !isManagedMdcKey(key));
+        return ApimsMdcSnapshot.of(contextMap);
+    }
+
+    /**
+     * Replaces the apims values and global fields of the MDC of the current thread by the values of the snapshot
+     * with a single {@link MDC#setContextMap(Map)}. Values of other libraries, like trace ids, are kept.
+     */
+    public void restore(ApimsMdcSnapshot snapshot) {
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        if (contextMap == null) {
+            if (snapshot.isEmpty()) {
+                return;
+            }
+            contextMap = new HashMap<>(snapshot.size() * 2);
+        } else {
+            contextMap.keySet().removeIf(this::isManagedMdcKey);
+        }
+        snapshot.putInto(contextMap);
+        MDC.setContextMap(contextMap);
+    }
+
+    /**
+     * Runs the task with the apims values of the calling thread and restores the previous values of the executing
+     * thread afterwards.
+     */
+    public Runnable wrap(Runnable task) {
+        final ApimsMdcSnapshot snapshot = snapshot();
+        return () -> {
+            ApimsMdcSnapshot previous = snapshot();
+            restore(snapshot);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
     }
 
     public void removeAll(Map<String, String> data) {
@@ -77,9 +147,9 @@ public class ApimsMdc implements InitializingBean {
 
     public void clearError() {
         if (hasError()) {
-            getCopyOfContextMap().keySet().stream()
-                    .filter(key -> key.startsWith(ERROR_KEY_PREFIX))
-                    .forEach(this::remove);
+            Map<String, String> contextMap = getCopyOfContextMap();
+            contextMap.keySet().removeIf(key -> key.startsWith(ERROR_KEY_PREFIX));
+            MDC.setContextMap(contextMap);
         }
     }
 
@@ -129,6 +199,22 @@ public class ApimsMdc implements InitializingBean {
         return StringUtils.hasLength(mdcPrefix) && key.startsWith(mdcPrefix);
     }
 
+    private boolean isManagedMdcKey(String key) {
+        return isApimsMdcKey(key) || getGlobalFieldsSnapshot().containsKey(key);
+    }
+
+    private ApimsMdcSnapshot getGlobalFieldsSnapshot() {
+        ApimsMdcSnapshot snapshot = globalFieldsSnapshot;
+        if (snapshot == null) {
+            // the prefixes are injected after construction, so the keys are calculated on first use
+            Map<String, String> values = new HashMap<>();
+            globalFields.forEach((key, value) -> values.put(calculateApimsMdcKey(key, true), value));
+            snapshot = ApimsMdcSnapshot.of(values);
+            globalFieldsSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
     public String calculateApimsMdcKey(String key, boolean globalField) {
         String prefix = globalField ? globalFieldsMdcPrefix : mdcPrefix;
         return !StringUtils.hasLength(prefix) || key.startsWith(prefix) ? key : (prefix + key);
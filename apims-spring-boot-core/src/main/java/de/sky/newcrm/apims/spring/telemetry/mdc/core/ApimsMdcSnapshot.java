@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.telemetry.mdc.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of the apims values of the MDC, created by {@link ApimsMdc#snapshot()}. The keys are the final,
+ * already prefixed MDC keys, so {@link ApimsMdc#restore(ApimsMdcSnapshot)} writes them back without any key
+ * calculation. A snapshot can be handed over to other threads as it is.
+ */
+public final class ApimsMdcSnapshot {
+
+    public static final ApimsMdcSnapshot EMPTY = new ApimsMdcSnapshot(new String[0]);
+
+    // key value pairs: entries[2 * i] is the MDC key, entries[2 * i + 1] the value
+    private final String[] entries;
+
+    private ApimsMdcSnapshot(String[] entries) {
+        this.entries = entries;
+    }
+
+    static ApimsMdcSnapshot of(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return EMPTY;
+        }
+        String[] entries = new String[values.size() * 2];
+        int index = 0;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            entries[index++] = entry.getKey();
+            entries[index++] = entry.getValue();
+        }
+        return new ApimsMdcSnapshot(entries);
+    }
+
+    public int size() {
+        return entries.length / 2;
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    public boolean containsKey(String mdcKey) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(mdcKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String get(String mdcKey) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(mdcKey)) {
+                return entries[i + 1];
+            }
+        }
+        return null;
+    }
+
+    public Map<String, String> toMap() {
+        Map<String, String> map = new HashMap<>(entries.length);
+        putInto(map);
+        return map;
+    }
+
+    void putInto(Map<String, String> map) {
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(entries[i], entries[i + 1]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -11,12 +11,14 @@ import de.sky.newcrm.apims.spring.exceptions.ApimsBusinessException;
 import de.sky.newcrm.apims.spring.exceptions.BusinessExceptionErrorCodes;
 import de.sky.newcrm.apims.spring.flow.ApimsFlowContext;
 import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
+import de.sky.newcrm.apims.spring.telemetry.metrics.core.ApimsExecutionMeterCache;
 import de.sky.newcrm.apims.spring.telemetry.metrics.core.ApimsExecutionMetric;
 import de.sky.newcrm.apims.spring.telemetry.metrics.core.ApimsMeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.Clock;
 import java.text.DecimalFormat;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,7 +37,6 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
     private static final String WEB_SERVICE_TEMPLATE_CLASS = "org.springframework.ws.client.core.WebServiceTemplate";
     private static final String MOCKED_WEB_SERVICE_TEMPLATE_CLASS =
             "de.sky.newcrm.apims.spring.mocks.ApimsMockedWebServiceTemplate";
-    private static final String CONTEXT_DATA_TIMER_IDENTIFIER = "timer";
     private static final String METRIC_TYPE_INBOUND = "INBOUND";
     private static final String METRIC_TYPE_EXECUTION = "EXECUTION";
 
@@ -69,6 +70,9 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
     @Value("${apims.aspects.listeners.metrics.outbound-pubsub-enabled:false}")
     private boolean outboundPubsubEnabled;
 
+    @Value("${apims.aspects.listeners.metrics.meter-cache-max-size:" + ApimsExecutionMeterCache.DEFAULT_MAX_SIZE + "}")
+    private int meterCacheMaxSize = ApimsExecutionMeterCache.DEFAULT_MAX_SIZE;
+
     @Value("${spring.couchbase.bucket:}")
     private String couchbaseBucketName;
 
@@ -83,6 +87,9 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
 
     private final Set<String> ignoredComponents;
     private final ApimsMeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ThreadLocal<ApimsExecutionMetric> metrics = ThreadLocal.withInitial(ApimsExecutionMetric::new);
+    private volatile ApimsExecutionMeterCache meterCache;
 
     @Autowired
     private ApimsMdc mdc;
@@ -95,10 +102,12 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
     public ApimsAroundMetricsListener(ApimsMeterRegistry meterRegistry, Set<String> ignoredComponents) {
         this.meterRegistry = meterRegistry;
         this.ignoredComponents = ignoredComponents;
+        this.clock = meterRegistry.unwrap().config().clock();
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
+        getMeterCache();
         //        TODO: move to relevant starters or refactor
         //        springRepositoryClass = ObjectUtils.getClass("org.springframework.data.repository.Repository", true);
     }
@@ -108,10 +117,28 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
         return Ordered.LOWEST_PRECEDENCE - 110;
     }
 
+    /**
+     * The cache is created once, after the max size is injected: it registers the cache size gauge, and a second
+     * instance would leave the gauge bound to the discarded map.
+     */
+    protected ApimsExecutionMeterCache getMeterCache() {
+        ApimsExecutionMeterCache cache = meterCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = meterCache;
+                if (cache == null) {
+                    cache = new ApimsExecutionMeterCache(meterRegistry, meterCacheMaxSize);
+                    meterCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     @Override
     public void beforeAroundMethod(ApimsAroundContext context) {
         if (isMetricMethod(context)) {
-            context.getData().put(calculateContextDataTimerKey(context), meterRegistry.createTimerSample());
+            context.setListenerStartTime(clock.monotonicTime());
         }
     }
 
@@ -120,35 +147,21 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
         if (!isMetricMethod(context)) {
             return;
         }
+        long durationNs = clock.monotonicTime() - context.getListenerStartTime();
         boolean executionMetricMethod = isExecutionMetricMethod(context);
-        Timer.Sample sample = (Timer.Sample) context.getData().remove(calculateContextDataTimerKey(context));
-        ApimsExecutionMetric.ApimsExecutionMetricBuilder builder = executionMetricMethod
-                ? calculateExecutionMetric(context, result, resultError)
-                : calculateOutboundMetric(context, result, resultError);
-        ApimsExecutionMetric metric = builder.build();
-        long durationNs = 0L;
-        if (sample != null) {
-            durationNs = meterRegistry.timer(
-                    sample,
-                    executionMetricMethod
-                            ? ApimsMeterRegistry.APIMS_EXECUTION_TIMER_NAME
-                            : ApimsMeterRegistry.APIMS_EXECUTION_OUTBOUND_TIMER_NAME,
-                    metric.calculateTags());
+        // the metric is only used within this call, so one instance per thread is reused
+        ApimsExecutionMetric metric = metrics.get().reset();
+        if (executionMetricMethod) {
+            calculateExecutionMetric(metric, context, result, resultError);
+        } else {
+            calculateOutboundMetric(metric, context, result, resultError);
         }
-        meterRegistry
-                .counter(
-                        executionMetricMethod
-                                ? ApimsMeterRegistry.APIMS_EXECUTION_COUNTER_NAME
-                                : ApimsMeterRegistry.APIMS_EXECUTION_OUTBOUND_COUNTER_NAME,
-                        metric.calculateTags())
-                .increment();
+        ApimsExecutionMeterCache.ApimsExecutionMeters meters =
+                getMeterCache().getMeters(executionMetricMethod, metric);
+        meters.timer().record(durationNs, TimeUnit.NANOSECONDS);
+        meters.counter().increment();
         if (resultError != null && metric.isResultFailed()) {
-            meterRegistry
-                    .counter(
-                            executionMetricMethod
-                                    ? ApimsMeterRegistry.APIMS_EXECUTION_ERROR_COUNTER_NAME
-                                    : ApimsMeterRegistry.APIMS_EXECUTION_OUTBOUND_ERROR_COUNTER_NAME)
-                    .increment();
+            meters.errorCounter().increment();
         }
         logMetric(metric, durationNs);
     }
@@ -198,11 +211,6 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
         mdc.removeAll(mdcData);
     }
 
-    protected String calculateContextDataTimerKey(ApimsAroundContext context) {
-        return this.getClass().getSimpleName() + "." + context.getShortSignature() + "."
-                + CONTEXT_DATA_TIMER_IDENTIFIER;
-    }
-
     protected boolean isMetricMethod(ApimsAroundContext context) {
         return isExecutionMetricMethod(context) || isOutboundMetricMethod(context);
     }
@@ -228,31 +236,27 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
     }
 
     @SuppressWarnings({"java:S1481", "java:S1854"})
-    protected ApimsExecutionMetric.ApimsExecutionMetricBuilder calculateExecutionMetric(
-            ApimsAroundContext context, Object result, Exception resultError) {
-        ApimsExecutionMetric.ApimsExecutionMetricBuilder builder = ApimsExecutionMetric.builder();
-        builder.metricType(METRIC_TYPE_EXECUTION);
-        resolveDefaultMetric(builder, context, result, resultError);
+    protected void calculateExecutionMetric(
+            ApimsExecutionMetric metric, ApimsAroundContext context, Object result, Exception resultError) {
+        metric.setMetricType(METRIC_TYPE_EXECUTION);
+        resolveDefaultMetric(metric, context, result, resultError);
         //        TODO: What is this for? Can this be relocated to the given starters?
         //        boolean flag = resolveControllerInboundMetric(builder, context, result)
         //                || resolveKafkaInboundMetric(builder, context, result)
         //                || resolvePubsubInboundMetric(builder, context, result)
         //                || resolveSftpInboundMetric(builder, context, result);
-        return builder;
     }
 
     @SuppressWarnings("java:1172")
     protected void resolveDefaultMetric(
-            ApimsExecutionMetric.ApimsExecutionMetricBuilder builder,
-            ApimsAroundContext context,
-            Object result,
-            Exception resultError) {
-        builder.componentType(context.getType().name())
-                .componentFullName(context.getDeclaringType().getName())
-                .componentName(context.getDeclaringType().getSimpleName())
-                .componmentMethod(context.getShortSignature());
+            ApimsExecutionMetric metric, ApimsAroundContext context, Object result, Exception resultError) {
+        metric.setComponentType(context.getType().name());
+        metric.setComponentFullName(context.getDeclaringType().getName());
+        metric.setComponentName(context.getDeclaringType().getSimpleName());
+        metric.setComponmentMethod(context.getShortSignature());
         if (resultError == null) {
-            builder.resultOK(true).resultFailed(false);
+            metric.setResultOK(true);
+            metric.setResultFailed(false);
         }
         if (resultError != null) {
             String resultTag = BusinessExceptionErrorCodes.calculateErrorCode(resultError, false);
@@ -262,7 +266,9 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
 
             ApimsBusinessException annotation = resultError.getClass().getAnnotation(ApimsBusinessException.class);
             boolean reportAsError = annotation == null || annotation.logAsError();
-            builder.resultOK(!reportAsError).resultFailed(reportAsError).resultTag(resultTag);
+            metric.setResultOK(!reportAsError);
+            metric.setResultFailed(reportAsError);
+            metric.setResultTag(resultTag);
         }
     }
 
@@ -333,11 +339,10 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
     //    }
 
     @SuppressWarnings({"java:S1481", "java:S1854"})
-    protected ApimsExecutionMetric.ApimsExecutionMetricBuilder calculateOutboundMetric(
-            ApimsAroundContext context, Object result, Exception resultError) {
-        ApimsExecutionMetric.ApimsExecutionMetricBuilder builder = ApimsExecutionMetric.builder();
-        builder.metricType("OUTBOUND");
-        resolveDefaultMetric(builder, context, result, resultError);
+    protected void calculateOutboundMetric(
+            ApimsExecutionMetric metric, ApimsAroundContext context, Object result, Exception resultError) {
+        metric.setMetricType("OUTBOUND");
+        resolveDefaultMetric(metric, context, result, resultError);
         //        TODO: What is this for? Can this be relocated to the given starters?
         //        boolean flag = resolveRestTemplateOutboundMetric(builder, context, result)
         //                || resolveCouchbaseOutboundMetric(builder, context, result)
@@ -345,7 +350,6 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
         //                || resolveKafkaTemplateOutboundMetric(builder, context, result)
         //                || resolvePubsubTemplateOutboundMetric(builder, context, result)
         //                || resolveWebServiceTemplateOutboundMetric(builder, context, result);
-        return builder;
     }
 
     @SuppressWarnings("java:1172")
@@ -452,17 +456,11 @@ public class ApimsAroundMetricsListener implements ApimsAroundListener, Initiali
     //    }
 
     @ApimsReportGeneratedHint
-    protected void resolveResult(
-            ApimsExecutionMetric.ApimsExecutionMetricBuilder builder, ResponseEntity<?> responseEntity) {
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            builder.resultOK(true)
-                    .resultFailed(false)
-                    .resultTag(responseEntity.getStatusCode().toString());
-        } else {
-            builder.resultOK(false)
-                    .resultFailed(true)
-                    .resultTag(responseEntity.getStatusCode().toString());
-        }
+    protected void resolveResult(ApimsExecutionMetric metric, ResponseEntity<?> responseEntity) {
+        boolean successful = responseEntity.getStatusCode().is2xxSuccessful();
+        metric.setResultOK(successful);
+        metric.setResultFailed(!successful);
+        metric.setResultTag(responseEntity.getStatusCode().toString());
     }
 
     protected boolean isMetricsActivated(ApimsAroundContext context) {
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.telemetry.metrics.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the already registered execution meters, keyed by the tag values of an {@link ApimsExecutionMetric}.
+ * <p>
+ * The number of cached meter sets is bounded by {@code maxSize}. Once the limit is reached, new tag combinations are
+ * mapped to an overflow entry of the same component method (request and result tag replaced by
+ * {@link #OVERFLOW_TAG_VALUE}), so an unbounded result tag cannot explode the registry or the heap.
+ * <p>
+ * Lookups use a per thread probe key, a key is only allocated when new meters are registered.
+ */
+public class ApimsExecutionMeterCache {
+
+    public static final int DEFAULT_MAX_SIZE = 2000;
+    public static final String OVERFLOW_TAG_VALUE = "__overflow__";
+    public static final String APIMS_EXECUTION_METER_CACHE_SIZE_GAUGE_NAME = "apims_exec_meter_cache_size";
+    public static final String APIMS_EXECUTION_METER_CACHE_OVERFLOW_COUNTER_NAME = "apims_exec_meter_cache_overflow";
+
+    private final ApimsMeterRegistry meterRegistry;
+    private final int maxSize;
+    private final Map<MeterKey, ApimsExecutionMeters> metersMap = new ConcurrentHashMap<>();
+    private final ThreadLocal<MeterKey> probeKeys = ThreadLocal.withInitial(MeterKey::new);
+    private final Counter overflowCounter;
+    private final Counter executionErrorCounter;
+    private final Counter outboundErrorCounter;
+
+    public ApimsExecutionMeterCache(ApimsMeterRegistry meterRegistry, int maxSize) {
+        this.meterRegistry = meterRegistry;
+        this.maxSize = maxSize < 1 ? DEFAULT_MAX_SIZE : maxSize;
+        meterRegistry.unwrap().gaugeMapSize(APIMS_EXECUTION_METER_CACHE_SIZE_GAUGE_NAME, List.of(), metersMap);
+        this.overflowCounter = meterRegistry.counter(APIMS_EXECUTION_METER_CACHE_OVERFLOW_COUNTER_NAME);
+        this.executionErrorCounter = meterRegistry.counter(ApimsMeterRegistry.APIMS_EXECUTION_ERROR_COUNTER_NAME);
+        this.outboundErrorCounter =
+                meterRegistry.counter(ApimsMeterRegistry.APIMS_EXECUTION_OUTBOUND_ERROR_COUNTER_NAME);
+    }
+
+    public ApimsExecutionMeters getMeters(boolean executionMetric, ApimsExecutionMetric metric) {
+        MeterKey probeKey = probeKeys.get().set(executionMetric, metric);
+        ApimsExecutionMeters meters = metersMap.get(probeKey);
+        if (meters != null) {
+            return meters;
+        }
+        if (metersMap.size() >= maxSize) {
+            overflowCounter.increment();
+            probeKey.setOverflow();
+            meters = metersMap.get(probeKey);
+            if (meters != null) {
+                return meters;
+            }
+            ApimsExecutionMetric overflowMetric = ApimsExecutionMetric.builder()
+                    .componentName(metric.getComponentName())
+                    .componentFullName(metric.getComponentFullName())
+                    .componentType(metric.getComponentType())
+                    .componmentMethod(metric.getComponmentMethod())
+                    .requestTag(OVERFLOW_TAG_VALUE)
+                    .metricType(metric.getMetricType())
+                    .resultOK(metric.isResultOK())
+                    .resultFailed(metric.isResultFailed())
+                    .resultTag(OVERFLOW_TAG_VALUE)
+                    .build();
+            return metersMap.computeIfAbsent(probeKey.copy(), k -> createMeters(executionMetric, overflowMetric));
+        }
+        return metersMap.computeIfAbsent(probeKey.copy(), k -> createMeters(executionMetric, metric));
+    }
+
+    public int size() {
+        return metersMap.size();
+    }
+
+    protected ApimsExecutionMeters createMeters(boolean executionMetric, ApimsExecutionMetric metric) {
+        List<Tag> tags = metric.calculateTags();
+        return new ApimsExecutionMeters(
+                meterRegistry
+                        .unwrap()
+                        .timer(
+                                executionMetric
+                                        ? ApimsMeterRegistry.APIMS_EXECUTION_TIMER_NAME
+                                        : ApimsMeterRegistry.APIMS_EXECUTION_OUTBOUND_TIMER_NAME,
+                                tags),
+                meterRegistry.counter(
+                        executionMetric
+                                ? ApimsMeterRegistry.APIMS_EXECUTION_COUNTER_NAME
+                                : ApimsMeterRegistry.APIMS_EXECUTION_OUTBOUND_COUNTER_NAME,
+                        tags),
+                executionMetric ? executionErrorCounter : outboundErrorCounter);
+    }
+
+    public record ApimsExecutionMeters(Timer timer, Counter counter, Counter errorCounter) {}
+
+    /**
+     * Tag values of the cached meters. The per thread probe instance is mutated for lookups and never stored in the
+     * map, stored keys are copies.
+     */
+    @SuppressWarnings("java:S2160")
+    private static final class MeterKey {
+
+        private boolean executionMetric;
+        private String componentName;
+        private String componentFullName;
+        private String componentType;
+        private String componentMethod;
+        private String requestTag;
+        private String metricType;
+        private boolean resultFailed;
+        private String resultTag;
+
+        private MeterKey set(boolean executionMetric, ApimsExecutionMetric metric) {
+            this.executionMetric = executionMetric;
+            this.componentName = metric.getComponentName();
+            this.componentFullName = metric.getComponentFullName();
+            this.componentType = metric.getComponentType();
+            this.componentMethod = metric.getComponmentMethod();
+            this.requestTag = metric.getRequestTag();
+            this.metricType = metric.getMetricType();
+            this.resultFailed = metric.isResultFailed();
+            this.resultTag = metric.getResultTag();
+            return this;
+        }
+
+        private void setOverflow() {
+            this.requestTag = OVERFLOW_TAG_VALUE;
+            this.resultTag = OVERFLOW_TAG_VALUE;
+        }
+
+        private MeterKey copy() {
+            MeterKey key = new MeterKey();
+            key.executionMetric = executionMetric;
+            key.componentName = componentName;
+            key.componentFullName = componentFullName;
+            key.componentType = componentType;
+            key.componentMethod = componentMethod;
+            key.requestTag = requestTag;
+            key.metricType = metricType;
+            key.resultFailed = resultFailed;
+            key.resultTag = resultTag;
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof MeterKey other
+                    && executionMetric == other.executionMetric
+                    && resultFailed == other.resultFailed
+                    && Objects.equals(componentMethod, other.componentMethod)
+                    && Objects.equals(componentFullName, other.componentFullName)
+                    && Objects.equals(resultTag, other.resultTag)
+                    && Objects.equals(requestTag, other.requestTag)
+                    && Objects.equals(componentName, other.componentName)
+                    && Objects.equals(componentType, other.componentType)
+                    && Objects.equals(metricType, other.metricType);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Boolean.hashCode(executionMetric);
+            result = 31 * result + Objects.hashCode(componentName);
+            result = 31 * result + Objects.hashCode(componentFullName);
+            result = 31 * result + Objects.hashCode(componentType);
+            result = 31 * result + Objects.hashCode(componentMethod);
+            result = 31 * result + Objects.hashCode(requestTag);
+            result = 31 * result + Objects.hashCode(metricType);
+            result = 31 * result + Boolean.hashCode(resultFailed);
+            result = 31 * result + Objects.hashCode(resultTag);
+            return result;
+        }
+    }
+}
@@ -42,6 +42,22 @@ public class ApimsExecutionMetric {
     @Builder.Default
     private String resultTag = "";
 
+    /**
+     * Restores the default values, so a per thread instance can be reused for the next call.
+     */
+    public ApimsExecutionMetric reset() {
+        componentName = "";
+        componentFullName = "";
+        componentType = "";
+        componmentMethod = "";
+        requestTag = "";
+        metricType = "UNKNOWN";
+        resultOK = true;
+        resultFailed = false;
+        resultTag = "";
+        return this;
+    }
+
     public List<Tag> calculateTags() {
         List<Tag> list = new ArrayList<>();
         list.add(Tag.of(getTagName("component_name"), getTagValue(getComponentName())));
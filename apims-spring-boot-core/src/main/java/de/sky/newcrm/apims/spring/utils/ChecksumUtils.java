@@ -5,17 +5,34 @@
 package de.sky.newcrm.apims.spring.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
+import java.util.stream.IntStream;
 import org.springframework.util.Assert;
 
+/**
+ * SHA-512 based checksums. The checksums of {@link #calculateChecksum(File)} and
+ * {@link #calculateChecksum(byte[]...)} keep the first {@value #CHECKSUM_DIGEST_BYTES} bytes of every digest.
+ * <p>
+ * File contents up to {@value #MAPPED_FILE_THRESHOLD} bytes are read through one heap buffer, larger files are
+ * memory-mapped in regions of {@value #MAPPED_REGION_SIZE} bytes, so the content is not copied by read calls. The
+ * optional parallel mode digests chunks of the file concurrently and digests the chunk digests; its result differs
+ * from the sequential content digest and is only comparable with other parallel digests of the same chunk size.
+ */
 @SuppressWarnings({"java:S6212"})
 public interface ChecksumUtils {
 
+    int CHECKSUM_DIGEST_BYTES = 16;
+    int HEAP_BUFFER_SIZE = 64 * 1024;
+    long MAPPED_FILE_THRESHOLD = 1024L * 1024L;
+    long MAPPED_REGION_SIZE = 256L * 1024L * 1024L;
+    int DEFAULT_PARALLEL_CHUNK_SIZE = 64 * 1024 * 1024;
+
     static String calculateChecksum(File file) throws IOException {
         return calculateChecksum(file, true, false, true);
     }
@@ -52,21 +69,82 @@ public interface ChecksumUtils {
         calculateChecksum(buf, data.getBytes(StandardCharsets.UTF_8));
 
         if (includeFileContent) {
-            MessageDigest messageDigest;
-            FileChannel channel;
-            try (FileInputStream inputStream = new FileInputStream(file)) {
-                messageDigest = DigestUtils.getSha512Digest();
-                channel = inputStream.getChannel();
-                ByteBuffer buff = ByteBuffer.allocate(2048);
-                while (channel.read(buff) != -1) {
-                    buff.flip();
-                    messageDigest.update(buff);
-                    buff.clear();
+            DigestUtils.appendHex(contentDigest(file), 0, CHECKSUM_DIGEST_BYTES, buf);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * @return the full SHA-512 content checksum of the file as hex string, computed in parallel chunks if
+     *     {@code parallel} is set
+     */
+    static String calculateContentChecksum(File file, boolean parallel) throws IOException {
+        byte[] digest = parallel ? parallelContentDigest(file, DEFAULT_PARALLEL_CHUNK_SIZE) : contentDigest(file);
+        return new String(DigestUtils.encodeHex(digest));
+    }
+
+    /**
+     * @return the SHA-512 digest of the file content
+     */
+    static byte[] contentDigest(File file) throws IOException {
+        Assert.state(file != null, "[Assertion failed] - file must not be null!");
+        MessageDigest messageDigest = DigestUtils.getSha512Digest();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > MAPPED_FILE_THRESHOLD) {
+                updateMapped(messageDigest, channel, 0, size);
+            } else {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size + 1, HEAP_BUFFER_SIZE));
+                while (channel.read(buffer) != -1) {
+                    buffer.flip();
+                    messageDigest.update(buffer);
+                    buffer.clear();
                 }
-                buf.append(DigestUtils.encodeHex(messageDigest.digest()));
             }
         }
-        return buf.toString();
+        return messageDigest.digest();
+    }
+
+    /**
+     * @return the SHA-512 digest of the SHA-512 digests of the {@code chunkSize} chunks of the file content, the
+     *     chunks are digested in parallel
+     */
+    static byte[] parallelContentDigest(File file, int chunkSize) throws IOException {
+        Assert.state(file != null, "[Assertion failed] - file must not be null!");
+        Assert.state(chunkSize > 0, "[Assertion failed] - chunkSize must be greater than 0!");
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+            byte[][] chunkDigests = new byte[chunks][];
+            try {
+                IntStream.range(0, chunks).parallel().forEach(i -> {
+                    long position = (long) i * chunkSize;
+                    MessageDigest chunkDigest = DigestUtils.getSha512Digest();
+                    try {
+                        updateMapped(chunkDigest, channel, position, Math.min(chunkSize, size - position));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    chunkDigests[i] = chunkDigest.digest();
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            MessageDigest messageDigest = DigestUtils.getSha512Digest();
+            for (byte[] chunkDigest : chunkDigests) {
+                messageDigest.update(chunkDigest);
+            }
+            return messageDigest.digest();
+        }
+    }
+
+    private static void updateMapped(MessageDigest messageDigest, FileChannel channel, long position, long length)
+            throws IOException {
+        final long end = position + length;
+        for (long regionStart = position; regionStart < end; regionStart += MAPPED_REGION_SIZE) {
+            long regionSize = Math.min(MAPPED_REGION_SIZE, end - regionStart);
+            messageDigest.update(channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize));
+        }
     }
 
     static String calculateChecksum(byte[]... data) {
@@ -80,7 +158,7 @@ public interface ChecksumUtils {
         Assert.state(data != null && data.length != 0, "[Assertion failed] - data can not by null or empty!");
         for (byte[] item : data) {
             if (item != null && item.length != 0) {
-                DigestUtils.appendSha512DigestAsHex(item, target);
+                DigestUtils.appendHex(DigestUtils.sha512Digest(item), 0, CHECKSUM_DIGEST_BYTES, target);
             }
         }
     }
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Precompiled variant of {@link JSONStringMasker}.
+ * <p>
+ * The mask keys are compiled once (grouped by length), the source is scanned once for all keys instead of one regex
+ * replacement per key. The whitespace normalization and the masked output are identical to
+ * {@link JSONStringMasker#mask(String, String, Collection)}: a {@code "key": "value"} (or {@code 'value'}) pair is
+ * replaced by {@code "key": "maskValue"}. Sources without any match are returned as is.
+ * <p>
+ * The scanner does not require well-formed JSON, so truncated payloads ending with {@code ...} are supported.
+ */
+public final class CompiledJSONStringMasker {
+
+    private static final String DEFAULT_MASK_VALUE = "___masked___";
+    private static final String CUT_SUFFIX = "...";
+    private static final int CHECK_VALUE_LENGTH = 500;
+
+    private final String maskValue;
+    private final String maskReplacement;
+    private final String[][] keysByLength;
+
+    public CompiledJSONStringMasker(String maskValue, String... keys) {
+        this(maskValue, List.of(keys));
+    }
+
+    public CompiledJSONStringMasker(String maskValue, Collection<String> keys) {
+        Assert.notNull(keys, "[Assertion failed] - 'keys' is required; it must not be null");
+        this.maskValue = StringUtils.hasLength(maskValue) ? maskValue : DEFAULT_MASK_VALUE;
+        this.maskReplacement = ": \"" + this.maskValue + "\"";
+        Set<String> distinctKeys = new LinkedHashSet<>();
+        int maxKeyLength = 0;
+        for (String key : keys) {
+            if (StringUtils.hasLength(key) && key.indexOf('"') == -1) {
+                distinctKeys.add(key);
+                maxKeyLength = Math.max(maxKeyLength, key.length());
+            }
+        }
+        List<List<String>> grouped = new ArrayList<>(maxKeyLength + 1);
+        for (int i = 0; i <= maxKeyLength; i++) {
+            grouped.add(new ArrayList<>(1));
+        }
+        for (String key : distinctKeys) {
+            grouped.get(key.length()).add(key);
+        }
+        this.keysByLength = new String[maxKeyLength + 1][];
+        for (int i = 0; i <= maxKeyLength; i++) {
+            this.keysByLength[i] = grouped.get(i).isEmpty() ? null : grouped.get(i).toArray(new String[0]);
+        }
+    }
+
+    public String getMaskValue() {
+        return maskValue;
+    }
+
+    public String mask(String source) {
+        if (!StringUtils.hasLength(source)) {
+            return source;
+        }
+        final boolean cutted = source.endsWith(CUT_SUFFIX);
+        final String cuttedSource = cutted ? source + "\"" : source;
+        final String checkValue = cuttedSource.length() > CHECK_VALUE_LENGTH
+                ? cuttedSource.substring(0, CHECK_VALUE_LENGTH)
+                : cuttedSource;
+        final boolean replaceLineBreaks = checkValue.contains("\n");
+        final boolean replaceSpaceBeforeColon = checkValue.contains("\" :");
+        final boolean collapseWhitespaces = checkValue.contains("  ");
+
+        CharSequence normalized = cuttedSource;
+        boolean changed = false;
+        if (replaceLineBreaks || replaceSpaceBeforeColon || collapseWhitespaces) {
+            normalized = normalize(cuttedSource, replaceLineBreaks, replaceSpaceBeforeColon, collapseWhitespaces);
+            changed = !cuttedSource.contentEquals(normalized);
+        }
+        StringBuilder masked = maskNormalized(normalized);
+        if (masked == null) {
+            if (!changed) {
+                return source;
+            }
+            masked = normalized instanceof StringBuilder buf ? buf : new StringBuilder(normalized);
+        }
+        if (cutted) {
+            int length = masked.length();
+            if (length >= 4 && masked.charAt(length - 1) == '"' && endsWithCutSuffix(masked, length - 1)) {
+                masked.setLength(length - 1);
+            } else {
+                masked.append(CUT_SUFFIX);
+            }
+        }
+        return masked.toString();
+    }
+
+    /**
+     * Masks all {@code "key": "value"} pairs of the given (already normalized) value.
+     *
+     * @return the masked value or {@code null}, if nothing was masked
+     */
+    private StringBuilder maskNormalized(CharSequence value) {
+        StringBuilder buf = null;
+        int copied = 0;
+        final int length = value.length();
+        int i = 0;
+        while (i < length) {
+            if (value.charAt(i) == '"') {
+                int keyEnd = findKeyEnd(value, i);
+                int valueEnd = keyEnd < 0 ? -1 : findValueEnd(value, keyEnd);
+                if (valueEnd > 0) {
+                    if (buf == null) {
+                        buf = new StringBuilder(length + 32);
+                    }
+                    buf.append(value, copied, keyEnd).append(maskReplacement);
+                    copied = valueEnd;
+                    i = valueEnd;
+                    continue;
+                }
+            }
+            i++;
+        }
+        if (buf != null) {
+            buf.append(value, copied, length);
+        }
+        return buf;
+    }
+
+    /**
+     * @return the index after the closing quote of a mask key starting at {@code start}, or {@code -1}
+     */
+    private int findKeyEnd(CharSequence value, int start) {
+        final int limit = Math.min(value.length(), start + keysByLength.length + 1);
+        int end = start + 1;
+        while (end < limit && value.charAt(end) != '"') {
+            end++;
+        }
+        if (end >= limit) {
+            return -1;
+        }
+        String[] keys = keysByLength[end - start - 1];
+        if (keys == null) {
+            return -1;
+        }
+        for (String key : keys) {
+            if (regionMatches(value, start + 1, key)) {
+                return end + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Matches {@code : 'value'} or {@code : "value"} (escaped characters allowed, no line breaks) like the regular
+     * expression of {@link JSONStringMasker}.
+     *
+     * @return the index after the closing quote of the value, or {@code -1}
+     */
+    private static int findValueEnd(CharSequence value, int keyEnd) {
+        final int length = value.length();
+        if (keyEnd + 2 >= length || value.charAt(keyEnd) != ':' || value.charAt(keyEnd + 1) != ' ') {
+            return -1;
+        }
+        final char quote = value.charAt(keyEnd + 2);
+        if (quote != '"' && quote != '\'') {
+            return -1;
+        }
+        int i = keyEnd + 3;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c == quote) {
+                return i + 1;
+            }
+            if (c == '\\') {
+                if (i + 1 >= length || isLineTerminator(value.charAt(i + 1))) {
+                    return -1;
+                }
+                i += 2;
+            } else if (isLineTerminator(c)) {
+                return -1;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private static StringBuilder normalize(
+            String source, boolean replaceLineBreaks, boolean replaceSpaceBeforeColon, boolean collapseWhitespaces) {
+        final int length = source.length();
+        final StringBuilder buf = new StringBuilder(length);
+        int whitespaceCount = 0;
+        char whitespace = ' ';
+        int i = 0;
+        while (i < length) {
+            char c = lineBreakToSpace(source.charAt(i), replaceLineBreaks);
+            int consumed = 1;
+            if (replaceSpaceBeforeColon
+                    && c == '"'
+                    && i + 2 < length
+                    && lineBreakToSpace(source.charAt(i + 1), replaceLineBreaks) == ' '
+                    && source.charAt(i + 2) == ':') {
+                consumed = 3;
+            }
+            if (collapseWhitespaces && isWhitespace(c)) {
+                whitespace = c;
+                whitespaceCount++;
+            } else {
+                appendWhitespaces(buf, whitespaceCount, whitespace);
+                whitespaceCount = 0;
+                buf.append(c);
+                if (consumed == 3) {
+                    buf.append(':');
+                }
+            }
+            i += consumed;
+        }
+        appendWhitespaces(buf, whitespaceCount, whitespace);
+        return buf;
+    }
+
+    private static void appendWhitespaces(StringBuilder buf, int whitespaceCount, char whitespace) {
+        if (whitespaceCount == 1) {
+            buf.append(whitespace);
+        } else if (whitespaceCount > 1) {
+            buf.append(' ');
+        }
+    }
+
+    private static char lineBreakToSpace(char c, boolean replaceLineBreaks) {
+        return replaceLineBreaks && c == '\n' ? ' ' : c;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean regionMatches(CharSequence value, int offset, String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (value.charAt(offset + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean endsWithCutSuffix(CharSequence value, int end) {
+        return value.charAt(end - 1) == '.' && value.charAt(end - 2) == '.' && value.charAt(end - 3) == '.';
+    }
+}
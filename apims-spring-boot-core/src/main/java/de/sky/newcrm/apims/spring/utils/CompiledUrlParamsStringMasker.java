@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Precompiled variant of {@link UrlParamsStringMasker}.
+ * <p>
+ * The source is scanned once: it is split on {@code ?}, {@code &} and {@code =}, the parameter names are checked
+ * against the mask keys (grouped by length, case-insensitive) and the masked result is written into a single
+ * {@link StringBuilder}. Like {@link UrlParamsStringMasker#mask(String, String, Collection)}, a parameter
+ * {@code ?key=value} or {@code &key=value} with a non-empty value is replaced by {@code ?key=maskValue}. Sources
+ * without {@code ?} or {@code &}, or without any match, are returned as is.
+ */
+public final class CompiledUrlParamsStringMasker {
+
+    private static final String DEFAULT_MASK_VALUE = "___masked___";
+
+    private final String maskValue;
+    private final String[][] keysByLength;
+
+    public CompiledUrlParamsStringMasker(String maskValue, String... keys) {
+        this(maskValue, List.of(keys));
+    }
+
+    public CompiledUrlParamsStringMasker(String maskValue, Collection<String> keys) {
+        Assert.notNull(keys, "[Assertion failed] - 'keys' is required; it must not be null");
+        this.maskValue = StringUtils.hasLength(maskValue) ? maskValue : DEFAULT_MASK_VALUE;
+        Set<String> distinctKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        int maxKeyLength = 0;
+        for (String key : keys) {
+            if (StringUtils.hasLength(key) && !containsSeparator(key)) {
+                distinctKeys.add(key);
+                maxKeyLength = Math.max(maxKeyLength, key.length());
+            }
+        }
+        List<List<String>> grouped = new ArrayList<>(maxKeyLength + 1);
+        for (int i = 0; i <= maxKeyLength; i++) {
+            grouped.add(new ArrayList<>(1));
+        }
+        for (String key : distinctKeys) {
+            grouped.get(key.length()).add(key);
+        }
+        this.keysByLength = new String[maxKeyLength + 1][];
+        for (int i = 0; i <= maxKeyLength; i++) {
+            this.keysByLength[i] = grouped.get(i).isEmpty() ? null : grouped.get(i).toArray(new String[0]);
+        }
+    }
+
+    public String getMaskValue() {
+        return maskValue;
+    }
+
+    public String mask(String source) {
+        if (!StringUtils.hasLength(source) || keysByLength.length == 1) {
+            return source;
+        }
+        final int length = source.length();
+        int i = nextSeparator(source, 0);
+        StringBuilder buf = null;
+        int copied = 0;
+        while (i < length) {
+            // source[i] is '?' or '&', the parameter name ends at the next '=', '?' or '&'
+            int nameEnd = i + 1;
+            char c = 0;
+            while (nameEnd < length) {
+                c = source.charAt(nameEnd);
+                if (c == '=' || isSeparator(c)) {
+                    break;
+                }
+                nameEnd++;
+            }
+            if (nameEnd >= length || c != '=') {
+                i = nameEnd;
+                continue;
+            }
+            int valueEnd = nextSeparator(source, nameEnd + 1);
+            if (valueEnd > nameEnd + 1 && isMaskKey(source, i + 1, nameEnd - i - 1)) {
+                if (buf == null) {
+                    buf = new StringBuilder(length + maskValue.length());
+                }
+                buf.append(source, copied, nameEnd + 1).append(maskValue);
+                copied = valueEnd;
+            }
+            i = valueEnd;
+        }
+        if (buf == null) {
+            return source;
+        }
+        return buf.append(source, copied, length).toString();
+    }
+
+    private boolean isMaskKey(String source, int start, int length) {
+        if (length >= keysByLength.length) {
+            return false;
+        }
+        String[] keys = keysByLength[length];
+        if (keys == null) {
+            return false;
+        }
+        for (String key : keys) {
+            if (source.regionMatches(true, start, key, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nextSeparator(String source, int from) {
+        final int length = source.length();
+        for (int i = from; i < length; i++) {
+            if (isSeparator(source.charAt(i))) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '?' || c == '&';
+    }
+
+    private static boolean containsSeparator(String key) {
+        return key.indexOf('?') >= 0 || key.indexOf('&') >= 0 || key.indexOf('=') >= 0;
+    }
+}
@@ -8,9 +8,15 @@ import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
+/**
+ * Message digests are cloned from one prototype per algorithm instead of a provider lookup per call, the hex
+ * encoding uses a lookup table of the two hex chars of every byte value.
+ */
 @SuppressWarnings({"java:S6212"})
 public abstract class DigestUtils {
 
@@ -23,6 +29,15 @@ public abstract class DigestUtils {
     private static final char[] HEX_CHARS = {
         '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
     };
+    private static final char[] HEX_BYTE_CHARS = new char[512];
+    private static final Map<String, MessageDigest> DIGEST_PROTOTYPES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            HEX_BYTE_CHARS[i * 2] = HEX_CHARS[i >>> 4];
+            HEX_BYTE_CHARS[i * 2 + 1] = HEX_CHARS[i & 0xf];
+        }
+    }
 
     @SuppressWarnings({"java:S112"})
     public static byte[] hmacSha1Digest(byte[] bytes, byte[] secret) {
@@ -68,11 +83,16 @@ public abstract class DigestUtils {
         return getDigest(SHA512_ALGORITHM_NAME);
     }
 
+    /**
+     * @return a new {@link MessageDigest} owned by the caller, cloned from the prototype of the algorithm if the
+     *     provider supports it
+     */
     public static MessageDigest getDigest(String algorithm) {
+        MessageDigest prototype = DIGEST_PROTOTYPES.computeIfAbsent(algorithm, DigestUtils::createDigest);
         try {
-            return MessageDigest.getInstance(algorithm);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("Could not find MessageDigest with algorithm \"" + algorithm + "\"", ex);
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return createDigest(algorithm);
         }
     }
 
@@ -96,12 +116,32 @@ public abstract class DigestUtils {
     }
 
     public static char[] encodeHex(byte[] bytes) {
-        char[] chars = new char[32];
-        for (int i = 0; i < chars.length; i = i + 2) {
-            byte b = bytes[i / 2];
-            chars[i] = HEX_CHARS[(b >>> 0x4) & 0xf];
-            chars[i + 1] = HEX_CHARS[b & 0xf];
+        return encodeHex(bytes, 0, bytes.length);
+    }
+
+    public static char[] encodeHex(byte[] bytes, int offset, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int index = (bytes[offset + i] & 0xff) * 2;
+            chars[i * 2] = HEX_BYTE_CHARS[index];
+            chars[i * 2 + 1] = HEX_BYTE_CHARS[index + 1];
         }
         return chars;
     }
+
+    public static StringBuilder appendHex(byte[] bytes, int offset, int length, StringBuilder builder) {
+        builder.ensureCapacity(builder.length() + length * 2);
+        for (int i = offset; i < offset + length; i++) {
+            builder.append(HEX_BYTE_CHARS, (bytes[i] & 0xff) * 2, 2);
+        }
+        return builder;
+    }
+
+    private static MessageDigest createDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not find MessageDigest with algorithm \"" + algorithm + "\"", ex);
+        }
+    }
 }
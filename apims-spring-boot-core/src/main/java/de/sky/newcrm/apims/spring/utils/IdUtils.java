@@ -5,30 +5,45 @@
 package de.sky.newcrm.apims.spring.utils;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.Random;
-import java.util.random.RandomGenerator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.springframework.util.StringUtils;
 
+/**
+ * Random ids are drawn from the {@link ThreadLocalRandom} of the calling thread, so concurrent callers do not
+ * contend on a shared seed. The time-ordered ids ({@link #nextId(boolean)}, {@link #nextUuidV7()},
+ * {@link #nextUlid()}) start with the epoch millis and sort by creation time across milliseconds, ids created within
+ * the same millisecond are in random order.
+ */
 @SuppressWarnings({"java:S112", "java:S5164"})
 public abstract class IdUtils {
 
     private static final ThreadLocal<char[]> PARSE_BUFFER = new ThreadLocal<>();
-    private static final RandomGenerator RANDOM_GENERATOR = new Random();
 
     private static final char[] HEX_DIGITS = {
         '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
     };
+    private static final char[] CROCKFORD_BASE32_DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < HEX_DIGITS.length; i++) {
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_VALUES[Character.toUpperCase(HEX_DIGITS[i])] = (byte) i;
+        }
+    }
 
     private IdUtils() {}
 
-    @SuppressWarnings("unchecked")
     public static long nextLong() {
-        Long nextId = null;
-        while (nextId == null || nextId == 0L) {
-            nextId = RANDOM_GENERATOR.nextLong();
-        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long nextId;
+        do {
+            nextId = random.nextLong();
+        } while (nextId == 0L);
         return nextId;
     }
 
@@ -37,7 +52,59 @@ public abstract class IdUtils {
     }
 
     public static String nextId(boolean timeBased) {
-        return timeBased ? toLowerHex(Instant.now().toEpochMilli(), nextLong()) : toLowerHex(nextLong());
+        return timeBased ? toLowerHex(System.currentTimeMillis(), nextLong()) : toLowerHex(nextLong());
+    }
+
+    /**
+     * @return a version 7 {@link UUID} (RFC 9562): 48 bits epoch millis followed by 74 random bits.
+     */
+    public static UUID nextUuidV7() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0fffL);
+        long leastSigBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return a ULID: 48 bits epoch millis followed by 80 random bits as 26 Crockford base32 chars.
+     */
+    public static String nextUlid() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = (System.currentTimeMillis() << 16) | (random.nextLong() & 0xffffL);
+        long low = random.nextLong();
+        char[] data = new char[26];
+        // 26 * 5 = 130 bits, the first char holds the upper 3 bits of the 128 bit value
+        for (int i = 0, shift = 125; i < data.length; i++, shift -= 5) {
+            long bits;
+            if (shift >= 64) {
+                bits = high >>> (shift - 64);
+            } else if (shift > 59) {
+                bits = (low >>> shift) | (high << (64 - shift));
+            } else {
+                bits = low >>> shift;
+            }
+            data[i] = CROCKFORD_BASE32_DIGITS[(int) (bits & 0x1f)];
+        }
+        return new String(data);
+    }
+
+    /**
+     * @return the epoch millis of a ULID created by {@link #nextUlid()}
+     */
+    public static long getUlidTimestamp(String ulid) {
+        if (ulid == null || ulid.length() != 26) {
+            throw new IllegalArgumentException("invalid ulid: " + ulid);
+        }
+        long timestamp = 0;
+        // the first 10 chars hold 50 bits: 2 leading zero bits and the 48 bits epoch millis
+        for (int i = 0; i < 10; i++) {
+            int value = indexOfCrockfordDigit(ulid.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("invalid ulid: " + ulid);
+            }
+            timestamp = (timestamp << 5) | value;
+        }
+        return timestamp;
     }
 
     public static String toLowerHex(long value) {
@@ -77,18 +144,34 @@ public abstract class IdUtils {
         return hex.toString();
     }
 
+    /**
+     * @return the lower hex chars of the base64 encoded UTF-8 bytes of the value, written in one pass into the result
+     */
     public static String encodeId(String value) {
         if (value == null) {
             return null;
         }
-        return asciiToHex(new String(Base64.getEncoder().encode(value.getBytes(StandardCharsets.UTF_8))));
+        byte[] base64 = Base64.getEncoder().encode(value.getBytes(StandardCharsets.UTF_8));
+        char[] data = new char[base64.length * 2];
+        for (int i = 0; i < base64.length; i++) {
+            writeHexByte(data, i * 2, base64[i]);
+        }
+        return new String(data);
     }
 
     public static String decodeId(String value) {
         if (value == null) {
             return null;
         }
-        return new String(Base64.getDecoder().decode(hexToAscii(value)), StandardCharsets.UTF_8);
+        final int length = value.length();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("invalid encoded id length: " + length);
+        }
+        byte[] base64 = new byte[length / 2];
+        for (int i = 0; i < base64.length; i++) {
+            base64[i] = (byte) ((hexValue(value.charAt(i * 2)) << 4) | hexValue(value.charAt(i * 2 + 1)));
+        }
+        return new String(Base64.getDecoder().decode(base64), StandardCharsets.UTF_8);
     }
 
     public static String removeAndTrimAllWhiteSpaces(String value, boolean toUpperCase, String... removeValues) {
@@ -124,6 +207,23 @@ public abstract class IdUtils {
         data[pos + 1] = HEX_DIGITS[b & 0xf];
     }
 
+    private static int hexValue(char c) {
+        int value = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("invalid hex char: " + c);
+        }
+        return value;
+    }
+
+    private static int indexOfCrockfordDigit(char c) {
+        for (int i = 0; i < CROCKFORD_BASE32_DIGITS.length; i++) {
+            if (CROCKFORD_BASE32_DIGITS[i] == Character.toUpperCase(c)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private static char[] parseBuffer() {
         char[] idBuffer = PARSE_BUFFER.get();
         if (idBuffer == null) {
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link ThreadSaveList} for write-heavy use, backed by a {@link ConcurrentLinkedDeque}.
+ * <p>
+ * Element writes ({@code add}, {@code remove}, {@code addAll}, {@code removeIf}, ...) run concurrently with each
+ * other and only share a read lock. Operations on the list as a whole ({@code replace}, {@code replaceAll},
+ * {@code sort}, {@code accept}, {@code clear}) take the write lock; {@code sort}, {@code accept} and
+ * {@code clear} publish a new deque instead of changing the current one. Reads never lock and are weakly
+ * consistent, {@link #size()} has to traverse the deque. Null elements are not supported.
+ */
+public class ThreadSaveConcurrentDequeList<T> extends ThreadSaveList<T> {
+
+    private final Lock elementLock;
+    private final Lock structureLock;
+    private volatile ConcurrentLinkedDeque<T> entities = new ConcurrentLinkedDeque<>();
+
+    public ThreadSaveConcurrentDequeList() {
+        ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+        this.elementLock = readWriteLock.readLock();
+        this.structureLock = readWriteLock.writeLock();
+    }
+
+    public ThreadSaveConcurrentDequeList(Collection<? extends T> c) {
+        this();
+        addAll(c);
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    @Override
+    public boolean add(T t) {
+        elementLock.lock();
+        try {
+            return entities.add(t);
+        } finally {
+            elementLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(T t) {
+        elementLock.lock();
+        try {
+            return entities.remove(t);
+        } finally {
+            elementLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(T t) {
+        structureLock.lock();
+        try {
+            ConcurrentLinkedDeque<T> list = entities;
+            list.remove(t);
+            return list.add(t);
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replaceAll(Collection<? extends T> c) {
+        structureLock.lock();
+        try {
+            ConcurrentLinkedDeque<T> list = entities;
+            for (T t : c) {
+                list.remove(t);
+                list.add(t);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        elementLock.lock();
+        try {
+            return entities.addAll(c);
+        } finally {
+            elementLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        elementLock.lock();
+        try {
+            return entities.removeAll(c);
+        } finally {
+            elementLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        elementLock.lock();
+        try {
+            return entities.removeIf(filter);
+        } finally {
+            elementLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        elementLock.lock();
+        try {
+            return entities.retainAll(c);
+        } finally {
+            elementLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        structureLock.lock();
+        try {
+            entities = new ConcurrentLinkedDeque<>();
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> getAll() {
+        return Collections.unmodifiableList((List<T>) Arrays.asList(entities.toArray()));
+    }
+
+    @Override
+    @SuppressWarnings("java:S3958")
+    public List<T> filter(Predicate<? super T> filter) {
+        return stream().filter(filter).toList();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return entities.stream();
+    }
+
+    @Override
+    public void sort(Comparator<T> c) {
+        accept(list -> list.sort(c));
+    }
+
+    @Override
+    public void accept(Consumer<List<T>> consumer) {
+        structureLock.lock();
+        try {
+            List<T> list = new ArrayList<>(entities);
+            consumer.accept(list);
+            entities = new ConcurrentLinkedDeque<>(list);
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    List<T> getEntitiesInternal() {
+        return getAll();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link ThreadSaveList} for read-mostly use, backed by a {@link CopyOnWriteArrayList}.
+ * <p>
+ * Reads never lock: {@link #size()}, {@link #stream()} and {@link #filter(Predicate)} work on the current array,
+ * {@link #getAll()} returns an unmodifiable snapshot. Writes copy the array and keep the lock of the
+ * {@link ThreadSaveList}, so {@code replace}, {@code replaceAll} and {@code accept} stay atomic.
+ */
+public class ThreadSaveCopyOnWriteList<T> extends ThreadSaveList<T> {
+
+    private final List<T> entities = new CopyOnWriteArrayList<>();
+
+    public ThreadSaveCopyOnWriteList() {}
+
+    public ThreadSaveCopyOnWriteList(Collection<? extends T> c) {
+        addAll(c);
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> getAll() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) entities.toArray()));
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return entities.stream();
+    }
+
+    @Override
+    List<T> getEntitiesInternal() {
+        return entities;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.aspects.core.around;
+
+import de.sky.newcrm.apims.spring.aspects.MockedProceedingJoinPoint;
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ApimsAroundAllocationTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final long MAX_BYTES_PER_CALL = 16;
+
+    @Test
+    void aroundMethodSteadyStateAllocatesNothingTest() throws Throwable {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        TestListener first = new TestListener(1);
+        TestListener second = new TestListener(2);
+        ApimsAspectAroundHandlerDefaultImpl handler =
+                new ApimsAspectAroundHandlerDefaultImpl(false, List.of(second, first), null);
+        TestTarget target = new TestTarget();
+        Method method = ObjectUtils.findMethod(TestTarget.class, "execute");
+        ConstantProceedingJoinPoint proceedingJoinPoint = new ConstantProceedingJoinPoint(target, method);
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            handler.aroundMethod(ApimsAspectType.SERVICE, proceedingJoinPoint);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            handler.aroundMethod(ApimsAspectType.SERVICE, proceedingJoinPoint);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(WARMUP_CALLS + MEASURED_CALLS, first.completedCalls);
+        assertEquals(WARMUP_CALLS + MEASURED_CALLS, second.completedCalls);
+        assertEquals(0, handler.getActiveCallsCount());
+        assertTrue(
+                allocated / MEASURED_CALLS < MAX_BYTES_PER_CALL,
+                "aroundMethod allocated " + (allocated / MEASURED_CALLS) + " bytes per call");
+    }
+
+    @Test
+    void listenerDataSlotsTest() throws Throwable {
+        TestListener first = new TestListener(1);
+        TestListener second = new TestListener(2);
+        ApimsAspectAroundHandlerDefaultImpl handler =
+                new ApimsAspectAroundHandlerDefaultImpl(false, List.of(first, second), null);
+        TestTarget target = new TestTarget();
+        Method method = ObjectUtils.findMethod(TestTarget.class, "execute");
+
+        assertEquals(TestTarget.RESULT, handler.aroundMethod(
+                ApimsAspectType.SERVICE, new ConstantProceedingJoinPoint(target, method)));
+        assertEquals(1, first.completedCalls);
+        assertEquals(1, second.completedCalls);
+    }
+
+    @Test
+    void errorReleasesCallDepthTest() throws Throwable {
+        TestListener listener = new TestListener(1);
+        ApimsAspectAroundHandlerDefaultImpl handler =
+                new ApimsAspectAroundHandlerDefaultImpl(false, List.of(listener), null);
+        TestTarget target = new TestTarget();
+        Method method = ObjectUtils.findMethod(TestTarget.class, "execute");
+        MockedProceedingJoinPoint failingProceedingJoinPoint = new MockedProceedingJoinPoint(target, method) {
+            @Override
+            public Object proceed() {
+                throw new StackOverflowError("test");
+            }
+        };
+
+        assertThrows(
+                StackOverflowError.class,
+                () -> handler.aroundMethod(ApimsAspectType.SERVICE, failingProceedingJoinPoint));
+        assertEquals(0, handler.getActiveCallsCount());
+        // the released context is recycled without stale listener data
+        assertEquals(TestTarget.RESULT, handler.aroundMethod(
+                ApimsAspectType.SERVICE, new ConstantProceedingJoinPoint(target, method)));
+        assertEquals(1, listener.completedCalls);
+        assertEquals(0, handler.getActiveCallsCount());
+    }
+
+    private static class TestListener implements ApimsAroundListener {
+
+        private final int order;
+        private int completedCalls;
+
+        private TestListener(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public void beforeAroundMethod(ApimsAroundContext context) {
+            assertNull(context.getListenerData());
+            context.setListenerData(this);
+            context.setListenerStartTime(order);
+        }
+
+        @Override
+        public void afterAroundMethod(ApimsAroundContext context, Object result, Exception resultError) {
+            assertSame(this, context.removeListenerData());
+            assertNull(context.getListenerData());
+            assertEquals(order, context.getListenerStartTime());
+            completedCalls++;
+        }
+    }
+
+    public static class TestTarget {
+
+        static final String RESULT = "result";
+
+        public String execute() {
+            return RESULT;
+        }
+    }
+
+    private static class ConstantProceedingJoinPoint extends MockedProceedingJoinPoint {
+
+        private ConstantProceedingJoinPoint(Object target, Method targetMethod) {
+            super(target, targetMethod);
+        }
+
+        @Override
+        public Object proceed() {
+            return TestTarget.RESULT;
+        }
+    }
+}
@@ -29,6 +29,27 @@ class ApimsAroundTest {
         assertTrue(instance.getActiveCallsCount() > -1);
     }
 
+    @Test
+    void methodDescriptorTest() {
+        ApimsAspectAroundHandlerDefaultImpl instance = new ApimsAspectAroundHandlerDefaultImpl(false, null, null);
+        TestProceedingJoinPoint target = new TestProceedingJoinPoint();
+        Method method = ObjectUtils.findMethod(TestProceedingJoinPoint.class, "executeWithoutExceptionMapping");
+        ApimsMethodDescriptor methodDescriptor =
+                instance.getMethodDescriptor(new MockedProceedingJoinPoint(target, method));
+        assertFalse(methodDescriptor.isSkipped());
+        assertTrue(methodDescriptor.isVoidMethod());
+        assertEquals("void", methodDescriptor.getReturnType());
+        assertEquals(TestProceedingJoinPoint.class, methodDescriptor.getDeclaringType());
+        assertEquals("TestProceedingJoinPoint.executeWithoutExceptionMapping()", methodDescriptor.getShortSignature());
+        assertNotNull(methodDescriptor.getLogger());
+        assertSame(methodDescriptor, instance.getMethodDescriptor(new MockedProceedingJoinPoint(target, method)));
+        assertSame(
+                methodDescriptor.getLoglineIntro(ApimsAspectType.SERVICE, "___SERVICE"),
+                methodDescriptor.getLoglineIntro(ApimsAspectType.SERVICE, "___SERVICE"));
+        assertEquals(
+                "[___SERVICE] : void TestProceedingJoinPoint.executeWithoutExceptionMapping()",
+                methodDescriptor.getLoglineIntro(ApimsAspectType.SERVICE, "___SERVICE"));
+    }
 
     @Test
     void aroundHelperURITest() {
@@ -21,7 +21,7 @@ class ApimsAsyncAutoConfigurationTest {
 
         ApimsSpringContext.overrideProperty("apims.app.mocks.async-mock-enabled", "false");
         ApimsAsyncConfig apimsProperties = new ApimsAsyncConfig();
-        ApimsAsyncAutoConfiguration configuration = new ApimsAsyncAutoConfiguration(apimsProperties);
+        ApimsAsyncAutoConfiguration configuration = new ApimsAsyncAutoConfiguration(apimsProperties, null, null);
         assertNotNull(configuration.getAsyncExecutor());
         AsyncUncaughtExceptionHandler handler = configuration.getAsyncUncaughtExceptionHandler();
         assertNotNull(handler);
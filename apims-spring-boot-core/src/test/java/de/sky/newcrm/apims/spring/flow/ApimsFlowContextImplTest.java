@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.flow;
+
+import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsAroundLoggingListenerSuppress;
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ApimsFlowContextImplTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    @AfterEach
+    void tearDown() {
+        ApimsFlowContextHolder.resetFlowContext();
+    }
+
+    @Test
+    void findAnnotationsTest() {
+        ApimsFlowContext flowContext = pushMethod("find");
+        for (int i = 0; i < 2; i++) {
+            ApimsAroundLoggingListenerSuppress methodAnnotation =
+                    flowContext.findCurrentMethodAnnotation(ApimsAroundLoggingListenerSuppress.class);
+            assertNotNull(methodAnnotation);
+            assertFalse(methodAnnotation.suppressArgs());
+            assertNull(flowContext.findCurrentMethodAnnotation(Deprecated.class));
+            assertNull(flowContext.findCurrentMethodAnnotation(null));
+            assertTrue(flowContext
+                    .findCurrentClassAnnotation(ApimsAroundLoggingListenerSuppress.class, true)
+                    .suppressArgs());
+            assertSame(
+                    methodAnnotation,
+                    flowContext.findCurrentMethodOrClassAnnotation(ApimsAroundLoggingListenerSuppress.class, false));
+            // the param annotation of the implementation and of the interface method
+            assertEquals("id", flowContext.findCurrentMethodParamAnnotation(PathVariable.class, 0).value());
+            assertEquals(
+                    "status", flowContext.findCurrentMethodParamAnnotation(RequestParam.class, 1).value());
+            assertNull(flowContext.findCurrentMethodParamAnnotation(PathVariable.class, 1));
+        }
+
+        pushMethod("count");
+        assertNull(flowContext.findCurrentMethodAnnotation(ApimsAroundLoggingListenerSuppress.class));
+        assertTrue(flowContext
+                .findCurrentMethodOrClassAnnotation(ApimsAroundLoggingListenerSuppress.class, false)
+                .suppressArgs());
+        ApimsFlowContextHolder.popFlowMethodReference();
+        ApimsFlowContextHolder.popFlowMethodReference();
+        assertNull(flowContext.findCurrentMethodAnnotation(ApimsAroundLoggingListenerSuppress.class));
+    }
+
+    @Test
+    void cachedLookupsAllocateNothingTest() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        ApimsFlowContext flowContext = pushMethod("find");
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            lookup(flowContext);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            lookup(flowContext);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(
+                allocated / MEASURED_CALLS < 16,
+                "annotation lookups allocated " + (allocated / MEASURED_CALLS) + " bytes per call");
+    }
+
+    private static void lookup(ApimsFlowContext flowContext) {
+        flowContext.findCurrentMethodOrClassAnnotation(Deprecated.class, false);
+        flowContext.findCurrentMethodAnnotation(ApimsAroundLoggingListenerSuppress.class);
+        flowContext.findCurrentMethodParamAnnotation(RequestParam.class, 1);
+    }
+
+    private static ApimsFlowContext pushMethod(String name) {
+        ApimsFlowContextHolder.pushFlowMethodReference(ApimsFlowMethodReference.builder()
+                .method(ObjectUtils.findMethod(TestServiceImpl.class, name, String.class, String.class))
+                .args(new Object[] {"4711", "active"})
+                .build());
+        return ApimsFlowContext.get();
+    }
+
+    public interface TestService {
+
+        String find(String id, @RequestParam("status") String status);
+    }
+
+    @ApimsAroundLoggingListenerSuppress
+    public static class TestServiceImpl implements TestService {
+
+        @Override
+        @ApimsAroundLoggingListenerSuppress(suppressArgs = false)
+        public String find(@PathVariable("id") String id, String status) {
+            return id + status;
+        }
+
+        public int count(String id, String status) {
+            return 0;
+        }
+    }
+}
@@ -21,8 +21,10 @@ import org.springframework.util.StringUtils;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -64,6 +66,34 @@ class AspectsSerializerTest {
         assertNotNull(instance.serialize("{\"test\": \"value\"}"));
     }
 
+    @Test
+    void aroundObjectSerializerStopsAtMaxLengthTest() {
+        ApimsAroundObjectMasker masker = new ApimsAroundObjectMaskerDefaultImpl(MASK_KEYS, MASK_VALUE);
+        ApimsAroundObjectSerializerDefaultImpl instance = new ApimsAroundObjectSerializerDefaultImpl(
+                ObjectMapperUtils.getApimsObjectMapperJson().unwrap(), masker, null, 100);
+        AtomicInteger serializedItems = new AtomicInteger();
+        List<CountingEntity> items = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            items.add(new CountingEntity("value-" + i, serializedItems));
+        }
+        TestContainer container = TestContainer.builder().key("key").items(items).build();
+
+        String value = instance.serialize(container, 1000);
+        assertTrue(value.length() <= 1000);
+        assertTrue(value.contains("value-0"));
+        assertTrue(value.endsWith("..."));
+        assertTrue(serializedItems.get() < 10_000, "serialized items: " + serializedItems.get());
+
+        String unlimited = instance.serialize(List.of(container.getKey(), "a", "b"), 0);
+        assertEquals("[key], [a], [b]", unlimited);
+
+        serializedItems.set(0);
+        String listValue = instance.serialize(items, 1000);
+        assertTrue(listValue.length() <= 1000);
+        assertTrue(listValue.endsWith("..."));
+        assertTrue(serializedItems.get() < 100, "serialized items: " + serializedItems.get());
+    }
+
     protected String executeTest(ApimsAroundObjectSerializerTypeHandler handler, Object object) {
         return executeTest(handler, object, 4000);
     }
@@ -80,6 +110,28 @@ class AspectsSerializerTest {
         return result;
     }
 
+    @Builder
+    @Getter
+    private static class TestContainer {
+        String key;
+        List<CountingEntity> items;
+    }
+
+    private static class CountingEntity {
+        private final String value;
+        private final AtomicInteger serializedItems;
+
+        private CountingEntity(String value, AtomicInteger serializedItems) {
+            this.value = value;
+            this.serializedItems = serializedItems;
+        }
+
+        public String getValue() {
+            serializedItems.incrementAndGet();
+            return value;
+        }
+    }
+
     @Builder
     @Getter
     @Setter
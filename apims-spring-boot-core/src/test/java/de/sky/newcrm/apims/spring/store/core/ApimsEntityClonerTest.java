@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+import de.sky.newcrm.apims.spring.serialization.core.mapper.jackson3.ObjectMapperUtils;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsEntityClonerTest {
+
+    @Test
+    void jsonClonerTest() {
+        ApimsEntityJsonCloner<TestRecord> cloner = new ApimsEntityJsonCloner<>(
+                ObjectMapperUtils.getApimsObjectMapperJson().unwrap(), TestRecord.class);
+        TestRecord entity = createRecord();
+        Object stored = cloner.toStored(entity);
+        assertInstanceOf(byte[].class, stored);
+        TestRecord copy = cloner.fromStored(stored);
+        assertEquals(entity, copy);
+        assertNotSame(entity.items(), copy.items());
+    }
+
+    @Test
+    void copyClonerRecordTest() {
+        ApimsEntityCopyCloner<TestRecord> cloner = ApimsEntityCopyCloner.of(TestRecord.class);
+        TestRecord entity = createRecord();
+        TestRecord copy = cloner.fromStored(cloner.toStored(entity));
+        assertEquals(entity, copy);
+        assertNotSame(entity, copy);
+        assertNotSame(entity.items(), copy.items());
+        assertNotSame(entity.items().get(0), copy.items().get(0));
+        assertNotSame(entity.attributes(), copy.attributes());
+        assertNotSame(entity.codes(), copy.codes());
+        assertSame(entity.name(), copy.name());
+
+        entity.items().add(new TestItem("added", 3));
+        assertEquals(2, copy.items().size());
+    }
+
+    @Test
+    void copyClonerCopyConstructorTest() {
+        ApimsEntityCopyCloner<TestCopyEntity> cloner = ApimsEntityCopyCloner.of(TestCopyEntity.class);
+        TestCopyEntity entity = new TestCopyEntity();
+        entity.setId("1");
+        TestCopyEntity copy = cloner.cloneEntity(entity);
+        assertNotSame(entity, copy);
+        assertEquals("1", copy.getId());
+        assertNull(cloner.cloneEntity(null));
+    }
+
+    @Test
+    void copyClonerNotSupportedTest() {
+        assertThrows(IllegalStateException.class, () -> ApimsEntityCopyCloner.of(TestNoCopyEntity.class));
+    }
+
+    @Test
+    void copyClonerRejectsSharedMutableValuesTest() {
+        // declared component types are checked when the cloner is created
+        assertThrows(IllegalStateException.class, () -> ApimsEntityCopyCloner.of(TestDateRecord.class));
+        assertThrows(IllegalStateException.class, () -> ApimsEntityCopyCloner.of(TestNestedBeanRecord.class));
+        assertThrows(IllegalStateException.class, () -> ApimsEntityCopyCloner.of(TestListOfDatesRecord.class));
+
+        // values of an undeclared type are checked on copy
+        ApimsEntityCopyCloner<TestObjectRecord> cloner = ApimsEntityCopyCloner.of(TestObjectRecord.class);
+        TestObjectRecord entity = new TestObjectRecord(
+                "1", List.of(new TestItem("a", 1), Instant.EPOCH, TestState.ACTIVE, new BigDecimal("1.5")));
+        assertEquals(entity, cloner.cloneEntity(entity));
+        TestObjectRecord mutableEntity = new TestObjectRecord("2", List.of(new Date()));
+        assertThrows(IllegalStateException.class, () -> cloner.cloneEntity(mutableEntity));
+    }
+
+    @Test
+    void immutableClonerTest() {
+        ApimsEntityImmutableCloner<TestRecord> cloner = new ApimsEntityImmutableCloner<>();
+        TestRecord entity = createRecord();
+        assertSame(entity, cloner.fromStored(cloner.toStored(entity)));
+        assertSame(entity, cloner.cloneEntity(entity));
+    }
+
+    @Test
+    void storeWithClonerTest() {
+        TestRecordStore store = new TestRecordStore(ApimsEntityCopyCloner.of(TestRecord.class));
+        TestRecord entity = createRecord();
+        store.save(entity);
+        TestRecord found = store.findById("1").orElseThrow();
+        assertEquals(entity, found);
+        assertNotSame(entity, found);
+        assertEquals(List.of(found), store.findAll());
+    }
+
+    private static TestRecord createRecord() {
+        List<TestItem> items = new ArrayList<>();
+        items.add(new TestItem("a", 1));
+        items.add(new TestItem("b", 2));
+        return new TestRecord("1", "name", items, Map.of("key", "value"), new int[] {1, 2});
+    }
+
+    public record TestItem(String name, int value) {}
+
+    public record TestDateRecord(String id, Date created) {}
+
+    public record TestNestedBeanRecord(String id, TestItem item, TestNoCopyEntity bean) {}
+
+    public record TestListOfDatesRecord(String id, Map<String, List<Date>> dates) {}
+
+    public record TestObjectRecord(String id, List<Object> values) {}
+
+    public enum TestState {
+        ACTIVE
+    }
+
+    public record TestRecord(
+            String id, String name, List<TestItem> items, Map<String, String> attributes, int[] codes) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TestRecord other
+                    && id.equals(other.id)
+                    && name.equals(other.name)
+                    && items.equals(other.items)
+                    && attributes.equals(other.attributes)
+                    && java.util.Arrays.equals(codes, other.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TestCopyEntity {
+        private String id;
+
+        public TestCopyEntity() {}
+
+        public TestCopyEntity(TestCopyEntity other) {
+            this.id = other.id;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TestNoCopyEntity {
+        private String id;
+    }
+
+    private static class TestRecordStore extends ApimsEntityIdConcurrentInMemoryStore<String, TestRecord> {
+
+        private TestRecordStore(ApimsEntityCloner<TestRecord> entityCloner) {
+            super(String.class, TestRecord.class, entityCloner);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.store.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsEntityIdConcurrentInMemoryStoreTest {
+
+    @Test
+    void crudTest() {
+        TestStore store = new TestStore();
+        TestEntity entity = new TestEntity("1", "first", "A");
+        assertSame(entity, store.save(entity));
+        store.save(new TestEntity("2", "second", "B"));
+        store.save(new TestEntity("3", "third", "A"));
+
+        assertEquals(3, store.count());
+        assertTrue(store.existsById("2"));
+        assertFalse(store.existsById("4"));
+        TestEntity found = store.findById("1").orElseThrow();
+        assertNotSame(entity, found);
+        assertEquals("first", found.getName());
+
+        entity.setName("changed");
+        assertEquals("first", store.findById("1").orElseThrow().getName());
+        store.save(entity);
+        assertEquals("changed", store.findById("1").orElseThrow().getName());
+        assertEquals(List.of("1", "2", "3"), ids(store.findAll()));
+
+        store.deleteById("2");
+        assertEquals(List.of("1", "3"), ids(store.findAll()));
+        assertEquals(List.of("3"), ids(store.findAllById(List.of("3", "2"))));
+        store.deleteAllById(List.of("1", "3"));
+        assertEquals(0, store.count());
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    @Test
+    void indexTest() {
+        TestStore store = new TestStore();
+        store.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> new TestEntity(String.valueOf(i), "name-" + i, i % 2 == 0 ? "EVEN" : "ODD"))
+                .toList());
+        store.save(new TestEntity("100", "no group", null));
+
+        List<TestEntity> even = store.findAllByIndex("group", "EVEN");
+        assertEquals(50, even.size());
+        assertEquals("0", even.get(0).getId());
+        assertEquals("98", even.get(49).getId());
+        assertEquals(List.of("100"), ids(store.findAllByIndex("group", null)));
+
+        store.save(new TestEntity("0", "name-0", "ODD"));
+        assertEquals(49, store.findAllByIndex("group", "EVEN").size());
+        assertEquals(51, store.findAllByIndex("group", "ODD").size());
+        assertEquals("0", store.findAllByIndex("group", "ODD").get(0).getId());
+
+        store.deleteById("1");
+        assertEquals(50, store.findAllByIndex("group", "ODD").size());
+        store.deleteAll();
+        assertTrue(store.findAllByIndex("group", "ODD").isEmpty());
+        assertThrows(IllegalStateException.class, () -> store.findAllByIndex("name", "name-1"));
+    }
+
+    @Test
+    void concurrentSaveTest() {
+        TestStore store = new TestStore();
+        IntStream.range(0, 10_000)
+                .parallel()
+                .forEach(i -> store.save(new TestEntity(String.valueOf(i % 1000), "name-" + i, "G" + (i % 10))));
+        assertEquals(1000, store.count());
+        assertEquals(1000, store.findAll().size());
+        int indexed = 0;
+        for (int i = 0; i < 10; i++) {
+            indexed += store.findAllByIndex("group", "G" + i).size();
+        }
+        assertEquals(1000, indexed);
+    }
+
+    private static List<String> ids(List<TestEntity> entities) {
+        return entities.stream().map(TestEntity::getId).toList();
+    }
+
+    private static class TestStore extends ApimsEntityIdConcurrentInMemoryStore<String, TestEntity> {
+
+        private TestStore() {
+            super(String.class, TestEntity.class, "group");
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TestEntity {
+        private String id;
+        private String name;
+        private String group;
+    }
+}
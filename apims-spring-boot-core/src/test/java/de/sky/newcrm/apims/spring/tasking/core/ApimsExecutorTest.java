@@ -6,9 +6,16 @@ package de.sky.newcrm.apims.spring.tasking.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import de.sky.newcrm.apims.spring.environment.core.ApimsMockUtils;
+import de.sky.newcrm.apims.spring.telemetry.mdc.core.ApimsMdc;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
 
 @Slf4j
 class ApimsExecutorTest {
@@ -35,10 +42,87 @@ class ApimsExecutorTest {
         assertNotEquals(0, counter);
     }
 
-    @SuppressWarnings("java:S2925")
+    @Test
+    void executorAwaitReturnsOnCompletionTest() {
+        ApimsExecutor executor = new ApimsExecutor(2);
+        executor.execute(this::doIt);
+        long start = System.currentTimeMillis();
+        long counter = executor.await(10_000, 5_000);
+        assertEquals(0, counter);
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+    }
+
+    @Test
+    void virtualThreadsExecutorTest() {
+        int commands = 20;
+        int maxConcurrency = 3;
+        ApimsExecutor executor =
+                new ApimsExecutor(1, maxConcurrency, 60, -1, false, false, "ApimsVirtualTestThread-", true);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger virtual = new AtomicInteger();
+        AtomicInteger wrappers = new AtomicInteger();
+        executor.setRunnableWrapperFactory(() -> {
+            wrappers.incrementAndGet();
+            return new ApimsRunnableWrapper();
+        });
+        for (int i = 0; i < commands; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+                sleep(50);
+                running.decrementAndGet();
+            });
+        }
+        assertEquals(0, executor.await(10_000, 1_000));
+        assertEquals(commands, virtual.get());
+        assertEquals(commands, wrappers.get());
+        assertTrue(maxRunning.get() <= maxConcurrency, "max running: " + maxRunning.get());
+    }
+
+    @Test
+    void mdcHandoffTest() {
+        ApimsMdc mdc = new ApimsMdc(Map.of("app.name", "test"));
+        ApimsMockUtils.injectField(mdc, "mdcPrefix", "apims.");
+        ApimsMockUtils.injectField(mdc, "globalFieldsMdcPrefix", "global.");
+        ApimsExecutor executor = new ApimsExecutor(1);
+        executor.setApimsMdc(mdc);
+        Map<String, String> values = new ConcurrentHashMap<>();
+        MDC.clear();
+        try {
+            mdc.resetToGlobalFields();
+            mdc.put("customerId", "4711");
+            MDC.put("traceId", "trace-1");
+            executor.execute(() -> {
+                values.put("customerId", String.valueOf(mdc.get("customerId")));
+                values.put("global.app.name", String.valueOf(MDC.get("global.app.name")));
+                values.put("traceId", String.valueOf(MDC.get("traceId")));
+            });
+            mdc.put("customerId", "0815");
+            executor.execute(() -> values.put("nextCustomerId", String.valueOf(mdc.get("customerId"))));
+            assertEquals(0, executor.await(10_000, 1_000));
+        } finally {
+            MDC.clear();
+        }
+        // the apims values of the calling thread at execute, values of other libraries are not handed over
+        assertEquals(
+                Map.of("customerId", "4711", "global.app.name", "test", "traceId", "null", "nextCustomerId", "0815"),
+                values);
+        executor.execute(() -> values.put("afterCustomerId", String.valueOf(mdc.get("customerId"))));
+        assertEquals(0, executor.await(10_000, 1_000));
+        assertEquals("null", values.get("afterCustomerId"));
+    }
+
     private void doIt() {
+        sleep(500);
+    }
+
+    @SuppressWarnings("java:S2925")
+    private void sleep(long millis) {
         try {
-            Thread.sleep(500);
+            Thread.sleep(millis);
         } catch (InterruptedException ignore) {
             // ignore
         }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.tasking.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.sky.newcrm.apims.spring.tasking.core.pool.ApimsResourceLease;
+import de.sky.newcrm.apims.spring.tasking.core.pool.ApimsResourcePoolImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+class PoolMaintenanceTest {
+
+    private static final long CREATION_DELAY_MILLIS = 50;
+
+    @Test
+    void minIdleIsCreatedByMaintainerTest() throws Exception {
+        FakeResourcePool instance = new FakeResourcePool(10, -1, CREATION_DELAY_MILLIS);
+        instance.setMinIdle(3);
+        // the first maintenance runs at once, the next one not within the test
+        instance.setMaintenanceIntervalMillis(60_000);
+        instance.afterPropertiesSet();
+        try {
+            awaitCondition(() -> instance.getIdleCount() == 3);
+            assertEquals(3, instance.created.get());
+
+            // the warm resources are borrowed without a creation on the request path
+            try (ApimsResourceLease<FakeResource> lease = instance.acquire()) {
+                assertNotNull(lease.getResource());
+                assertEquals(1, instance.getActiveCount());
+                assertEquals(2, instance.getIdleCount());
+            }
+            assertEquals(0, instance.getActiveCount());
+            assertEquals(3, instance.created.get());
+        } finally {
+            instance.destroy();
+        }
+        assertEquals(instance.created.get(), instance.disposed.get());
+    }
+
+    @Test
+    void invalidAndExpiredResourcesAreRetiredTest() throws Exception {
+        FakeResourcePool instance = new FakeResourcePool(10, -1, 0);
+        instance.setMinIdle(2);
+        instance.maintain();
+        assertEquals(2, instance.getIdleCount());
+
+        FakeResource first = instance.allocate();
+        FakeResource second = instance.allocate();
+        instance.release(first);
+        instance.release(second);
+        instance.invalidResources.add(first);
+        instance.setValidateOnBorrow(false);
+        instance.maintain();
+        assertEquals(2, instance.getIdleCount());
+        assertEquals(1, instance.disposed.get());
+        assertEquals(3, instance.created.get());
+        assertNotEquals(first, instance.allocate());
+        instance.destroy();
+
+        FakeResourcePool expiringInstance = new FakeResourcePool(10, 1, 0);
+        expiringInstance.setMinIdle(1);
+        expiringInstance.maintain();
+        FakeResource expiring = expiringInstance.allocate();
+        expiringInstance.release(expiring);
+        awaitCondition(() -> {
+            expiringInstance.maintain();
+            return expiringInstance.disposed.get() == 1;
+        });
+        assertEquals(1, expiringInstance.getIdleCount());
+        assertNotEquals(expiring, expiringInstance.allocate());
+        expiringInstance.destroy();
+    }
+
+    @Test
+    void minIdleIsLimitedByMaxAvailableResourcesTest() throws Exception {
+        FakeResourcePool instance = new FakeResourcePool(2, -1, 0);
+        instance.setMinIdle(5);
+        instance.maintain();
+        assertEquals(2, instance.getIdleCount());
+        assertEquals(2, instance.created.get());
+        instance.destroy();
+    }
+
+    @Test
+    void metricsTest() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FakeResourcePool instance = new FakeResourcePool(10, -1, CREATION_DELAY_MILLIS);
+        instance.setPoolName("fake");
+        instance.setMeterRegistry(meterRegistry);
+        instance.afterPropertiesSet();
+
+        ApimsResourceLease<FakeResource> lease = instance.acquire();
+        assertEquals(1, gauge(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_ACTIVE_GAUGE_NAME));
+        assertEquals(0, gauge(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_IDLE_GAUGE_NAME));
+        assertEquals(0, gauge(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_PENDING_GAUGE_NAME));
+        lease.close();
+        assertEquals(0, gauge(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_ACTIVE_GAUGE_NAME));
+        assertEquals(1, gauge(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_IDLE_GAUGE_NAME));
+        instance.acquire().close();
+
+        Timer acquireTimer = timer(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_ACQUIRE_TIMER_NAME);
+        Timer creationTimer = timer(meterRegistry, ApimsResourcePoolImpl.APIMS_RESOURCE_POOL_CREATION_TIMER_NAME);
+        assertEquals(2, acquireTimer.count());
+        assertEquals(1, creationTimer.count());
+        assertTrue(creationTimer.totalTime(TimeUnit.MILLISECONDS) >= CREATION_DELAY_MILLIS);
+        instance.destroy();
+    }
+
+    private static double gauge(SimpleMeterRegistry meterRegistry, String name) {
+        return meterRegistry.get(name).tag("pool", "fake").gauge().value();
+    }
+
+    private static Timer timer(SimpleMeterRegistry meterRegistry, String name) {
+        return meterRegistry.get(name).tag("pool", "fake").timer();
+    }
+
+    @SuppressWarnings("java:S2925")
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "condition not reached");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    static class FakeResourcePool extends ApimsResourcePoolImpl<FakeResource> {
+
+        final long creationDelayMillis;
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger disposed = new AtomicInteger();
+        final Set<FakeResource> invalidResources = ConcurrentHashMap.newKeySet();
+
+        FakeResourcePool(int maxAvailableResources, int maxResourceLifetimeSeconds, long creationDelayMillis) {
+            super(maxAvailableResources, maxResourceLifetimeSeconds);
+            this.creationDelayMillis = creationDelayMillis;
+        }
+
+        @Override
+        @SuppressWarnings("java:S2925")
+        protected FakeResource createResource() {
+            if (creationDelayMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(creationDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new FakeResource(created.incrementAndGet());
+        }
+
+        @Override
+        protected boolean isResourceValid(FakeResource resource) {
+            return !invalidResources.contains(resource);
+        }
+
+        @Override
+        protected void disposeResource(FakeResource resource) {
+            disposed.incrementAndGet();
+        }
+    }
+
+    record FakeResource(int id) {}
+}
@@ -6,10 +6,15 @@ package de.sky.newcrm.apims.spring.tasking.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import de.sky.newcrm.apims.spring.tasking.core.pool.ApimsResourceLease;
 import de.sky.newcrm.apims.spring.tasking.core.pool.ApimsResourcePoolImpl;
 import de.sky.newcrm.apims.spring.utils.FunctionUtils;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class PoolTest {
@@ -21,9 +26,13 @@ class PoolTest {
         instance.afterPropertiesSet();
         TestResource testResource = instance.allocate();
         assertNotNull(testResource);
-        assertEquals(testResource, instance.allocate());
+        TestResource otherResource = instance.allocate();
+        assertNotEquals(testResource, otherResource);
         instance.release(testResource);
+        instance.release(otherResource);
+        assertEquals(1, instance.disposed.get());
         assertEquals(testResource, instance.allocate());
+        instance.release(testResource);
         instance.resourceValid = false;
         assertNotEquals(testResource, instance.allocate());
         instance.destroy();
@@ -35,7 +44,6 @@ class PoolTest {
         instance = new TestResourcePoolImpl(0, -1);
         testResource = instance.allocate();
         assertNotNull(testResource);
-        assertEquals(testResource, instance.allocate());
         instance.release(testResource);
         assertNotEquals(testResource, instance.allocate());
         instance.destroy();
@@ -43,6 +51,7 @@ class PoolTest {
         instance = new TestResourcePoolImpl(1, 1);
         testResource = instance.allocate();
         assertNotNull(testResource);
+        instance.release(testResource);
         assertEquals(testResource, instance.allocate());
         instance.release(testResource);
         TimeUnit.SECONDS.sleep(2);
@@ -66,10 +75,68 @@ class PoolTest {
         instance.destroy();
     }
 
+    @Test
+    void resourceLeaseTest() throws Exception {
+        TestResourcePoolImpl instance = new TestResourcePoolImpl(2, -1);
+        TestResource testResource;
+        try (ApimsResourceLease<TestResource> lease = instance.acquire()) {
+            testResource = lease.getResource();
+            assertNotNull(testResource);
+        }
+        ApimsResourceLease<TestResource> lease = instance.acquire();
+        assertEquals(testResource, lease.getResource());
+        lease.close();
+        lease.close();
+        assertEquals(0, instance.disposed.get());
+        assertEquals(1, instance.created.get());
+
+        lease = instance.acquire();
+        assertEquals(testResource, lease.getResource());
+        lease.invalidate();
+        lease.close();
+        assertEquals(1, instance.disposed.get());
+
+        ApimsResourceLease<TestResource> otherThreadLease = instance.acquire();
+        Thread thread = Thread.ofVirtual().start(otherThreadLease::close);
+        thread.join();
+        assertEquals(otherThreadLease.getResource(), instance.allocate());
+
+        lease = instance.acquire();
+        instance.destroy();
+        assertEquals(3, instance.disposed.get());
+        lease.close();
+        assertEquals(3, instance.disposed.get());
+    }
+
+    @Test
+    void resourcePoolVirtualThreadsTest() throws Exception {
+        final TestResourcePoolImpl instance = new TestResourcePoolImpl(16, -1);
+        final AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                executorService.execute(() -> {
+                    try (ApimsResourceLease<TestResource> lease = instance.acquire()) {
+                        if (!lease.getResource().inUse.compareAndSet(false, true)) {
+                            failures.incrementAndGet();
+                        }
+                        Thread.yield();
+                        lease.getResource().inUse.set(false);
+                    }
+                });
+            }
+        }
+        assertEquals(0, failures.get());
+        assertTrue(instance.created.get() - instance.disposed.get() <= 16);
+        instance.destroy();
+        assertEquals(instance.created.get(), instance.disposed.get());
+    }
+
     static class TestResourcePoolImpl extends ApimsResourcePoolImpl<TestResource> {
 
         boolean resourceValid = true;
         boolean disposeException = false;
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger disposed = new AtomicInteger();
 
         public TestResourcePoolImpl(int maxAvailableResources, int maxResourceLifetimeSeconds) {
             super(maxAvailableResources, maxResourceLifetimeSeconds);
@@ -77,6 +144,7 @@ class PoolTest {
 
         @Override
         protected TestResource createResource() {
+            created.incrementAndGet();
             return new TestResource();
         }
 
@@ -90,12 +158,14 @@ class PoolTest {
             if (disposeException) {
                 throw new IllegalStateException("test");
             }
+            disposed.incrementAndGet();
             resource.close();
         }
     }
 
     static class TestResource {
         private String id = UUID.randomUUID().toString();
+        private final AtomicBoolean inUse = new AtomicBoolean();
 
         void close() {}
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.telemetry.mdc.core;
+
+import de.sky.newcrm.apims.spring.environment.core.ApimsMockUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsMdcTest {
+
+    private ApimsMdc mdc;
+
+    @BeforeEach
+    void setUp() {
+        MDC.clear();
+        mdc = new ApimsMdc(Map.of("app.name", "test", "app.env", "local"));
+        ApimsMockUtils.injectField(mdc, "mdcPrefix", "apims.");
+        ApimsMockUtils.injectField(mdc, "globalFieldsMdcPrefix", "global.");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void resetToGlobalFieldsTest() {
+        MDC.put("traceId", "trace-1");
+        mdc.put("customerId", "4711");
+        mdc.putErrorInfo("hash", "12345");
+
+        mdc.resetToGlobalFields();
+
+        assertEquals("trace-1", MDC.get("traceId"));
+        assertNull(mdc.get("customerId"));
+        assertFalse(mdc.hasError());
+        assertEquals("test", MDC.get("global.app.name"));
+        assertEquals("local", MDC.get("global.app.env"));
+        assertEquals(3, mdc.getCopyOfContextMap().size());
+    }
+
+    @Test
+    void removeAllApimsValuesAndPutGlobalFieldsTest() {
+        MDC.put("traceId", "trace-1");
+        mdc.put("customerId", "4711");
+
+        mdc.removeAllApimsValues();
+        assertEquals(Map.of("traceId", "trace-1"), mdc.getCopyOfContextMap());
+
+        mdc.putGlobalFields();
+        assertEquals(
+                Map.of("traceId", "trace-1", "global.app.name", "test", "global.app.env", "local"),
+                mdc.getCopyOfContextMap());
+
+        // only the values with the apims prefix are removed, the global fields are kept
+        mdc.put("customerId", "4711");
+        mdc.removeAllApimsValues();
+        assertEquals(
+                Map.of("traceId", "trace-1", "global.app.name", "test", "global.app.env", "local"),
+                mdc.getCopyOfContextMap());
+    }
+
+    @Test
+    void snapshotAndRestoreTest() {
+        mdc.resetToGlobalFields();
+        mdc.put("customerId", "4711");
+        MDC.put("traceId", "trace-1");
+
+        ApimsMdcSnapshot snapshot = mdc.snapshot();
+        assertEquals(3, snapshot.size());
+        assertEquals("4711", snapshot.get("apims.customerId"));
+        assertTrue(snapshot.containsKey("global.app.name"));
+        assertFalse(snapshot.containsKey("traceId"));
+
+        MDC.clear();
+        MDC.put("traceId", "trace-2");
+        mdc.put("contractId", "0815");
+        mdc.restore(snapshot);
+
+        assertEquals("trace-2", MDC.get("traceId"));
+        assertEquals("4711", mdc.get("customerId"));
+        assertNull(mdc.get("contractId"));
+        assertEquals("test", MDC.get("global.app.name"));
+
+        mdc.restore(ApimsMdcSnapshot.EMPTY);
+        assertEquals(Map.of("traceId", "trace-2"), mdc.getCopyOfContextMap());
+    }
+
+    @Test
+    void wrapTest() throws Exception {
+        mdc.resetToGlobalFields();
+        mdc.put("customerId", "4711");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the worker has values of a former task which must not leak into the wrapped task
+            executor.submit(() -> mdc.put("customerId", "0815")).get();
+            Runnable task = mdc.wrap(() -> {
+                assertEquals("4711", mdc.get("customerId"));
+                assertEquals("test", MDC.get("global.app.name"));
+            });
+            CompletableFuture.runAsync(task, executor).get();
+            assertEquals("0815", executor.submit(() -> mdc.get("customerId")).get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("4711", mdc.get("customerId"));
+    }
+
+    @Test
+    void clearErrorTest() {
+        mdc.put("customerId", "4711");
+        mdc.putErrorInfo("hash", "12345");
+        mdc.putErrorInfo("exceptionClass", "java.lang.IllegalStateException");
+        assertTrue(mdc.hasError("12345"));
+
+        mdc.clearError();
+
+        assertFalse(mdc.hasError());
+        assertEquals(Map.of("apims.customerId", "4711"), mdc.getApimsMap());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.telemetry.metrics.aspects;
+
+import de.sky.newcrm.apims.spring.aspects.core.around.ApimsAroundContext;
+import de.sky.newcrm.apims.spring.aspects.core.around.ApimsAspectType;
+import de.sky.newcrm.apims.spring.telemetry.metrics.core.ApimsExecutionMeterCache;
+import de.sky.newcrm.apims.spring.telemetry.metrics.core.ApimsMeterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsAroundMetricsListenerTest {
+
+    @Test
+    void meterCacheIsCreatedOnceTest() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TestListener listener = new TestListener(new ApimsMeterRegistry(meterRegistry));
+        ReflectionTestUtils.setField(listener, "meterCacheMaxSize", 10);
+        listener.afterPropertiesSet();
+        ApimsExecutionMeterCache meterCache = listener.getMeterCache();
+        listener.afterPropertiesSet();
+        assertSame(meterCache, listener.getMeterCache());
+
+        call(listener, null);
+        call(listener, null);
+        call(listener, new IllegalStateException("test"));
+
+        // the gauge is bound to the map of the used cache
+        assertEquals(2, meterCache.size());
+        assertEquals(
+                2D,
+                meterRegistry
+                        .get(ApimsExecutionMeterCache.APIMS_EXECUTION_METER_CACHE_SIZE_GAUGE_NAME)
+                        .gauge()
+                        .value());
+        assertEquals(
+                2D,
+                meterRegistry
+                        .get(ApimsMeterRegistry.APIMS_EXECUTION_COUNTER_NAME)
+                        .tag("apims_result", "OK")
+                        .tag("apims_component_method", "TestComponent.execute()")
+                        .counter()
+                        .count());
+        assertEquals(
+                2L,
+                meterRegistry
+                        .get(ApimsMeterRegistry.APIMS_EXECUTION_TIMER_NAME)
+                        .tag("apims_result", "OK")
+                        .timer()
+                        .count());
+        assertEquals(
+                1D,
+                meterRegistry
+                        .get(ApimsMeterRegistry.APIMS_EXECUTION_COUNTER_NAME)
+                        .tag("apims_result", "ERROR")
+                        .tag("apims_result_tag", "IllegalStateException")
+                        .counter()
+                        .count());
+        assertEquals(
+                1D,
+                meterRegistry
+                        .get(ApimsMeterRegistry.APIMS_EXECUTION_ERROR_COUNTER_NAME)
+                        .counter()
+                        .count());
+    }
+
+    private static void call(TestListener listener, Exception resultError) {
+        ApimsAroundContext context = ApimsAroundContext.builder()
+                .type(ApimsAspectType.SERVICE)
+                .declaringType(TestComponent.class)
+                .shortSignature("TestComponent.execute()")
+                .activeCallsCount(1)
+                .build();
+        listener.beforeAroundMethod(context);
+        listener.afterAroundMethod(context, null, resultError);
+    }
+
+    private static class TestComponent {}
+
+    private static class TestListener extends ApimsAroundMetricsListener {
+
+        private TestListener(ApimsMeterRegistry meterRegistry) {
+            super(meterRegistry, Set.of());
+        }
+
+        @Override
+        protected boolean isMetricsActivated(ApimsAroundContext context) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.telemetry.metrics.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsExecutionMeterCacheTest {
+
+    @Test
+    void metersAreCachedPerTagsTest() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApimsExecutionMeterCache instance = new ApimsExecutionMeterCache(new ApimsMeterRegistry(meterRegistry), 10);
+
+        ApimsExecutionMeterCache.ApimsExecutionMeters meters = instance.getMeters(true, createMetric("OK"));
+        assertSame(meters, instance.getMeters(true, createMetric("OK")));
+        assertNotSame(meters, instance.getMeters(false, createMetric("OK")));
+        assertNotSame(meters, instance.getMeters(true, createMetric("NOK")));
+        assertEquals(3, instance.size());
+
+        meters.counter().increment();
+        assertEquals(
+                1D,
+                meterRegistry
+                        .get(ApimsMeterRegistry.APIMS_EXECUTION_COUNTER_NAME)
+                        .tag("apims_result_tag", "OK")
+                        .tag("apims_metric_type", "EXECUTION")
+                        .counter()
+                        .count());
+        assertNotNull(meterRegistry
+                .get(ApimsMeterRegistry.APIMS_EXECUTION_TIMER_NAME)
+                .tag("apims_result_tag", "OK")
+                .timer());
+        assertEquals(
+                3D,
+                meterRegistry
+                        .get(ApimsExecutionMeterCache.APIMS_EXECUTION_METER_CACHE_SIZE_GAUGE_NAME)
+                        .gauge()
+                        .value());
+    }
+
+    @Test
+    void overflowTest() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApimsExecutionMeterCache instance = new ApimsExecutionMeterCache(new ApimsMeterRegistry(meterRegistry), 5);
+        for (int i = 0; i < 100; i++) {
+            instance.getMeters(true, createMetric("ERROR_" + i));
+        }
+        assertEquals(6, instance.size());
+        ApimsExecutionMeterCache.ApimsExecutionMeters overflowMeters =
+                instance.getMeters(true, createMetric("ERROR_100"));
+        assertSame(overflowMeters, instance.getMeters(true, createMetric("ERROR_101")));
+        assertNotNull(meterRegistry
+                .get(ApimsMeterRegistry.APIMS_EXECUTION_COUNTER_NAME)
+                .tag("apims_result_tag", ApimsExecutionMeterCache.OVERFLOW_TAG_VALUE)
+                .counter());
+        assertEquals(
+                97D,
+                meterRegistry
+                        .get(ApimsExecutionMeterCache.APIMS_EXECUTION_METER_CACHE_OVERFLOW_COUNTER_NAME)
+                        .counter()
+                        .count());
+    }
+
+    private static ApimsExecutionMetric createMetric(String resultTag) {
+        return ApimsExecutionMetric.builder()
+                .componentName("TestComponent")
+                .componentFullName("de.sky.TestComponent")
+                .componentType("SERVICE")
+                .componmentMethod("TestComponent.execute()")
+                .metricType("EXECUTION")
+                .resultTag(resultTag)
+                .build();
+    }
+}
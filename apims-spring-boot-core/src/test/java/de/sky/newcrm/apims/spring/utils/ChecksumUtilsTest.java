@@ -9,7 +9,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Objects;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -74,6 +80,78 @@ class ChecksumUtilsTest {
         assertEquals("66c1300b3e9ad80fd7902752214b7cf432dc3fd7d262ec2a9912e45f009fe61f", value);
     }
 
+    @Test
+    void contentDigestTest() throws Exception {
+        for (int size : new int[] {0, 1, 4711, ChecksumUtils.HEAP_BUFFER_SIZE, 3 * 1024 * 1024 + 17}) {
+            byte[] content = new byte[size];
+            new Random(size).nextBytes(content);
+            Path path = Files.createTempFile("apims-checksum-test", ".bin");
+            try {
+                Files.write(path, content);
+                byte[] expected = MessageDigest.getInstance("SHA-512").digest(content);
+                assertArrayEquals(expected, ChecksumUtils.contentDigest(path.toFile()));
+                assertEquals(
+                        HexFormat.of().formatHex(expected),
+                        ChecksumUtils.calculateContentChecksum(path.toFile(), false));
+                assertEquals(
+                        HexFormat.of().formatHex(expected, 0, ChecksumUtils.CHECKSUM_DIGEST_BYTES),
+                        ChecksumUtils.calculateChecksum(path.toFile(), false, false, false, true));
+            } finally {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void parallelContentDigestTest() throws Exception {
+        final int chunkSize = 1024 * 1024;
+        byte[] content = new byte[3 * chunkSize + 4711];
+        new Random(4711).nextBytes(content);
+        Path path = Files.createTempFile("apims-checksum-test", ".bin");
+        try {
+            Files.write(path, content);
+            MessageDigest expected = MessageDigest.getInstance("SHA-512");
+            for (int position = 0; position < content.length; position += chunkSize) {
+                byte[] chunk = Arrays.copyOfRange(content, position, Math.min(content.length, position + chunkSize));
+                expected.update(MessageDigest.getInstance("SHA-512").digest(chunk));
+            }
+            assertArrayEquals(expected.digest(), ChecksumUtils.parallelContentDigest(path.toFile(), chunkSize));
+            assertEquals(128, ChecksumUtils.calculateContentChecksum(path.toFile(), true).length());
+            assertThrows(IllegalStateException.class, () -> ChecksumUtils.parallelContentDigest(path.toFile(), 0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void encodeHexTest() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        assertEquals(HexFormat.of().formatHex(bytes), new String(DigestUtils.encodeHex(bytes)));
+        assertEquals("0001fe", new String(DigestUtils.encodeHex(new byte[] {0, 1, (byte) 0xfe})));
+        assertEquals("01fe", new String(DigestUtils.encodeHex(new byte[] {0, 1, (byte) 0xfe}, 1, 2)));
+        assertEquals(
+                "x01fe",
+                DigestUtils.appendHex(new byte[] {0, 1, (byte) 0xfe}, 1, 2, new StringBuilder("x"))
+                        .toString());
+        assertEquals(128, DigestUtils.sha512DigestAsHex("TESTVALUE".getBytes(StandardCharsets.UTF_8)).length());
+        assertEquals(32, DigestUtils.md5DigestAsHex("TESTVALUE".getBytes(StandardCharsets.UTF_8)).length());
+    }
+
+    @Test
+    void getDigestTest() {
+        MessageDigest digest1 = DigestUtils.getDigest("SHA-512");
+        MessageDigest digest2 = DigestUtils.getDigest("SHA-512");
+        assertNotSame(digest1, digest2);
+        digest1.update((byte) 1);
+        assertArrayEquals(
+                DigestUtils.sha512Digest("TESTVALUE".getBytes(StandardCharsets.UTF_8)),
+                digest2.digest("TESTVALUE".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalStateException.class, () -> DigestUtils.getDigest("UNKNOWN"));
+    }
+
     @Test
     void hmacSha1ByBytesTest() {
         String value = DigestUtils.hmacSha1DigestAsBase64(
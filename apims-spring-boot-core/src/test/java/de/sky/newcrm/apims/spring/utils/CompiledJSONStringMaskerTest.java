@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompiledJSONStringMaskerTest {
+
+    private static final String MASK_VALUE = "___masked_by_test___";
+    private static final List<String> MASK_KEYS =
+            List.of("password", "token", "Token", "pin", "client_secret", "x-forwarded-client-cert");
+    private static final String[] FIELD_NAMES = {
+        "password", "token", "Token", "pin", "pinCode", "apin", "name", "id", "value", "x-forwarded-client-cert"
+    };
+    private static final String[] STRING_PARTS = {
+        "a", "b", "\\\"", "\\\\", "\\n", " ", "  ", "ü", "'", "password", ":", "\\u2028", "\\t"
+    };
+
+    @Test
+    void maskTest() {
+        CompiledJSONStringMasker instance = new CompiledJSONStringMasker(MASK_VALUE, MASK_KEYS);
+        assertNull(instance.mask(null));
+        assertEquals("", instance.mask(""));
+        assertEquals(
+                "{ \"name\": \"test\", \"password\": \"" + MASK_VALUE + "\", \"pin\": \"" + MASK_VALUE + "\" }",
+                instance.mask("{\n  \"name\" : \"test\",\n  \"password\" : \"secret\",\n  \"pin\" : '1234'\n}"));
+        assertEquals(
+                "{ \"token\": \"" + MASK_VALUE + "\", \"value\": \"ab...",
+                instance.mask("{\n  \"token\" : \"a\\\"b\",\n  \"value\" : \"ab..."));
+        assertEquals(
+                "{ \"token\": \"" + MASK_VALUE + "\"...",
+                instance.mask("{\n  \"token\" : \"abcdef..."));
+    }
+
+    @Test
+    void unchangedSourceIsReturnedTest() {
+        CompiledJSONStringMasker instance = new CompiledJSONStringMasker(MASK_VALUE, MASK_KEYS);
+        String source = "{\"name\": \"test\", \"passwordHint\": \"none\"}";
+        assertSame(source, instance.mask(source));
+        String cutted = "{\"name\": \"te...";
+        assertSame(cutted, instance.mask(cutted));
+    }
+
+    @Test
+    void defaultMaskValueTest() {
+        assertEquals(
+                "{\"pin\": \"___masked___\"}",
+                new CompiledJSONStringMasker(null, "pin").mask("{\"pin\": \"1234\"}"));
+    }
+
+    @Test
+    void sameResultAsJSONStringMaskerTest() {
+        CompiledJSONStringMasker instance = new CompiledJSONStringMasker(MASK_VALUE, MASK_KEYS);
+        Random random = new Random(4711);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder buf = new StringBuilder();
+            appendJsonValue(random, buf, 0, "", random.nextBoolean());
+            String source = buf.toString();
+            if (random.nextInt(4) == 0 && source.length() > 3) {
+                source = source.substring(0, random.nextInt(source.length())) + "...";
+            }
+            assertEquals(JSONStringMasker.mask(source, MASK_VALUE, MASK_KEYS), instance.mask(source), source);
+        }
+    }
+
+    private static void appendJsonValue(Random random, StringBuilder buf, int depth, String indent, boolean pretty) {
+        int type = random.nextInt(depth > 3 ? 3 : 6);
+        if (type == 0) {
+            buf.append('"');
+            int parts = random.nextInt(8);
+            for (int i = 0; i < parts; i++) {
+                buf.append(STRING_PARTS[random.nextInt(STRING_PARTS.length)]);
+            }
+            buf.append('"');
+        } else if (type == 1) {
+            buf.append(random.nextInt(1000));
+        } else if (type == 2) {
+            buf.append("null");
+        } else if (type < 5) {
+            buf.append('{');
+            int fields = random.nextInt(4);
+            for (int i = 0; i < fields; i++) {
+                if (i > 0) {
+                    buf.append(',');
+                }
+                if (pretty) {
+                    buf.append('\n').append(indent).append("  ");
+                }
+                buf.append('"')
+                        .append(FIELD_NAMES[random.nextInt(FIELD_NAMES.length)])
+                        .append('"')
+                        .append(pretty ? " : " : ":");
+                appendJsonValue(random, buf, depth + 1, indent + "  ", pretty);
+            }
+            if (pretty && fields > 0) {
+                buf.append('\n').append(indent);
+            }
+            buf.append('}');
+        } else {
+            buf.append('[');
+            int items = random.nextInt(3);
+            for (int i = 0; i < items; i++) {
+                if (i > 0) {
+                    buf.append(',');
+                }
+                if (pretty) {
+                    buf.append('\n').append(indent).append("  ");
+                }
+                appendJsonValue(random, buf, depth + 1, indent + "  ", pretty);
+            }
+            if (pretty && items > 0) {
+                buf.append('\n').append(indent);
+            }
+            buf.append(']');
+        }
+    }
+}
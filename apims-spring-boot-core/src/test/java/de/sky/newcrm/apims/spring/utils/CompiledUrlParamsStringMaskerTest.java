@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompiledUrlParamsStringMaskerTest {
+
+    private static final String MASK_VALUE = "___masked_by_test___";
+    private static final List<String> MASK_KEYS = List.of("password", "client_secret", "pin", "x-api-key");
+    private static final String[] URL_PARTS = {
+        "https://host/path", "?", "&", "=", "==", "password", "client_secret", "pin", "pinCode", "apin",
+        "x-api-key", "name", "4711", "%40", "#frag", "/", "a b", "ü"
+    };
+
+    @Test
+    void maskTest() {
+        CompiledUrlParamsStringMasker instance = new CompiledUrlParamsStringMasker(MASK_VALUE, MASK_KEYS);
+        assertNull(instance.mask(null));
+        assertEquals("", instance.mask(""));
+        assertEquals(
+                "https://host/token?client_id=4711&client_secret=" + MASK_VALUE + "&password=" + MASK_VALUE,
+                instance.mask("https://host/token?client_id=4711&client_secret=abc&password=secret"));
+        assertEquals(
+                "https://host/token?PASSWORD=" + MASK_VALUE + "&Pin=" + MASK_VALUE + "&pinCode=1",
+                instance.mask("https://host/token?PASSWORD=secret&Pin=1234&pinCode=1"));
+        assertEquals(
+                "https://host/token?pin=&password=" + MASK_VALUE + "?pin=" + MASK_VALUE,
+                instance.mask("https://host/token?pin=&password=a=b?pin=1"));
+    }
+
+    @Test
+    void unchangedSourceIsReturnedTest() {
+        CompiledUrlParamsStringMasker instance = new CompiledUrlParamsStringMasker(MASK_VALUE, MASK_KEYS);
+        String withoutParams = "https://host/password=secret";
+        assertSame(withoutParams, instance.mask(withoutParams));
+        String withoutMatch = "https://host/path?name=test&passwordHint=none";
+        assertSame(withoutMatch, instance.mask(withoutMatch));
+        String leadingParam = "password=secret";
+        assertSame(leadingParam, instance.mask(leadingParam));
+        String noKeys = "https://host/path?password=secret";
+        assertSame(noKeys, new CompiledUrlParamsStringMasker(MASK_VALUE, List.of()).mask(noKeys));
+    }
+
+    @Test
+    void defaultMaskValueTest() {
+        assertEquals(
+                "https://host?pin=___masked___",
+                new CompiledUrlParamsStringMasker(null, "pin").mask("https://host?pin=1234"));
+    }
+
+    @Test
+    void sameResultAsUrlParamsStringMaskerTest() {
+        CompiledUrlParamsStringMasker instance = new CompiledUrlParamsStringMasker(MASK_VALUE, MASK_KEYS);
+        Random random = new Random(4711);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder buf = new StringBuilder();
+            int parts = random.nextInt(12);
+            for (int j = 0; j < parts; j++) {
+                buf.append(URL_PARTS[random.nextInt(URL_PARTS.length)]);
+            }
+            String source = buf.toString();
+            assertEquals(UrlParamsStringMasker.mask(source, MASK_VALUE, MASK_KEYS), instance.mask(source), source);
+        }
+    }
+}
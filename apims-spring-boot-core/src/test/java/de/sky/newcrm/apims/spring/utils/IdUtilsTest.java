@@ -6,6 +6,19 @@ package de.sky.newcrm.apims.spring.utils;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 
 class IdUtilsTest {
@@ -18,6 +31,59 @@ class IdUtilsTest {
         assertEquals(16, IdUtils.nextId(false).length());
     }
 
+    @Test
+    void nextUuidV7Test() {
+        long before = System.currentTimeMillis();
+        UUID uuid = IdUtils.nextUuidV7();
+        long after = System.currentTimeMillis();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    void nextUlidTest() {
+        long before = System.currentTimeMillis();
+        String ulid = IdUtils.nextUlid();
+        long after = System.currentTimeMillis();
+        assertEquals(26, ulid.length());
+        assertTrue(ulid.matches("[0-7][0-9A-HJKMNP-TV-Z]{25}"), ulid);
+        long timestamp = IdUtils.getUlidTimestamp(ulid);
+        assertTrue(timestamp >= before && timestamp <= after);
+        assertEquals(timestamp, IdUtils.getUlidTimestamp(ulid.toLowerCase()));
+        assertThrows(IllegalArgumentException.class, () -> IdUtils.getUlidTimestamp(null));
+        assertThrows(IllegalArgumentException.class, () -> IdUtils.getUlidTimestamp("0123"));
+        assertThrows(IllegalArgumentException.class, () -> IdUtils.getUlidTimestamp("U".repeat(26)));
+    }
+
+    @Test
+    void uniqueIdsTest() throws Exception {
+        assertUnique(IdUtils::nextId);
+        assertUnique(() -> IdUtils.nextId(false));
+        assertUnique(() -> IdUtils.nextUuidV7().toString());
+        assertUnique(IdUtils::nextUlid);
+    }
+
+    @Test
+    @SuppressWarnings("java:S2925")
+    void timeOrderedIdsTest() throws Exception {
+        List<String> ids = new ArrayList<>();
+        List<UUID> uuids = new ArrayList<>();
+        List<String> ulids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(IdUtils.nextId());
+            uuids.add(IdUtils.nextUuidV7());
+            ulids.add(IdUtils.nextUlid());
+            TimeUnit.MILLISECONDS.sleep(2);
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+            assertTrue(uuids.get(i - 1).toString().compareTo(uuids.get(i).toString()) < 0);
+            assertTrue(ulids.get(i - 1).compareTo(ulids.get(i)) < 0);
+        }
+    }
+
     @Test
     void removeAndTrimAllWhiteSpacesTest() {
         final String[] removeValues = {"&", "-", "+", "_", ",", ";", "|", "(", ")", "[", "]", " and ", " And "};
@@ -41,6 +107,30 @@ class IdUtilsTest {
         assertEquals(value, dec);
         assertNull(IdUtils.encodeId(null));
         assertNull(IdUtils.decodeId(null));
+        assertEquals("", IdUtils.encodeId(""));
+        assertEquals("", IdUtils.decodeId(""));
+        assertEquals("dGVzdA==", IdUtils.hexToAscii(IdUtils.encodeId("test")));
+        assertEquals("test", IdUtils.decodeId("6447567a64413d3d".toUpperCase()));
+        assertThrows(IllegalArgumentException.class, () -> IdUtils.decodeId("644"));
+        assertThrows(IllegalArgumentException.class, () -> IdUtils.decodeId("64xz"));
+        assertThrows(IllegalArgumentException.class, () -> IdUtils.decodeId("64\u00e9e"));
+    }
+
+    @Test
+    void encodeIdSameResultAsBase64HexTest() {
+        Random random = new Random(4711);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder buf = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                buf.appendCodePoint(random.nextBoolean() ? 32 + random.nextInt(95) : 160 + random.nextInt(20_000));
+            }
+            String value = buf.toString();
+            String expected = IdUtils.asciiToHex(
+                    new String(Base64.getEncoder().encode(value.getBytes(StandardCharsets.UTF_8))));
+            assertEquals(expected, IdUtils.encodeId(value), value);
+            assertEquals(value, IdUtils.decodeId(expected), value);
+        }
     }
 
     @Test
@@ -52,4 +142,27 @@ class IdUtilsTest {
         assertNull(IdUtils.asciiToHex(null));
         assertNull(IdUtils.hexToAscii(null));
     }
+
+    private static void assertUnique(Supplier<String> idSupplier) throws Exception {
+        final int threads = 8;
+        final int idsPerThread = 20_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(idSupplier.get());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(threads * idsPerThread, ids.size());
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+class ThreadSaveConcurrentListTest {
+
+    private static final int THREADS = 8;
+    private static final int ENTRIES_PER_THREAD = 2_000;
+
+    @Test
+    void threadSaveConcurrentListConstructorTest() {
+        assertTrue(new ThreadSaveCopyOnWriteList<>().isEmpty());
+        assertTrue(new ThreadSaveConcurrentDequeList<>().isEmpty());
+        for (ThreadSaveList<TestData> list : createLists(List.of(TestData.builder().build()))) {
+            assertEquals(1, list.size(), name(list));
+        }
+    }
+
+    @Test
+    void copyOnWriteListTest() {
+        threadSaveListTest(new ThreadSaveCopyOnWriteList<>());
+    }
+
+    @Test
+    void concurrentDequeListTest() {
+        threadSaveListTest(new ThreadSaveConcurrentDequeList<>());
+    }
+
+    @Test
+    void getAllIsUnmodifiableSnapshotTest() {
+        for (ThreadSaveList<String> list : createLists(List.of("a", "b"))) {
+            List<String> snapshot = list.getAll();
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.add("c"));
+            list.add("c");
+            list.remove("a");
+            assertEquals(List.of("a", "b"), snapshot, name(list));
+            assertEquals(List.of("b", "c"), list.getAll(), name(list));
+        }
+    }
+
+    @Test
+    void concurrentAddAndReadTest() throws Exception {
+        for (ThreadSaveList<String> list : createLists(List.<String>of())) {
+            ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    final String prefix = "t" + t + "-";
+                    futures.add(executorService.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < ENTRIES_PER_THREAD; i++) {
+                            list.add(prefix + i);
+                            list.add(prefix + "removed-" + i);
+                            assertTrue(list.remove(prefix + "removed-" + i));
+                            assertTrue(list.stream().anyMatch((prefix + i)::equals), name(list));
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executorService.shutdownNow();
+            }
+            assertEquals(THREADS * ENTRIES_PER_THREAD, list.size(), name(list));
+            assertEquals(THREADS * ENTRIES_PER_THREAD, list.getAll().size(), name(list));
+            assertTrue(list.filter(e -> e.contains("removed")).isEmpty(), name(list));
+        }
+    }
+
+    private static <T> List<ThreadSaveList<T>> createLists(List<T> entries) {
+        return List.of(new ThreadSaveCopyOnWriteList<>(entries), new ThreadSaveConcurrentDequeList<>(entries));
+    }
+
+    private static String name(ThreadSaveList<?> list) {
+        return list.getClass().getSimpleName();
+    }
+
+    private static void threadSaveListTest(ThreadSaveList<TestData> list) {
+        assertTrue(list.isEmpty());
+        list.add(TestData.builder().id("id1").name("name1").build());
+        assertEquals(1, list.size());
+        list.addAll(List.of(
+                TestData.builder().id("id2").name("name2").build(),
+                TestData.builder().id("id3").name("name3").build(),
+                TestData.builder().id("id5").name("name5").build(),
+                TestData.builder().id("id4").name("name4").build()));
+        assertEquals(5, list.size());
+        assertEquals(5, list.getAll().size());
+        assertEquals("id1", list.getAll().get(0).getId());
+        assertEquals("id5", list.getAll().get(3).getId());
+        assertEquals("id4", list.getAll().get(4).getId());
+        list.sort(Comparator.comparing(TestData::getId));
+        assertEquals("id1", list.getAll().get(0).getId());
+        assertEquals("id5", list.getAll().get(4).getId());
+        assertEquals(1, list.filter(e -> "id3".equals(e.getId())).size());
+        assertEquals("id3", list.filter(e -> "id3".equals(e.getId())).get(0).getId());
+        list.accept(items -> items.remove(4));
+        assertEquals(4, list.size());
+        list.replace(TestData.builder().id("id1").name("name1").build());
+        assertEquals(4, list.size());
+        assertEquals("id1", list.getAll().get(3).getId());
+        list.replace(TestData.builder().id("id5").name("name5").build());
+        assertEquals(5, list.size());
+        assertFalse(list.remove(TestData.builder().id("id6").name("name6").build()));
+        assertTrue(list.remove(TestData.builder().id("id5").name("name5").build()));
+        assertEquals(4, list.size());
+        list.add(TestData.builder().id("id5").name("name5").build());
+        assertEquals(5, list.size());
+        list.removeAll(List.of(
+                TestData.builder().id("id4").name("name4").build(),
+                TestData.builder().id("id5").name("name5").build()));
+        assertEquals(3, list.size());
+        list.replaceAll(List.of(
+                TestData.builder().id("id2").name("name2").build(),
+                TestData.builder().id("id3").name("name3").build(),
+                TestData.builder().id("id4").name("name4").build(),
+                TestData.builder().id("id5").name("name5").build()));
+        assertEquals(5, list.size());
+        list.retainAll(List.of(
+                TestData.builder().id("id1").name("name1").build(),
+                TestData.builder().id("id2").name("name2").build()));
+        assertEquals(2, list.size());
+        assertFalse(list.removeIf(e -> "id6".equals(e.getId())));
+        assertTrue(list.removeIf(e -> "id2".equals(e.getId())));
+        assertEquals(1, list.size());
+        assertEquals(1, list.stream().toList().size());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertTrue(list.stream().toList().isEmpty());
+        assertFalse(list.addAll(List.of()));
+    }
+
+    @Builder
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    private static class TestData {
+        private String id;
+        private String name;
+    }
+}
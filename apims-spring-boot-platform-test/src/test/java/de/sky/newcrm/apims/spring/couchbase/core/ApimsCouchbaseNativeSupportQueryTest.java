@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.couchbase.core;
+
+import com.couchbase.client.java.Cluster;
+import com.couchbase.client.java.ClusterOptions;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryResult;
+import de.sky.newcrm.apims.spring.couchbase.core.entity.ApimsCouchbaseMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs {@link ApimsCouchbaseNativeSupport#query(String, String, String, String, Object...)} against a stand-in
+ * {@link Cluster} that captures the emitted statement and query options.
+ */
+@SuppressWarnings({"java:S1874"})
+class ApimsCouchbaseNativeSupportQueryTest {
+
+    private static final String BUCKET = "bucket";
+    private static final String SCOPE = "scope";
+    private static final String COLLECTION = "collection";
+
+    private Cluster cluster;
+    private QueryResult queryResult;
+    private ApimsCouchbaseNativeSupport nativeSupport;
+
+    @BeforeEach
+    void setUp() {
+        cluster = mock(Cluster.class);
+        queryResult = mock(QueryResult.class);
+        when(cluster.query(anyString())).thenReturn(queryResult);
+        when(cluster.query(anyString(), any(QueryOptions.class))).thenReturn(queryResult);
+        nativeSupport = new ApimsCouchbaseNativeSupport(new TestContext(new TestEndpoint(cluster)));
+    }
+
+    @Test
+    void placeholdersAreSentAsPositionalParametersTest() {
+        String template = "SELECT * FROM #n1ql.collection_full_name WHERE active = #n1ql.$0 AND age > #n1ql.$1";
+
+        assertSame(queryResult, nativeSupport.query(template, BUCKET, SCOPE, COLLECTION, true, 42));
+        nativeSupport.query(template, BUCKET, SCOPE, COLLECTION, false, 7);
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<QueryOptions> options = ArgumentCaptor.forClass(QueryOptions.class);
+        verify(cluster, times(2)).query(statements.capture(), options.capture());
+        verify(cluster, never()).query(anyString());
+        // both argument sets share one statement, so the query service plans it once
+        String expected = "SELECT * FROM `bucket`.`scope`.`collection` WHERE active = $1 AND age > $2";
+        assertEquals(List.of(expected, expected), statements.getAllValues());
+        assertFalse(options.getAllValues().get(0).build().adhoc());
+        assertEquals("[true,42]", parameters(options.getAllValues().get(0)));
+        assertEquals("[false,7]", parameters(options.getAllValues().get(1)));
+        assertEquals(1, nativeSupport.getStatementCacheSize());
+    }
+
+    @Test
+    void argumentsAreConvertedTest() {
+        nativeSupport.query(
+                "SELECT * FROM #n1ql.collection_name WHERE a = #n1ql.$0 AND b = #n1ql.$1 AND c IN #n1ql.$2"
+                        + " AND d = #n1ql.$3 AND e = #n1ql.$4 AND f = #n1ql.$0",
+                BUCKET,
+                SCOPE,
+                COLLECTION,
+                null,
+                2.5,
+                List.of(1, 2),
+                Map.of("key", "value"),
+                true,
+                "unused");
+
+        ArgumentCaptor<String> statement = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<QueryOptions> options = ArgumentCaptor.forClass(QueryOptions.class);
+        verify(cluster).query(statement.capture(), options.capture());
+        assertEquals(
+                "SELECT * FROM collection WHERE a = $1 AND b = $2 AND c IN $3 AND d = $4 AND e = $5 AND f = $1",
+                statement.getValue());
+        assertEquals("[null,2.5,[1,2],{\"key\":\"value\"},true]", parameters(options.getValue()));
+    }
+
+    @Test
+    void textArgumentsAreInlinedTest() {
+        // unquoted placeholders with text arguments stay text substitutions
+        String template = "SELECT * FROM #n1ql.collection_name WHERE status = #n1ql.$0 AND age > #n1ql.$1";
+        nativeSupport.query(template, BUCKET, SCOPE, COLLECTION, TestState.ACTIVE, "42");
+        nativeSupport.query(
+                "SELECT * FROM #n1ql.collection_name WHERE id IN #n1ql.$0 LIMIT #n1ql.$1",
+                BUCKET,
+                SCOPE,
+                COLLECTION,
+                "['a','b']",
+                "10");
+
+        verify(cluster).query("SELECT * FROM collection WHERE status = ACTIVE AND age > 42");
+        verify(cluster).query("SELECT * FROM collection WHERE id IN ['a','b'] LIMIT 10");
+        verify(cluster, never()).query(anyString(), any(QueryOptions.class));
+    }
+
+    @Test
+    void statementWithoutPlaceholdersIsAdhocTest() {
+        nativeSupport.query("SELECT meta().id id FROM #n1ql.collection_full_name", BUCKET, SCOPE, COLLECTION);
+
+        verify(cluster).query("SELECT meta().id id FROM `bucket`.`scope`.`collection`");
+        verify(cluster, never()).query(anyString(), any(QueryOptions.class));
+    }
+
+    @Test
+    void quotedPlaceholdersAreInlinedTest() {
+        nativeSupport.query(
+                "SELECT `#n1ql.$0` FROM #n1ql.collection_name WHERE name = '#n1ql.$1' AND age > #n1ql.$2",
+                BUCKET,
+                SCOPE,
+                COLLECTION,
+                "name",
+                "it",
+                18);
+        verify(cluster).query("SELECT `name` FROM collection WHERE name = 'it' AND age > 18");
+        verify(cluster, never()).query(anyString(), any(QueryOptions.class));
+
+        // quotes around other text keep the placeholders outside of them parameterized
+        nativeSupport.query(
+                "SELECT * FROM #n1ql.collection_name WHERE name = 'it''s \\' #n1ql' AND age > #n1ql.$0",
+                BUCKET,
+                SCOPE,
+                COLLECTION,
+                18);
+        verify(cluster)
+                .query(
+                        eq("SELECT * FROM collection WHERE name = 'it''s \\' #n1ql' AND age > $1"),
+                        any(QueryOptions.class));
+    }
+
+    @Test
+    void missingArgumentsTest() {
+        String template = "SELECT * FROM #n1ql.collection_name WHERE a = #n1ql.$0 AND b = #n1ql.$1";
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> nativeSupport.query(template, BUCKET, SCOPE, COLLECTION, "a"));
+        verifyNoInteractions(cluster);
+    }
+
+    @Test
+    void repositoryQueriesAreParameterizedTest() {
+        when(queryResult.rowsAsObject()).thenReturn(List.of(JsonObject.create().put("id", "id-1")));
+        TestRepository repository = new TestRepository(nativeSupport);
+
+        assertEquals(List.of("id-1"), repository.findIds("value = #n1ql.$0", 1));
+        List<ApimsCouchbaseMap> entities = repository.findAll("WHERE value = #n1ql.$0", 2);
+        assertEquals("id-1", entities.get(0).getId());
+        repository.findAll("WHERE value = #n1ql.$0", 3);
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<QueryOptions> options = ArgumentCaptor.forClass(QueryOptions.class);
+        verify(cluster, times(3)).query(statements.capture(), options.capture());
+        assertEquals(
+                List.of(
+                        "SELECT meta().id id FROM `bucket`.`scope`.`collection` WHERE value = $1",
+                        "SELECT meta().id id, entity.* FROM `bucket`.`scope`.`collection` entity WHERE value = $1",
+                        "SELECT meta().id id, entity.* FROM `bucket`.`scope`.`collection` entity WHERE value = $1"),
+                statements.getAllValues());
+        assertEquals("[3]", parameters(options.getAllValues().get(2)));
+        assertEquals(2, nativeSupport.getStatementCacheSize());
+    }
+
+    @Test
+    void parameterizeTest() {
+        assertEquals(
+                new ApimsCouchbaseNativeSupport.CompiledStatement(
+                        "SELECT #n1ql.$10, #n1ql.$1", "SELECT $11, $2", 11, false),
+                ApimsCouchbaseNativeSupport.parameterize("SELECT #n1ql.$10, #n1ql.$1"));
+        assertEquals(
+                new ApimsCouchbaseNativeSupport.CompiledStatement(
+                        "SELECT \"#n1ql.$0\"", "SELECT \"#n1ql.$0\"", 0, true),
+                ApimsCouchbaseNativeSupport.parameterize("SELECT \"#n1ql.$0\""));
+        assertEquals(
+                new ApimsCouchbaseNativeSupport.CompiledStatement(
+                        "SELECT #n1ql.$x", "SELECT #n1ql.$x", 0, false),
+                ApimsCouchbaseNativeSupport.parameterize("SELECT #n1ql.$x"));
+    }
+
+    private static String parameters(QueryOptions options) {
+        return String.valueOf(options.build().positionalParameters());
+    }
+
+    private enum TestState {
+        ACTIVE
+    }
+
+    private static class TestEndpoint extends ApimsCouchbaseNativeEndpoint {
+
+        private final Cluster cluster;
+
+        private TestEndpoint(Cluster cluster) {
+            super(null, null, null);
+            this.cluster = cluster;
+        }
+
+        @Override
+        protected Cluster connect(String connectionString, ClusterOptions options) {
+            return cluster;
+        }
+    }
+
+    private static class TestContext extends ApimsCouchbaseContext {
+
+        private final ApimsCouchbaseNativeEndpoint endpoint;
+
+        private TestContext(ApimsCouchbaseNativeEndpoint endpoint) {
+            super(false, null, null, null, null, null, null, null, null, null);
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        protected ApimsCouchbaseNativeEndpoint getApimsCouchbaseNativeEndpoint(String bucketName) {
+            return endpoint;
+        }
+    }
+
+    private static class TestRepository extends ApimsNativeCouchbaseMapRepository {
+
+        private final ApimsCouchbaseNativeSupport nativeSupport;
+
+        private TestRepository(ApimsCouchbaseNativeSupport nativeSupport) {
+            this.nativeSupport = nativeSupport;
+        }
+
+        @Override
+        ApimsCouchbaseNativeSupport getNativeSupport() {
+            return nativeSupport;
+        }
+
+        @Override
+        protected String getBucketName() {
+            return BUCKET;
+        }
+
+        @Override
+        protected String getScopeName() {
+            return SCOPE;
+        }
+
+        @Override
+        protected String getCollectionName() {
+            return COLLECTION;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.couchbase.core;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.core.error.context.ErrorContext;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.ReactiveCollection;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.GetResult;
+import de.sky.newcrm.apims.spring.couchbase.core.entity.ApimsCouchbaseMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs {@link ApimsNativeCouchbaseRepository#findAllById(List, int)} against a stand-in {@link Collection} and
+ * {@link ReactiveCollection}: of the documents {@code id-0} to {@code id-199} every document {@code id-*0} does not
+ * exist ({@link DocumentNotFoundException}) and every document {@code id-*5} has no content. The reactive gets answer
+ * after {@link #LATENCY}, so the gets of one window are in flight at the same time.
+ */
+@SuppressWarnings({"java:S1874"})
+class ApimsNativeCouchbaseRepositoryBulkGetTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(25);
+
+    private final Map<String, GetResult> results = new HashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private Collection collection;
+    private ReactiveCollection reactiveCollection;
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        IntStream.range(0, 200).filter(i -> i % 10 != 0).forEach(i -> {
+            GetResult result = mock(GetResult.class);
+            String content = i % 10 == 5 ? "" : "{\"value\":" + i + "}";
+            when(result.contentAsBytes()).thenReturn(content.getBytes(StandardCharsets.UTF_8));
+            when(result.contentAsObject()).thenAnswer(invocation -> JsonObject.fromJson(content));
+            results.put("id-" + i, result);
+        });
+        collection = mock(Collection.class);
+        reactiveCollection = mock(ReactiveCollection.class);
+        when(collection.reactive()).thenReturn(reactiveCollection);
+        when(collection.get(anyString())).thenAnswer(invocation -> {
+            GetResult result = results.get(invocation.<String>getArgument(0));
+            if (result == null) {
+                throw new DocumentNotFoundException((ErrorContext) null);
+            }
+            return result;
+        });
+        when(reactiveCollection.get(anyString())).thenAnswer(invocation -> Mono.delay(LATENCY)
+                .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                // the get is answered before its result is emitted and the next get of the window is subscribed
+                .doOnNext(tick -> inFlight.decrementAndGet())
+                .flatMap(tick -> get(invocation.getArgument(0))));
+        repository = new TestRepository(collection);
+    }
+
+    @Test
+    void orderAndNotFoundTest() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 199; i >= 0; i--) {
+            ids.add("id-" + i);
+        }
+        ids.add("id-1");
+        List<ApimsCouchbaseMap> result = repository.findAllById(ids, 20);
+        // not existing and empty documents are skipped
+        assertEquals(161, result.size());
+        assertEquals("id-199", result.get(0).getId());
+        assertEquals("id-196", result.get(3).getId());
+        assertEquals("id-194", result.get(4).getId());
+        assertEquals("id-191", result.get(7).getId());
+        assertEquals("id-189", result.get(8).getId());
+        assertEquals("id-1", result.get(159).getId());
+        assertEquals("id-1", result.get(160).getId());
+        assertEquals(1, result.get(160).getDocument().get("value"));
+        verify(reactiveCollection, times(201)).get(anyString());
+        verify(collection, never()).get(anyString());
+
+        // sequential gets
+        assertEquals(ids(result.subList(0, 16)), ids(repository.findAllById(ids.subList(0, 20), 1)));
+        assertTrue(repository.findAllById(List.of(), 20).isEmpty());
+        assertTrue(repository.findAllById(List.of("id-0"), 20).isEmpty());
+        assertTrue(repository.findAllById(List.of("id-5"), 20).isEmpty());
+        verify(collection, times(22)).get(anyString());
+        assertThrows(IllegalStateException.class, () -> repository.findAllById(ids, 0));
+    }
+
+    @Test
+    void concurrencyWindowTest() {
+        List<String> ids = IntStream.range(0, 200).mapToObj(i -> "id-" + i).toList();
+
+        assertEquals(160, repository.findAllById(ids, 50).size());
+        assertEquals(50, maxInFlight.get());
+
+        maxInFlight.set(0);
+        repository.setBulkGetConcurrency(8);
+        assertEquals(32, repository.findAllById(ids.subList(0, 40)).size());
+        assertEquals(8, maxInFlight.get());
+        verify(reactiveCollection, times(240)).get(anyString());
+        assertEquals(0, inFlight.get());
+    }
+
+    private Mono<GetResult> get(String id) {
+        GetResult result = results.get(id);
+        return result == null ? Mono.error(new DocumentNotFoundException((ErrorContext) null)) : Mono.just(result);
+    }
+
+    private static List<String> ids(List<ApimsCouchbaseMap> entities) {
+        return entities.stream().map(ApimsCouchbaseMap::getId).toList();
+    }
+
+    private static class TestRepository extends ApimsNativeCouchbaseMapRepository {
+
+        private final Collection collection;
+
+        private TestRepository(Collection collection) {
+            this.collection = collection;
+        }
+
+        @Override
+        Collection getNativeCollection() {
+            return collection;
+        }
+    }
+}
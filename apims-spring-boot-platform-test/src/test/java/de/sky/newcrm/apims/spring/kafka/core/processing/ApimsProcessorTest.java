@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.kafka.core.processing;
+
+import de.sky.newcrm.apims.spring.exceptions.ApimsBeanValidator;
+import de.sky.newcrm.apims.spring.exceptions.ApimsRuntimeException;
+import de.sky.newcrm.apims.spring.exceptions.InvalidRequestDataBusinessException;
+import de.sky.newcrm.apims.spring.exceptions.NoRetryableException;
+import jakarta.validation.constraints.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static de.sky.newcrm.apims.spring.kafka.core.processing.ApimsProcessingStrategy.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@link ApimsProcessor} with recording handlers: handler selection per processing group and strategy,
+ * routing of the step exceptions to the handler callbacks and the annotation validation of the inbound and the
+ * converted entity.
+ */
+class ApimsProcessorTest {
+
+    private static final String PROCESSING_GROUP = "TEST";
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void processingStrategyTest() {
+        ApimsProcessor processor = new ApimsProcessor(handlers(
+                new TestHandler("third", 3),
+                new TestHandler("first", 1),
+                new TestHandler("unsupported", 0).supports(inbound -> false),
+                new TestHandler("other", 0).group("OTHER"),
+                new TestHandler("second", 2)));
+
+        assertEquals(1, processor.process(PROCESSING_GROUP, new Inbound("1"), PROCESS_FIRST_SUPPORTED_HANDLER_ONLY));
+        assertEquals(
+                List.of("unsupported.supportsInboundData:1", "first.validateInboundData:1", "first.process:1"), calls);
+
+        calls.clear();
+        assertEquals(3, processor.process(PROCESSING_GROUP, new Inbound("2"), PROCESS_ALL_HANDLERS));
+        assertEquals(
+                List.of(
+                        "unsupported.supportsInboundData:2",
+                        "first.validateInboundData:2",
+                        "first.process:2",
+                        "second.validateInboundData:2",
+                        "second.process:2",
+                        "third.validateInboundData:2",
+                        "third.process:2"),
+                calls);
+
+        // group names are matched ignoring case, other groups have no handlers
+        calls.clear();
+        assertEquals(1, processor.process("other", new Inbound("3"), PROCESS_ALL_HANDLERS));
+        assertEquals(0, processor.process(ApimsProcessingGroup.UNKNOWN, new Inbound("4"), PROCESS_ALL_HANDLERS));
+        assertEquals(0, processor.process((String) null, new Inbound("5"), PROCESS_ALL_HANDLERS));
+        assertEquals(List.of("other.validateInboundData:3", "other.process:3"), calls);
+    }
+
+    @Test
+    void unsupportedInboundTypeIsSkippedTest() {
+        ApimsProcessor processor = new ApimsProcessor(handlers(new TestHandler("handler", 0)));
+
+        // supportsInboundData(Inbound) is never invoked with another type, so its bridge method cannot fail the cast
+        assertEquals(0, processor.process(PROCESSING_GROUP, "1", PROCESS_ALL_HANDLERS));
+        assertEquals(0, processor.process(PROCESSING_GROUP, 1L, PROCESS_ALL_HANDLERS));
+        assertTrue(calls.isEmpty());
+        assertEquals(1, processor.process(PROCESSING_GROUP, new Inbound("1"), PROCESS_ALL_HANDLERS));
+        assertEquals(List.of("handler.validateInboundData:1", "handler.process:1"), calls);
+        assertThrows(
+                IllegalArgumentException.class, () -> processor.process(PROCESSING_GROUP, null, PROCESS_ALL_HANDLERS));
+    }
+
+    @Test
+    void exceptionHandlerRoutingTest() {
+        ApimsProcessor processor = new ApimsProcessor(handlers(
+                new TestHandler("inbound", 1).failValidateInboundData(),
+                new TestHandler("processing", 2).failValidateProcessingData(),
+                new TestHandler("process", 3).failProcess(),
+                new TestHandler("ok", 4)));
+
+        // a handled exception continues with the next handler
+        assertEquals(4, processor.process(PROCESSING_GROUP, new Inbound("1"), PROCESS_ALL_HANDLERS));
+        assertEquals(
+                List.of(
+                        "inbound.handleValidateInboundDataException:1:IllegalStateException",
+                        "processing.validateInboundData:1",
+                        "processing.handleValidateProcessingDataException:1:IllegalStateException",
+                        "process.validateInboundData:1",
+                        "process.process:1",
+                        "process.handleProcessException:1:IllegalStateException",
+                        "ok.validateInboundData:1",
+                        "ok.process:1"),
+                calls);
+
+        // a rethrowing exception handler aborts the processing
+        calls.clear();
+        ApimsProcessor rethrowingProcessor = new ApimsProcessor(handlers(
+                new TestHandler("process", 1).failProcess().rethrow(), new TestHandler("ok", 2)));
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> rethrowingProcessor.process(PROCESSING_GROUP, new Inbound("2"), PROCESS_ALL_HANDLERS));
+        assertEquals("process", exception.getMessage());
+        assertEquals(
+                List.of(
+                        "process.validateInboundData:2",
+                        "process.process:2",
+                        "process.handleProcessException:2:IllegalStateException"),
+                calls);
+    }
+
+    @Test
+    void annotationValidationTest() {
+        TestHandler handler = new TestHandler("handler", 0).convert(inbound -> new Converted(inbound.id(), null));
+        ApimsProcessor processor = new ApimsProcessor(handlers(handler));
+
+        // invalid inbound entity: the handler validation is not reached
+        assertEquals(1, processor.process(PROCESSING_GROUP, new Inbound(null), PROCESS_ALL_HANDLERS));
+        // invalid converted entity: the entity is not processed
+        assertEquals(1, processor.process(PROCESSING_GROUP, new Inbound("1"), PROCESS_ALL_HANDLERS));
+        assertEquals(
+                List.of(
+                        "handler.handleValidateInboundDataException:null:InvalidRequestDataBusinessException",
+                        "handler.validateInboundData:1",
+                        "handler.handleValidateProcessingDataException:1:InvalidRequestDataBusinessException"),
+                calls);
+        assertEquals(
+                List.of(Map.of("field", "inputEntity.id", "requires", "NotNull")), errors(handler.exceptions.get(0)));
+        assertEquals(
+                List.of(Map.of("field", "convertedEntity.value", "requires", "NotNull")),
+                errors(handler.exceptions.get(1)));
+    }
+
+    @Test
+    void kafkaConsumerExceptionHandlerTest() {
+        ApimsProcessor processor = new ApimsProcessor(handlers(new TestKafkaConsumerHandler()));
+        String group = ApimsProcessingGroup.KAFKA_CONSUMER.name();
+
+        // invalid inbound data is not retried, an invalid conversion is
+        NoRetryableException noRetryableException = assertThrows(
+                NoRetryableException.class, () -> processor.process(group, new Inbound(null), PROCESS_ALL_HANDLERS));
+        assertInstanceOf(InvalidRequestDataBusinessException.class, noRetryableException.getCause());
+        ApimsRuntimeException runtimeException = assertThrows(
+                ApimsRuntimeException.class, () -> processor.process(group, new Inbound("1"), PROCESS_ALL_HANDLERS));
+        assertInstanceOf(InvalidRequestDataBusinessException.class, runtimeException.getCause());
+        assertEquals(0, processor.process(group, "1", PROCESS_ALL_HANDLERS));
+    }
+
+    private static List<ApimsProcessingHandler<?, ?>> handlers(ApimsProcessingHandler<?, ?>... handlers) {
+        return new ArrayList<>(List.of(handlers));
+    }
+
+    private static List<Map<String, String>> errors(Exception exception) {
+        return assertInstanceOf(InvalidRequestDataBusinessException.class, exception)
+                .getDetail(ApimsBeanValidator.BUSINESS_EXCEPTION_ERRORS_KEY);
+    }
+
+    public record Inbound(@NotNull String id) {}
+
+    public record Converted(@NotNull String id, @NotNull String value) {}
+
+    private class TestHandler extends ApimsProcessingHandler<Inbound, Converted> {
+
+        private final String name;
+        private final int order;
+        private final List<Exception> exceptions = new ArrayList<>();
+        private String processingGroupName = PROCESSING_GROUP;
+        private Predicate<Inbound> supports;
+        private Function<Inbound, Converted> converter = inbound -> new Converted(inbound.id(), "value");
+        private boolean failValidateInboundData;
+        private boolean failValidateProcessingData;
+        private boolean failProcess;
+        private boolean rethrow;
+
+        private TestHandler(String name, int order) {
+            this.name = name;
+            this.order = order;
+        }
+
+        private TestHandler group(String processingGroupName) {
+            this.processingGroupName = processingGroupName;
+            return this;
+        }
+
+        private TestHandler supports(Predicate<Inbound> supports) {
+            this.supports = supports;
+            return this;
+        }
+
+        private TestHandler convert(Function<Inbound, Converted> converter) {
+            this.converter = converter;
+            return this;
+        }
+
+        private TestHandler failValidateInboundData() {
+            this.failValidateInboundData = true;
+            return this;
+        }
+
+        private TestHandler failValidateProcessingData() {
+            this.failValidateProcessingData = true;
+            return this;
+        }
+
+        private TestHandler failProcess() {
+            this.failProcess = true;
+            return this;
+        }
+
+        private TestHandler rethrow() {
+            this.rethrow = true;
+            return this;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public String getProcessingGroupName() {
+            return processingGroupName;
+        }
+
+        @Override
+        public boolean supportsInboundData(Inbound inboundEntity) {
+            if (supports == null) {
+                return true;
+            }
+            calls.add(name + ".supportsInboundData:" + inboundEntity.id());
+            return supports.test(inboundEntity);
+        }
+
+        @Override
+        public Converted convertInboundData(Inbound inboundEntity) {
+            return converter.apply(inboundEntity);
+        }
+
+        @Override
+        public void validateInboundData(Inbound inboundEntity) {
+            if (failValidateInboundData) {
+                throw new IllegalStateException("validateInboundData");
+            }
+            calls.add(name + ".validateInboundData:" + inboundEntity.id());
+        }
+
+        @Override
+        public void handleValidateInboundDataException(Inbound inboundEntity, Exception exception) {
+            record("handleValidateInboundDataException", inboundEntity, exception);
+            if (rethrow) {
+                defaultHandleValidateInboundDataException(inboundEntity, exception);
+            }
+        }
+
+        @Override
+        public void validateProcessingData(Converted processingEntity) {
+            if (failValidateProcessingData) {
+                throw new IllegalStateException("validateProcessingData");
+            }
+        }
+
+        @Override
+        public void handleValidateProcessingDataException(
+                Inbound inboundEntity, Converted processingEntity, Exception exception) {
+            record("handleValidateProcessingDataException", inboundEntity, exception);
+            if (rethrow) {
+                defaultHandleValidateProcessingDataException(inboundEntity, processingEntity, exception);
+            }
+        }
+
+        @Override
+        public void process(Converted processingEntity) {
+            calls.add(name + ".process:" + processingEntity.id());
+            if (failProcess) {
+                throw new IllegalStateException("process");
+            }
+        }
+
+        @Override
+        public void handleProcessException(Inbound inboundEntity, Converted processingEntity, Exception exception) {
+            record("handleProcessException", inboundEntity, exception);
+            if (rethrow) {
+                defaultHandleProcessException(inboundEntity, processingEntity, exception);
+            }
+        }
+
+        private void record(String method, Inbound inboundEntity, Exception exception) {
+            exceptions.add(exception);
+            calls.add(name + "." + method + ":" + inboundEntity.id() + ":"
+                    + exception.getClass().getSimpleName());
+        }
+    }
+
+    private static class TestKafkaConsumerHandler extends ApimsKafkaConsumerHandler<Inbound, Converted> {
+
+        @Override
+        public boolean supportsInboundData(Inbound inboundEntity) {
+            return true;
+        }
+
+        @Override
+        public Converted convertInboundData(Inbound inboundEntity) {
+            return new Converted(inboundEntity.id(), null);
+        }
+
+        @Override
+        public void process(Converted processingEntity) {
+            fail("[Assertion failed] - invalid entities must not be processed");
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.kafka.core.serializers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.sky.newcrm.apims.spring.kafka.core.integration.ApimsKafkaSchemaClientImpl;
+import de.sky.newcrm.apims.spring.serialization.core.mapper.jackson3.ObjectMapperUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static de.sky.newcrm.apims.spring.kafka.core.serializers.ApimsAvroSchemaCache.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@link ApimsAvroSchemaCache} against an in-process stub of the schema registry endpoint
+ * {@code /subjects/{topic}-value/versions/{version}}. The cache clock is simulated, refreshes run on the calling
+ * thread.
+ */
+class ApimsAvroSchemaCacheTest {
+
+    private static final long REFRESH_INTERVAL_MILLIS = 60_000L;
+    private static final String SCHEMA_TEMPLATE =
+            "{\"type\":\"record\",\"name\":\"%s\",\"namespace\":\"test\",\"fields\":[{\"name\":\"id\",\"type\":\"string\"}]}";
+
+    private final Map<String, AtomicInteger> registryCalls = new ConcurrentHashMap<>();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private volatile boolean registryAvailable = true;
+    private volatile String recordName = "Customer";
+    private volatile String blockedPath;
+    private final CountDownLatch blockedRequestReceived = new CountDownLatch(1);
+    private final CountDownLatch blockedRequestRelease = new CountDownLatch(1);
+    private ExecutorService registryExecutor;
+    private HttpServer registry;
+    private MeterRegistry meterRegistry;
+    private ApimsAvroSchemaCache schemaCache;
+    private ApimsAvroRecordProducer producer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        registry.createContext("/subjects/", this::handleRegistryRequest);
+        registryExecutor = Executors.newCachedThreadPool();
+        registry.setExecutor(registryExecutor);
+        registry.start();
+        ApimsKafkaSchemaClientImpl schemaClient = new ApimsKafkaSchemaClientImpl(new RestTemplate());
+        ReflectionTestUtils.setField(
+                schemaClient, "instanceUrl", "http://localhost:" + registry.getAddress().getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        schemaCache = new ApimsAvroSchemaCache(
+                schemaClient, REFRESH_INTERVAL_MILLIS, meterRegistry, Runnable::run, nanoTime::get);
+        producer = new ApimsAvroRecordProducer(schemaClient, schemaCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockedRequestRelease.countDown();
+        registry.stop(0);
+        registryExecutor.shutdownNow();
+    }
+
+    @Test
+    void oneRegistryCallPerTopicAndRefreshIntervalTest() {
+        int intervals = 3;
+        for (int interval = 0; interval < intervals; interval++) {
+            IntStream.range(0, 10_000).parallel().forEach(i -> {
+                String topic = "topic-" + (i % 2);
+                ApimsAvroRecord avroRecord = producer.createRecordForTopic(topic, "{\"id\":\"" + i + "\"}");
+                GenericData.Record genericRecord = (GenericData.Record) avroRecord.getValue();
+                assertEquals(String.valueOf(i), String.valueOf(genericRecord.get("id")));
+            });
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(REFRESH_INTERVAL_MILLIS));
+        }
+        assertEquals(2, registryCalls.size());
+        assertEquals(intervals, registryCalls.get("/subjects/topic-0-value/versions/latest").get());
+        assertEquals(intervals, registryCalls.get("/subjects/topic-1-value/versions/latest").get());
+        assertEquals(2, schemaCache.size());
+        assertEquals(2, count(APIMS_KAFKA_SCHEMA_CACHE_MISS_COUNTER_NAME));
+        assertEquals(2 * (intervals - 1), count(APIMS_KAFKA_SCHEMA_CACHE_REFRESH_COUNTER_NAME));
+        assertEquals(0, count(APIMS_KAFKA_SCHEMA_CACHE_REFRESH_ERROR_COUNTER_NAME));
+        // the requests waiting for the initial load are neither hits nor misses
+        double hits = count(APIMS_KAFKA_SCHEMA_CACHE_HIT_COUNTER_NAME);
+        assertTrue(hits > 29_000 && hits < 30_000, "hits: " + hits);
+    }
+
+    @Test
+    void staleWhileRevalidateTest() {
+        Schema schema = schemaCache.getSchema("topic");
+        assertEquals("Customer", schema.getName());
+        assertSame(schema, schemaCache.getSchema("topic"));
+
+        // unchanged schema, the parsed instance is kept
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(REFRESH_INTERVAL_MILLIS));
+        assertSame(schema, schemaCache.getSchema("topic"));
+        assertSame(schema, schemaCache.getSchema("topic"));
+        assertEquals(2, registryCalls.get("/subjects/topic-value/versions/latest").get());
+
+        // registry down: the cached schema is served, retry after the error retry interval
+        registryAvailable = false;
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(REFRESH_INTERVAL_MILLIS));
+        assertSame(schema, schemaCache.getSchema("topic"));
+        assertSame(schema, schemaCache.getSchema("topic"));
+        assertEquals(3, registryCalls.get("/subjects/topic-value/versions/latest").get());
+        assertEquals(1, count(APIMS_KAFKA_SCHEMA_CACHE_REFRESH_ERROR_COUNTER_NAME));
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(MAX_ERROR_RETRY_INTERVAL_MILLIS));
+        assertSame(schema, schemaCache.getSchema("topic"));
+        assertEquals(4, registryCalls.get("/subjects/topic-value/versions/latest").get());
+        assertEquals(2, count(APIMS_KAFKA_SCHEMA_CACHE_REFRESH_ERROR_COUNTER_NAME));
+
+        // registry back with a changed schema
+        registryAvailable = true;
+        recordName = "Contract";
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(MAX_ERROR_RETRY_INTERVAL_MILLIS));
+        assertSame(schema, schemaCache.getSchema("topic"));
+        assertEquals("Contract", schemaCache.getSchema("topic").getName());
+        assertEquals(5, registryCalls.get("/subjects/topic-value/versions/latest").get());
+    }
+
+    @Test
+    void initialLoadFailureTest() {
+        registryAvailable = false;
+        assertThrows(RuntimeException.class, () -> schemaCache.getSchema("topic"));
+        assertEquals(0, schemaCache.size());
+        registryAvailable = true;
+        assertEquals("Customer", schemaCache.getSchema("topic").getName());
+        schemaCache.invalidate("topic");
+        assertEquals(0, schemaCache.size());
+        schemaCache.getSchema("topic");
+        assertEquals(3, registryCalls.get("/subjects/topic-value/versions/latest").get());
+    }
+
+    @Test
+    void slowInitialLoadDoesNotBlockOtherTopicsTest() throws Exception {
+        blockedPath = "/subjects/slow-value/versions/latest";
+        CompletableFuture<Schema> loading = CompletableFuture.supplyAsync(() -> schemaCache.getSchema("slow"));
+        assertTrue(blockedRequestReceived.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Schema> waiting = CompletableFuture.supplyAsync(() -> schemaCache.getSchema("slow"));
+
+        // the pending load of one topic does not hold a lock the other topics need
+        assertEquals("Customer", schemaCache.getSchema("fast").getName());
+        assertFalse(loading.isDone());
+
+        blockedRequestRelease.countDown();
+        Schema schema = loading.get(10, TimeUnit.SECONDS);
+        assertSame(schema, waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(1, registryCalls.get(blockedPath).get());
+        assertEquals(2, count(APIMS_KAFKA_SCHEMA_CACHE_MISS_COUNTER_NAME));
+    }
+
+    private double count(String counterName) {
+        return meterRegistry.counter(counterName).count();
+    }
+
+    private void handleRegistryRequest(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        registryCalls.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+        if (path.equals(blockedPath)) {
+            blockedRequestReceived.countDown();
+            try {
+                blockedRequestRelease.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body;
+        int status;
+        if (registryAvailable) {
+            String subject = path.substring("/subjects/".length(), path.indexOf("/versions/"));
+            body = ObjectMapperUtils.writeValueAsString(Map.of(
+                            "subject", subject,
+                            "version", 1,
+                            "id", "1",
+                            "schema", SCHEMA_TEMPLATE.formatted(recordName)))
+                    .getBytes(StandardCharsets.UTF_8);
+            status = 200;
+        } else {
+            body = "{\"error_code\":50001}".getBytes(StandardCharsets.UTF_8);
+            status = 500;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.web.core.oauth.validator;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import de.sky.newcrm.apims.spring.web.core.oauth.entity.ApimsConfigKeySourceTypeEnum;
+import de.sky.newcrm.apims.spring.web.core.oauth.entity.ApimsKeySource;
+import de.sky.newcrm.apims.spring.web.core.oauth.exception.ApimsOAuthTokenNotValidException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsAbstractTokenValidatorTest {
+
+    private static final String ISSUER = "https://issuer.test";
+    private static final Set<String> RUNTIME_AUDIENCES = Set.of("api://test");
+
+    private static RSAKey rsaKey;
+    private static RSAKey otherRsaKey;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        rsaKey = new RSAKeyGenerator(2048).keyID("test").generate();
+        otherRsaKey = new RSAKeyGenerator(2048).keyID("other").generate();
+    }
+
+    @Test
+    void validatedTokenCacheTest() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TestTokenValidator validator = new TestTokenValidator(meterRegistry);
+        JWT token = createToken(TimeUnit.HOURS.toMillis(1));
+
+        JWTClaimsSet claimsSet = validator.validate(token, RUNTIME_AUDIENCES);
+        assertEquals("user", claimsSet.getSubject());
+        assertSame(claimsSet, validator.validate(JWTParser.parse(token.getParsedString()), RUNTIME_AUDIENCES));
+        assertEquals(1L, validator.getValidatedTokenCache().stats().hitCount());
+        assertEquals(
+                1L,
+                meterRegistry
+                        .get(ApimsAbstractTokenValidator.APIMS_OAUTH_TOKEN_VERIFICATION_TIMER_NAME)
+                        .timer()
+                        .count());
+        assertEquals(
+                1.0d,
+                meterRegistry
+                        .get("cache.gets")
+                        .tag("cache", ApimsAbstractTokenValidator.APIMS_OAUTH_VALIDATED_TOKEN_CACHE_NAME)
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+
+        // the runtime audiences are part of the cache key
+        assertThrows(ApimsOAuthTokenNotValidException.class, () -> validator.validate(token, Set.of("api://other")));
+    }
+
+    @Test
+    void validatedTokenCacheExpirationTest() throws Exception {
+        TestTokenValidator validator = new TestTokenValidator(null);
+        JWT token = createToken(TimeUnit.SECONDS.toMillis(10));
+        validator.validate(token, RUNTIME_AUDIENCES);
+        Duration expiresAfter = validator
+                .getValidatedTokenCache()
+                .policy()
+                .expireVariably()
+                .orElseThrow()
+                .getExpiresAfter(validator.createValidatedTokenKey(token, RUNTIME_AUDIENCES))
+                .orElseThrow();
+        assertTrue(expiresAfter.compareTo(Duration.ofSeconds(10)) <= 0, "expiresAfter: " + expiresAfter);
+    }
+
+    @Test
+    void validatedTokenCacheDisabledTest() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TestTokenValidator validator = new TestTokenValidator(meterRegistry);
+        validator.setValidatedTokenCache(0L, 100L);
+        JWT token = createToken(TimeUnit.HOURS.toMillis(1));
+        validator.validate(token, RUNTIME_AUDIENCES);
+        validator.validate(token, RUNTIME_AUDIENCES);
+        assertNull(validator.getValidatedTokenCache());
+        assertEquals(
+                2L,
+                meterRegistry
+                        .get(ApimsAbstractTokenValidator.APIMS_OAUTH_TOKEN_VERIFICATION_TIMER_NAME)
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void keySourceChangeTest() throws Exception {
+        TestTokenValidator validator = new TestTokenValidator(null);
+        JWT token = createToken(TimeUnit.HOURS.toMillis(1));
+        JWT otherToken = createToken(otherRsaKey, TimeUnit.HOURS.toMillis(1));
+
+        validator.validate(token, RUNTIME_AUDIENCES);
+        ConfigurableJWTProcessor<SecurityContext> processor = validator.getProzessor(token);
+        assertSame(processor, validator.getProzessor(otherToken));
+        assertEquals(1L, validator.getValidatedTokenCache().estimatedSize());
+        assertThrows(ApimsOAuthTokenNotValidException.class, () -> validator.validate(otherToken, RUNTIME_AUDIENCES));
+
+        // key rotation: the token of the removed key is verified again instead of served from the cache
+        validator.setKeySource(createKeySource(otherRsaKey));
+        ConfigurableJWTProcessor<SecurityContext> rotatedProcessor = validator.getProzessor(otherToken);
+        assertNotSame(processor, rotatedProcessor);
+        assertEquals(0L, validator.getValidatedTokenCache().estimatedSize());
+        assertThrows(ApimsOAuthTokenNotValidException.class, () -> validator.validate(token, RUNTIME_AUDIENCES));
+        assertEquals("user", validator.validate(otherToken, RUNTIME_AUDIENCES).getSubject());
+        assertSame(rotatedProcessor, validator.getProzessor(otherToken));
+        assertEquals(1L, validator.getValidatedTokenCache().estimatedSize());
+    }
+
+    private static JWT createToken(long expirationOffsetMillis) throws Exception {
+        return createToken(rsaKey, expirationOffsetMillis);
+    }
+
+    private static JWT createToken(RSAKey signingKey, long expirationOffsetMillis) throws Exception {
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(ISSUER)
+                        .subject("user")
+                        .audience(List.of("api://test"))
+                        .expirationTime(new Date(System.currentTimeMillis() + expirationOffsetMillis))
+                        .build());
+        signedJWT.sign(new RSASSASigner(signingKey));
+        return JWTParser.parse(signedJWT.serialize());
+    }
+
+    private static ApimsKeySource createKeySource(RSAKey key) {
+        return ApimsKeySource.builder()
+                .keySourceType(ApimsConfigKeySourceTypeEnum.RESOURCE_LOCATION)
+                .jwtSource(new ImmutableJWKSet<>(new JWKSet(key.toPublicJWK())))
+                .build();
+    }
+
+    private static class TestTokenValidator extends ApimsAbstractTokenValidator {
+
+        private TestTokenValidator(SimpleMeterRegistry meterRegistry) {
+            super(Set.of(ISSUER), createKeySource(rsaKey));
+            setExplicitAudienceCheck(true);
+            setMeterRegistry(meterRegistry);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.web.core.rest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ApimsWrappedClientHttpResponseTest {
+
+    private static final int LARGE_BODY_SIZE = 50 * 1024 * 1024;
+    private static final int ERROR_BODY_SIZE = 64 * 1024;
+    private static final int MAX_ERROR_BODY_SIZE = 1024;
+
+    private HttpServer server;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/large", exchange -> sendResponse(exchange, 200, LARGE_BODY_SIZE));
+        server.createContext("/error", exchange -> sendResponse(exchange, 500, ERROR_BODY_SIZE));
+        server.start();
+        restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        restTemplate.setInterceptors(List.of(new ApimsRestClientHttpRequestContentInterceptor(MAX_ERROR_BODY_SIZE)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void largeResponseIsStreamedTest() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < 3; i++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            long size = restTemplate.execute(url("/large"), HttpMethod.GET, null, response -> {
+                assertInstanceOf(ApimsWrappedClientHttpResponse.class, response);
+                assertFalse(((ApimsWrappedClientHttpResponse) response).isBuffered());
+                assertEquals(String.valueOf(LARGE_BODY_SIZE), response.getHeaders().getFirst("Content-Length"));
+                return countBytes(response.getBody());
+            });
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+            assertEquals(LARGE_BODY_SIZE, size);
+            // the body is streamed, the allocations do not depend on its size
+            assertTrue(allocated < LARGE_BODY_SIZE / 10, "a 50 MB response allocated " + allocated + " bytes");
+        }
+    }
+
+    @Test
+    void errorResponseIsBufferedTest() {
+        String url = url("/error");
+        HttpServerErrorException exception =
+                assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(url, String.class));
+
+        assertEquals(500, exception.getStatusCode().value());
+        assertEquals(MAX_ERROR_BODY_SIZE, exception.getResponseBodyAsByteArray().length);
+        assertEquals('x', exception.getResponseBodyAsByteArray()[0]);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static long countBytes(InputStream body) throws IOException {
+        long count = 0;
+        byte[] buffer = new byte[8192];
+        for (int n = body.read(buffer); n >= 0; n = body.read(buffer)) {
+            count += n;
+        }
+        return count;
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, int size) throws IOException {
+        byte[] chunk = new byte[8192];
+        Arrays.fill(chunk, (byte) 'x');
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        exchange.sendResponseHeaders(status, size);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            for (int written = 0; written < size; written += chunk.length) {
+                outputStream.write(chunk, 0, Math.min(chunk.length, size - written));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.web.core.web;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApimsContentCachingWrapperTest {
+
+    private static final String BODY = "{\"customerId\":\"4711\",\"status\":\"active\"}";
+
+    @Test
+    void requestBodyReadAheadIsReplayedTest() throws Exception {
+        ApimsContentCachingRequestWrapper wrapper = new ApimsContentCachingRequestWrapper(createRequest(BODY), 10);
+
+        assertEquals(BODY.substring(0, 10), new String(wrapper.getBody(), StandardCharsets.UTF_8));
+        assertEquals(BODY, StreamUtils.copyToString(wrapper.getInputStream(), StandardCharsets.UTF_8));
+        assertEquals(BODY.substring(0, 10), new String(wrapper.getBody(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.getInputStream().isFinished());
+    }
+
+    @Test
+    void requestBodyCapturedWhileStreamingTest() throws Exception {
+        ApimsContentCachingRequestWrapper wrapper = new ApimsContentCachingRequestWrapper(createRequest(BODY), 1024);
+
+        assertEquals('{', wrapper.getInputStream().read());
+        // the rest is read ahead for the log and replayed to the application
+        assertEquals(BODY, new String(wrapper.getBody(), StandardCharsets.UTF_8));
+        assertEquals(BODY.substring(1), StreamUtils.copyToString(wrapper.getInputStream(), StandardCharsets.UTF_8));
+        assertEquals(-1, wrapper.getInputStream().read());
+    }
+
+    @Test
+    void requestReaderTest() throws Exception {
+        ApimsContentCachingRequestWrapper wrapper = new ApimsContentCachingRequestWrapper(createRequest(BODY), 5);
+
+        assertEquals(5, wrapper.getBody().length);
+        assertEquals(BODY, wrapper.getReader().readLine());
+    }
+
+    @Test
+    void largeRequestBodyIsStreamedTest() throws Exception {
+        long size = 50L * 1024 * 1024;
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("POST", "/upload");
+        HttpServletRequestWrapper request = new HttpServletRequestWrapper(mockRequest) {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(new GeneratedInputStream(size));
+            }
+        };
+        ApimsContentCachingRequestWrapper wrapper = new ApimsContentCachingRequestWrapper(request, 1024);
+
+        byte[] body = wrapper.getBody();
+        long read = 0;
+        byte[] buffer = new byte[8192];
+        ServletInputStream inputStream = wrapper.getInputStream();
+        for (int n = inputStream.read(buffer); n >= 0; n = inputStream.read(buffer)) {
+            read += n;
+        }
+
+        assertEquals(size, read);
+        assertEquals(1024, body.length);
+        assertEquals('a', body[0]);
+        assertEquals('a' + 1023 % 26, body[1023]);
+    }
+
+    @Test
+    void responseBodyTest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ApimsContentCachingResponseWrapper wrapper = new ApimsContentCachingResponseWrapper(response, 10);
+        assertEquals(0, wrapper.getBody().length);
+
+        wrapper.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8), 0, 5);
+        wrapper.getOutputStream().write(BODY.charAt(5));
+        wrapper.getOutputStream().write(BODY.substring(6).getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().flush();
+
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(BODY.substring(0, 10), new String(wrapper.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void filterLogsBoundedPayloadTest() throws Exception {
+        ApimsRequestLoggingFilter filter = new ApimsRequestLoggingFilter();
+        filter.setIncludePayload(true);
+        filter.setMaxPayloadLength(8);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[][] received = new byte[1][];
+        MockFilterChain filterChain = new MockFilterChain((servletRequest, servletResponse) -> {
+            received[0] = StreamUtils.copyToByteArray(servletRequest.getInputStream());
+            servletResponse.getOutputStream().write(received[0]);
+        });
+
+        filter.doFilter(createRequest(BODY), response, filterChain);
+
+        assertEquals(BODY, new String(received[0], StandardCharsets.UTF_8));
+        assertEquals(BODY, response.getContentAsString());
+        assertTrue(filter.createMessage(
+                        new ApimsContentCachingRequestWrapper(createRequest(BODY), 8), null, "[", "]")
+                .endsWith(", payload=" + BODY.substring(0, 8) + "]"));
+    }
+
+    private static MockHttpServletRequest createRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/customers");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static class GeneratedInputStream extends InputStream {
+
+        private final long size;
+        private long position = 0;
+
+        GeneratedInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? 'a' + (int) (position++ % 26) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= size) {
+                return -1;
+            }
+            int length = (int) Math.min(len, size - position);
+            for (int i = 0; i < length; i++) {
+                b[off + i] = (byte) ('a' + (position++ % 26));
+            }
+            return length;
+        }
+    }
+}
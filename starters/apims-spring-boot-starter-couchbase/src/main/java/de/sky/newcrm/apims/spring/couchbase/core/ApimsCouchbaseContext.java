@@ -7,6 +7,7 @@ package de.sky.newcrm.apims.spring.couchbase.core;
 
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.kv.MutateInSpec;
+import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
 import com.couchbase.client.java.query.QueryScanConsistency;
 import java.util.HashMap;
@@ -126,6 +127,10 @@ public class ApimsCouchbaseContext {
         return getApimsCouchbaseNativeEndpoint(bucketName).query(statement);
     }
 
+    public QueryResult query(String bucketName, String statement, QueryOptions options) {
+        return getApimsCouchbaseNativeEndpoint(bucketName).query(statement, options);
+    }
+
     protected String resolveRequiredPlaceholders(String value, String defaultValue) {
         return ApimsSpringContext.resolveRequiredPlaceholders(value, defaultValue);
     }
@@ -19,6 +19,7 @@ import com.couchbase.client.java.ClusterOptions;
 import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInSpec;
+import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
 
 import java.nio.charset.StandardCharsets;
@@ -91,6 +92,10 @@ public class ApimsCouchbaseNativeEndpoint {
         return getCluster().query(statement);
     }
 
+    public QueryResult query(String statement, QueryOptions options) {
+        return getCluster().query(statement, options);
+    }
+
     @ApimsAroundLoggingListenerSuppress(suppressMethodCall = true)
     @SuppressWarnings({"unchecked", "java:S135"})
     @ApimsReportGeneratedHint
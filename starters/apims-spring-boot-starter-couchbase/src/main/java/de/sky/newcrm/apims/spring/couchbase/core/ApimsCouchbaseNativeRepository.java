@@ -36,6 +36,8 @@ public interface ApimsCouchbaseNativeRepository<T extends ApimsEntity> {
 
     List<T> findAllById(List<String> ids);
 
+    List<T> findAllById(List<String> ids, int concurrency);
+
     List<String> findAllIds();
 
     List<String> findIds(String where, Object... arguments);
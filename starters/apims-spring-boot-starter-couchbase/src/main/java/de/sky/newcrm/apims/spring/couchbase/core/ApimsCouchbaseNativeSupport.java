@@ -6,16 +6,22 @@ package de.sky.newcrm.apims.spring.couchbase.core;
 
 
 import com.couchbase.client.java.codec.JsonSerializer;
+import com.couchbase.client.java.json.JsonArray;
+import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.kv.MutateInSpec;
+import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.sky.newcrm.apims.spring.couchbase.core.entity.ApimsMutateInSpec;
 import de.sky.newcrm.apims.spring.environment.core.ApimsReportGeneratedHint;
 import de.sky.newcrm.apims.spring.environment.core.ApimsSpringContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.repository.Repository;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 @Slf4j
@@ -32,6 +38,8 @@ public class ApimsCouchbaseNativeSupport {
     public static final String DEFAULT_SCOPE_NAME = null;
     public static final String DEFAULT_COLLECTION_NAME = DEFAULT_VALUE;
     public static final String NATIVE_QUALIFIED_NAME_PATTERN = "`{0}`.`{1}`.`{2}`";
+    public static final int STATEMENT_CACHE_MAX_SIZE = 1024;
+    private final Map<StatementKey, CompiledStatement> statementCache = new ConcurrentHashMap<>();
     private ApimsCouchbaseContext apimsCouchbaseContext;
 
     public ApimsCouchbaseNativeSupport(ApimsCouchbaseContext apimsCouchbaseContext) {
@@ -123,16 +131,111 @@ public class ApimsCouchbaseNativeSupport {
                 arguments);
     }
 
+    /**
+     * Runs the statement as prepared statement ({@code adhoc=false}): the {@code #n1ql.$<index>} placeholders are
+     * sent as positional parameters {@code $<index + 1>}, so all argument values share one query plan. The compiled
+     * statement is cached per template and keyspace.
+     * <p>
+     * Only JSON values ({@code null}, {@link Number}, {@link Boolean}, {@link JsonObject}, {@link JsonArray},
+     * {@link Map} and {@link List}) are sent as parameters. Any other argument, e.g. a {@link String}, is text of the
+     * statement like {@code LIMIT #n1ql.$0} with {@code "10"} or {@code IN #n1ql.$0} with {@code "['a','b']"}, such a
+     * statement is executed adhoc with the arguments inlined as text. The same applies to statements without
+     * placeholders and to a placeholder within a string literal or an escaped identifier, which can't be a parameter.
+     */
     public QueryResult query(
             String statement, String bucketName, String scopeName, String collectionName, Object... arguments) {
-        if (statement.contains(QUERY_PLACEHOLDER_NATIVE_QUALIFIED_NAME)) {
-            statement = statement.replace(
-                    QUERY_PLACEHOLDER_NATIVE_QUALIFIED_NAME,
-                    nativeQualifiedName(bucketName, scopeName, collectionName));
+        CompiledStatement compiledStatement = compile(statement, bucketName, scopeName, collectionName);
+        if (compiledStatement.inlined()) {
+            return getApimsCouchbaseContext().query(bucketName, inline(compiledStatement.template(), arguments));
         }
-        if (statement.contains(QUERY_PLACEHOLDER_NATIVE_QUALIFIED_SIMPLE_NAME)) {
-            statement = statement.replace(QUERY_PLACEHOLDER_NATIVE_QUALIFIED_SIMPLE_NAME, collectionName);
+        int parameterCount = compiledStatement.parameterCount();
+        Assert.isTrue(
+                parameterCount <= arguments.length,
+                "[Assertion failed] - the statement requires " + parameterCount + " arguments, but got "
+                        + arguments.length);
+        if (parameterCount == 0) {
+            return getApimsCouchbaseContext().query(bucketName, compiledStatement.statement());
         }
+        if (!isParameters(arguments, parameterCount)) {
+            return getApimsCouchbaseContext().query(bucketName, inline(compiledStatement.template(), arguments));
+        }
+        QueryOptions options =
+                QueryOptions.queryOptions().adhoc(false).parameters(toParameters(arguments, parameterCount));
+        return getApimsCouchbaseContext().query(bucketName, compiledStatement.statement(), options);
+    }
+
+    int getStatementCacheSize() {
+        return statementCache.size();
+    }
+
+    protected CompiledStatement compile(String statement, String bucketName, String scopeName, String collectionName) {
+        StatementKey key = new StatementKey(statement, bucketName, scopeName, collectionName);
+        CompiledStatement compiledStatement = statementCache.get(key);
+        if (compiledStatement == null) {
+            if (statement.contains(QUERY_PLACEHOLDER_NATIVE_QUALIFIED_NAME)) {
+                statement = statement.replace(
+                        QUERY_PLACEHOLDER_NATIVE_QUALIFIED_NAME,
+                        nativeQualifiedName(bucketName, scopeName, collectionName));
+            }
+            if (statement.contains(QUERY_PLACEHOLDER_NATIVE_QUALIFIED_SIMPLE_NAME)) {
+                statement = statement.replace(QUERY_PLACEHOLDER_NATIVE_QUALIFIED_SIMPLE_NAME, collectionName);
+            }
+            compiledStatement = parameterize(statement);
+            // statements built from dynamic text must not grow the cache without limit
+            if (statementCache.size() < STATEMENT_CACHE_MAX_SIZE) {
+                statementCache.putIfAbsent(key, compiledStatement);
+            }
+        }
+        return compiledStatement;
+    }
+
+    @SuppressWarnings({"java:S135"})
+    static CompiledStatement parameterize(String statement) {
+        if (!statement.contains(QUERY_PLACEHOLDER_PARAM_SUFFIX)) {
+            return new CompiledStatement(statement, statement, 0, false);
+        }
+        int length = statement.length();
+        StringBuilder sb = new StringBuilder(length);
+        int parameterCount = 0;
+        char quote = 0;
+        int i = 0;
+        while (i < length) {
+            char c = statement.charAt(i);
+            if (quote != 0) {
+                if (statement.startsWith(QUERY_PLACEHOLDER_PARAM_SUFFIX, i)) {
+                    return new CompiledStatement(statement, statement, 0, true);
+                }
+                if (c == '\\' && quote != '`' && i + 1 < length) {
+                    sb.append(c).append(statement.charAt(i + 1));
+                    i += 2;
+                    continue;
+                }
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (statement.startsWith(QUERY_PLACEHOLDER_PARAM_SUFFIX, i)) {
+                int start = i + QUERY_PLACEHOLDER_PARAM_SUFFIX.length();
+                int end = start;
+                while (end < length && statement.charAt(end) >= '0' && statement.charAt(end) <= '9') {
+                    end++;
+                }
+                if (end > start) {
+                    int index = Integer.parseInt(statement, start, end, 10);
+                    sb.append('$').append(index + 1);
+                    parameterCount = Math.max(parameterCount, index + 1);
+                    i = end;
+                    continue;
+                }
+            }
+            sb.append(c);
+            i++;
+        }
+        return new CompiledStatement(statement, sb.toString(), parameterCount, false);
+    }
+
+    protected String inline(String statement, Object... arguments) {
         if (arguments.length != 0) {
             int index = 0;
             for (Object argument : arguments) {
@@ -141,7 +244,39 @@ public class ApimsCouchbaseNativeSupport {
                 index++;
             }
         }
-        return getApimsCouchbaseContext().query(bucketName, statement);
+        return statement;
+    }
+
+    protected boolean isParameters(Object[] arguments, int parameterCount) {
+        for (int i = 0; i < parameterCount; i++) {
+            Object argument = arguments[i];
+            if (!(argument == null
+                    || argument instanceof Number
+                    || argument instanceof Boolean
+                    || argument instanceof JsonObject
+                    || argument instanceof JsonArray
+                    || argument instanceof Map<?, ?>
+                    || argument instanceof List<?>)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected JsonArray toParameters(Object[] arguments, int parameterCount) {
+        JsonArray parameters = JsonArray.create();
+        for (int i = 0; i < parameterCount; i++) {
+            Object argument = arguments[i];
+            if (argument instanceof Map<?, ?> map) {
+                parameters.add(JsonObject.from((Map<String, ?>) map));
+            } else if (argument instanceof List<?> list) {
+                parameters.add(JsonArray.from(list));
+            } else {
+                parameters.add(argument);
+            }
+        }
+        return parameters;
     }
 
     public String toString(ApimsMutateInSpec... specs) {
@@ -151,4 +286,8 @@ public class ApimsCouchbaseNativeSupport {
     protected List<MutateInSpec> translate(ApimsMutateInSpec... specs) {
         return getApimsCouchbaseContext().getApimsCouchbaseMutateInSupport().translate(specs);
     }
+
+    record StatementKey(String statement, String bucketName, String scopeName, String collectionName) {}
+
+    protected record CompiledStatement(String template, String statement, int parameterCount, boolean inlined) {}
 }
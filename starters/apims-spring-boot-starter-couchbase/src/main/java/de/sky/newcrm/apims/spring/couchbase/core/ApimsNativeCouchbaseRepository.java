@@ -8,6 +8,7 @@ package de.sky.newcrm.apims.spring.couchbase.core;
 import com.couchbase.client.core.error.DocumentNotFoundException;
 import com.couchbase.client.core.msg.kv.SubdocMutateRequest;
 import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.ReactiveCollection;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.kv.*;
 import com.couchbase.client.java.query.QueryResult;
@@ -28,6 +29,8 @@ import org.springframework.data.couchbase.core.mapping.Expiry;
 import org.springframework.data.couchbase.repository.Scope;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Deprecated
@@ -48,10 +51,13 @@ public abstract class ApimsNativeCouchbaseRepository<T extends ApimsEntity>
     protected static final String QUERY_PLACEHOLDER_PARAM_5 = QUERY_PLACEHOLDER_PARAM_SUFFIX + "5";
     protected static final String PARAM_NAME_ENTITY = "entity";
     protected static final String PARAM_NAME_ID = "id";
+    public static final int DEFAULT_BULK_GET_CONCURRENCY = 16;
 
     @Autowired
     private ApimsCouchbaseNativeSupport nativeSupport;
 
+    private int bulkGetConcurrency = DEFAULT_BULK_GET_CONCURRENCY;
+
     @Override
     public Optional<T> findById(String id) {
         AssertUtils.hasLengthCheck(PARAM_NAME_ID, id);
@@ -116,15 +122,37 @@ public abstract class ApimsNativeCouchbaseRepository<T extends ApimsEntity>
 
     @Override
     public List<T> findAllById(List<String> ids) {
+        return findAllById(ids, getBulkGetConcurrency());
+    }
+
+    /**
+     * Loads the documents with up to {@code concurrency} KV gets in flight. The result keeps the order of the ids,
+     * not existing documents are skipped.
+     */
+    @Override
+    public List<T> findAllById(List<String> ids, int concurrency) {
         AssertUtils.notNullCheck("ids", ids);
-        List<T> list = new ArrayList<>();
-        for (String id : ids) {
-            T entity = findInternalById(id);
-            if (entity != null) {
-                list.add(entity);
+        Assert.state(concurrency > 0, "[Assertion failed] - 'concurrency' must be greater than 0");
+        if (ids.size() < 2 || concurrency == 1) {
+            List<T> list = new ArrayList<>();
+            for (String id : ids) {
+                T entity = findInternalById(id);
+                if (entity != null) {
+                    list.add(entity);
+                }
             }
+            return list;
         }
-        return list;
+        return findAllInternalById(ids, concurrency);
+    }
+
+    public int getBulkGetConcurrency() {
+        return bulkGetConcurrency;
+    }
+
+    public void setBulkGetConcurrency(int bulkGetConcurrency) {
+        Assert.state(bulkGetConcurrency > 0, "[Assertion failed] - 'bulkGetConcurrency' must be greater than 0");
+        this.bulkGetConcurrency = bulkGetConcurrency;
     }
 
     @Override
@@ -164,17 +192,39 @@ public abstract class ApimsNativeCouchbaseRepository<T extends ApimsEntity>
 
     T findInternalById(String id) {
         try {
-            GetResult result = getNativeCollection().get(id);
-            if (result == null || result.contentAsBytes() == null || result.contentAsBytes().length == 0) {
-                return null;
-            }
-            return translate(id, result);
+            return translateNullable(id, getNativeCollection().get(id));
         } catch (DocumentNotFoundException e) {
             log.trace(e.getMessage());
             return null;
         }
     }
 
+    List<T> findAllInternalById(List<String> ids, int concurrency) {
+        ReactiveCollection collection = getNativeReactiveCollection();
+        // flatMapSequential subscribes up to 'concurrency' gets at once and emits the results in the order of the ids
+        return Flux.fromIterable(ids)
+                .flatMapSequential(id -> findInternalReactiveById(collection, id), concurrency, 1)
+                .collectList()
+                .block();
+    }
+
+    Mono<T> findInternalReactiveById(ReactiveCollection collection, String id) {
+        return collection
+                .get(id)
+                .mapNotNull(result -> translateNullable(id, result))
+                .onErrorResume(DocumentNotFoundException.class, e -> {
+                    log.trace(e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    T translateNullable(String id, GetResult result) {
+        if (result == null || result.contentAsBytes() == null || result.contentAsBytes().length == 0) {
+            return null;
+        }
+        return translate(id, result);
+    }
+
     boolean existsInternal(String id) {
         return getNativeCollection().exists(id).exists();
     }
@@ -304,6 +354,10 @@ public abstract class ApimsNativeCouchbaseRepository<T extends ApimsEntity>
                 .getCollection(getCollectionName());
     }
 
+    ReactiveCollection getNativeReactiveCollection() {
+        return getNativeCollection().reactive();
+    }
+
     protected Duration getExpiryDuration() {
         Expiry annotation = ObjectUtils.findClassAnnotation(getDomainType(), Expiry.class, false); // see @Document
         if (annotation == null) {
@@ -4,9 +4,16 @@
  */
 package de.sky.newcrm.apims.spring.kafka.autoconfigure;
 
+import de.sky.newcrm.apims.spring.kafka.config.ApimsKafkaConfig;
 import de.sky.newcrm.apims.spring.kafka.core.integration.ApimsKafkaSchemaClient;
-import de.sky.newcrm.apims.spring.kafka.core.serializers.ApimsAvroRecordProducer;import de.sky.newcrm.apims.spring.kafka.core.serializers.ApimsKafkaRecordProducer;import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import de.sky.newcrm.apims.spring.kafka.core.serializers.ApimsAvroRecordProducer;
+import de.sky.newcrm.apims.spring.kafka.core.serializers.ApimsAvroSchemaCache;
+import de.sky.newcrm.apims.spring.kafka.core.serializers.ApimsKafkaRecordProducer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,12 +21,22 @@ import java.util.Optional;
 
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnProperty(prefix = "apims.kafka", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties({ApimsKafkaConfig.class})
 public class ApimsKafkaRecordProducerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean()
-    public ApimsAvroRecordProducer apimsAvroRecordProducer(Optional<ApimsKafkaSchemaClient> apimsKafkaSchemaClient) {
-        return new ApimsAvroRecordProducer(apimsKafkaSchemaClient.orElse(null));
+    public ApimsAvroRecordProducer apimsAvroRecordProducer(
+            Optional<ApimsKafkaSchemaClient> apimsKafkaSchemaClient,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ApimsKafkaConfig apimsKafkaConfig) {
+        long schemaCacheRefreshInterval = apimsKafkaConfig.getProducer().getSchemaCacheRefreshInterval();
+        return new ApimsAvroRecordProducer(
+                apimsKafkaSchemaClient.orElse(null),
+                apimsKafkaSchemaClient
+                        .map(client -> new ApimsAvroSchemaCache(
+                                client, schemaCacheRefreshInterval, meterRegistry.getIfAvailable()))
+                        .orElse(null));
     }
 
     @Bean
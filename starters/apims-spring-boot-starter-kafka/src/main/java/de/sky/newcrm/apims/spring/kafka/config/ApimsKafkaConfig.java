@@ -64,6 +64,7 @@ public class ApimsKafkaConfig extends ConditionalEnabled {
         private Map<String, String> topics = new LinkedHashMap<>();
         private Map<String, String> headers = new LinkedHashMap<>();
         private Map<String, String> additionalHeaders = new LinkedHashMap<>();
+        private long schemaCacheRefreshInterval = 300000L;
 
         public void setTopics(Map<String, String> topics) {
             topics.remove(DEFAULT_PLACEHOLDER_VALUE);
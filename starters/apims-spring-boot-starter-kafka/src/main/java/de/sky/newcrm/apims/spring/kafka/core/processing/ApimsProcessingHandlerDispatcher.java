@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.kafka.core.processing;
+
+import de.sky.newcrm.apims.spring.exceptions.ApimsRuntimeException;
+import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Precompiled dispatch table of one {@link ApimsProcessingHandler}.
+ * <p>
+ * The handler methods are resolved once as {@link MethodHandle}s bound to the handler instance, so a record is
+ * dispatched without {@code findMethod}/{@code invokeMethod}. Whether the handler accepts an inbound type (a
+ * {@code supportsInboundData} method with exactly that parameter type) is resolved once per inbound class.
+ */
+@SuppressWarnings({"java:S1181"})
+final class ApimsProcessingHandlerDispatcher {
+
+    private static final MethodHandle SUPPORTS_INBOUND_DATA;
+    private static final MethodHandle VALIDATE_INBOUND_DATA;
+    private static final MethodHandle HANDLE_VALIDATE_INBOUND_DATA_EXCEPTION;
+    private static final MethodHandle CONVERT_INBOUND_DATA;
+    private static final MethodHandle VALIDATE_PROCESSING_DATA;
+    private static final MethodHandle HANDLE_VALIDATE_PROCESSING_DATA_EXCEPTION;
+    private static final MethodHandle PROCESS;
+    private static final MethodHandle HANDLE_PROCESS_EXCEPTION;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> type = ApimsProcessingHandler.class;
+            SUPPORTS_INBOUND_DATA = lookup.findVirtual(
+                    type, "supportsInboundData", MethodType.methodType(boolean.class, Object.class));
+            VALIDATE_INBOUND_DATA =
+                    lookup.findVirtual(type, "validateInboundData", MethodType.methodType(void.class, Object.class));
+            HANDLE_VALIDATE_INBOUND_DATA_EXCEPTION = lookup.findVirtual(
+                    type,
+                    "handleValidateInboundDataException",
+                    MethodType.methodType(void.class, Object.class, Exception.class));
+            CONVERT_INBOUND_DATA =
+                    lookup.findVirtual(type, "convertInboundData", MethodType.methodType(Object.class, Object.class));
+            VALIDATE_PROCESSING_DATA = lookup.findVirtual(
+                    type, "validateProcessingData", MethodType.methodType(void.class, Object.class));
+            HANDLE_VALIDATE_PROCESSING_DATA_EXCEPTION = lookup.findVirtual(
+                    type,
+                    "handleValidateProcessingDataException",
+                    MethodType.methodType(void.class, Object.class, Object.class, Exception.class));
+            PROCESS = lookup.findVirtual(type, "process", MethodType.methodType(void.class, Object.class));
+            HANDLE_PROCESS_EXCEPTION = lookup.findVirtual(
+                    type,
+                    "handleProcessException",
+                    MethodType.methodType(void.class, Object.class, Object.class, Exception.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ApimsRuntimeException(e);
+        }
+    }
+
+    private final ApimsProcessingHandler<?, ?> handler;
+    private final MethodHandle supportsInboundData;
+    private final MethodHandle validateInboundData;
+    private final MethodHandle handleValidateInboundDataException;
+    private final MethodHandle convertInboundData;
+    private final MethodHandle validateProcessingData;
+    private final MethodHandle handleValidateProcessingDataException;
+    private final MethodHandle process;
+    private final MethodHandle handleProcessException;
+    private final ClassValue<Boolean> supportedInboundTypes;
+
+    ApimsProcessingHandlerDispatcher(ApimsProcessingHandler<?, ?> handler) {
+        this.handler = handler;
+        this.supportsInboundData = SUPPORTS_INBOUND_DATA.bindTo(handler);
+        this.validateInboundData = VALIDATE_INBOUND_DATA.bindTo(handler);
+        this.handleValidateInboundDataException = HANDLE_VALIDATE_INBOUND_DATA_EXCEPTION.bindTo(handler);
+        this.convertInboundData = CONVERT_INBOUND_DATA.bindTo(handler);
+        this.validateProcessingData = VALIDATE_PROCESSING_DATA.bindTo(handler);
+        this.handleValidateProcessingDataException = HANDLE_VALIDATE_PROCESSING_DATA_EXCEPTION.bindTo(handler);
+        this.process = PROCESS.bindTo(handler);
+        this.handleProcessException = HANDLE_PROCESS_EXCEPTION.bindTo(handler);
+        final Class<?> handlerClass = handler.getClass();
+        this.supportedInboundTypes = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> inboundType) {
+                return ObjectUtils.findMethod(handlerClass, "supportsInboundData", false, inboundType) != null;
+            }
+        };
+    }
+
+    ApimsProcessingHandler<?, ?> getHandler() {
+        return handler;
+    }
+
+    boolean supportsInboundType(Class<?> inboundType) {
+        return supportedInboundTypes.get(inboundType);
+    }
+
+    boolean supportsInboundData(Object inboundEntity) {
+        try {
+            return (boolean) supportsInboundData.invokeExact(inboundEntity);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void validateInboundData(Object inboundEntity) {
+        try {
+            validateInboundData.invokeExact(inboundEntity);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void handleValidateInboundDataException(Object inboundEntity, Exception exception) {
+        try {
+            handleValidateInboundDataException.invokeExact(inboundEntity, exception);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    Object convertInboundData(Object inboundEntity) {
+        try {
+            return (Object) convertInboundData.invokeExact(inboundEntity);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void validateProcessingData(Object processingEntity) {
+        try {
+            validateProcessingData.invokeExact(processingEntity);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void handleValidateProcessingDataException(Object inboundEntity, Object processingEntity, Exception exception) {
+        try {
+            handleValidateProcessingDataException.invokeExact(inboundEntity, processingEntity, exception);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void process(Object processingEntity) {
+        try {
+            process.invokeExact(processingEntity);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void handleProcessException(Object inboundEntity, Object processingEntity, Exception exception) {
+        try {
+            handleProcessException.invokeExact(inboundEntity, processingEntity, exception);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        // same as the former reflective invocation (ReflectionUtils.rethrowRuntimeException)
+        return new UndeclaredThrowableException(e);
+    }
+}
@@ -4,23 +4,44 @@
  */
 package de.sky.newcrm.apims.spring.kafka.core.processing;
 
+import de.sky.newcrm.apims.spring.exceptions.ApimsBeanValidatorAdapter;
+import de.sky.newcrm.apims.spring.exceptions.ApimsBeanValidatorFactory;
 import de.sky.newcrm.apims.spring.exceptions.InvalidRequestDataBusinessException;
 import de.sky.newcrm.apims.spring.utils.AssertUtils;
-import de.sky.newcrm.apims.spring.utils.ObjectUtils;
+import jakarta.validation.ConstraintViolation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.OrderComparator;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Dispatches inbound entities to the {@link ApimsProcessingHandler}s of a processing group.
+ * <p>
+ * The handlers are resolved once into {@link ApimsProcessingHandlerDispatcher}s and grouped by processing group
+ * name, so processing a record neither filters the handler list nor looks up handler methods reflectively.
+ */
 @Slf4j
 public class ApimsProcessor {
 
-    private final List<ApimsProcessingHandler<?, ?>> handlers;
+    private static final ApimsProcessingHandlerDispatcher[] NO_DISPATCHERS = new ApimsProcessingHandlerDispatcher[0];
+
+    private final ApimsProcessingHandlerDispatcher[] dispatchers;
+    private final Map<String, ApimsProcessingHandlerDispatcher[]> groupDispatchers = new ConcurrentHashMap<>();
+    private final ApimsBeanValidatorAdapter beanValidator;
 
     public ApimsProcessor(List<ApimsProcessingHandler<?, ?>> handlers) {
         handlers.sort(new OrderComparator());
-        this.handlers = handlers;
+        this.dispatchers = handlers.stream()
+                .map(ApimsProcessingHandlerDispatcher::new)
+                .toArray(ApimsProcessingHandlerDispatcher[]::new);
+        for (ApimsProcessingHandlerDispatcher dispatcher : dispatchers) {
+            getGroupDispatchers(dispatcher.getHandler().getProcessingGroupName());
+        }
+        this.beanValidator = ApimsBeanValidatorFactory.getInstance().getValidator();
     }
 
     public int process(ApimsProcessingGroup processingGroup, Object inputEntity) {
@@ -38,75 +59,78 @@ public class ApimsProcessor {
             final String processingGroup, final Object inputEntity, final ApimsProcessingStrategy processingStrategy) {
 
         AssertUtils.notNullCheck("inputEntity", inputEntity);
-        final List<ApimsProcessingHandler<?, ?>> groupHandlers = handlers.stream()
-                .filter(h -> processingGroup.equalsIgnoreCase(h.getProcessingGroupName()))
-                .toList();
+        final Class<?> inputEntityClass = inputEntity.getClass();
+        final boolean firstSupportedHandlerOnly =
+                ApimsProcessingStrategy.PROCESS_FIRST_SUPPORTED_HANDLER_ONLY.equals(processingStrategy);
         int executedHandlerCount = 0;
-        for (ApimsProcessingHandler<?, ?> handler : groupHandlers) {
+        for (ApimsProcessingHandlerDispatcher handler : getGroupDispatchers(processingGroup)) {
 
-            if (executedHandlerCount > 0
-                    && ApimsProcessingStrategy.PROCESS_FIRST_SUPPORTED_HANDLER_ONLY.equals(processingStrategy)) {
+            if (executedHandlerCount > 0 && firstSupportedHandlerOnly) {
                 break;
             }
-            Method supportsInboundData =
-                    ObjectUtils.findMethod(handler.getClass(), "supportsInboundData", inputEntity.getClass());
-            if (supportsInboundData == null) {
+            if (!handler.supportsInboundType(inputEntityClass)) {
                 continue;
             }
-            if (!((boolean) ObjectUtils.invokeMethod(supportsInboundData, handler, inputEntity))) {
+            if (!handler.supportsInboundData(inputEntity)) {
                 log.trace(
                         "processing handler {} dosnt support input entity of type {}. skip.",
-                        handler.getClass(),
-                        inputEntity.getClass());
+                        handler.getHandler().getClass(),
+                        inputEntityClass);
                 continue;
             }
             executedHandlerCount++;
             try {
-                InvalidRequestDataBusinessException.createValidator()
-                        .validateAnnotations("inputEntity", inputEntity)
-                        .throwIfContainsViolations();
-                ObjectUtils.invokeMethod(
-                        ObjectUtils.findMethod(handler.getClass(), "validateInboundData"), handler, inputEntity);
+                validateAnnotations("inputEntity", inputEntity);
+                handler.validateInboundData(inputEntity);
             } catch (Exception e) {
-                ObjectUtils.invokeMethod(
-                        ObjectUtils.findMethod(handler.getClass(), "handleValidateInboundDataException"),
-                        handler,
-                        inputEntity,
-                        e);
+                handler.handleValidateInboundDataException(inputEntity, e);
                 continue;
             }
-            Object entity = ObjectUtils.invokeMethod(
-                    ObjectUtils.findMethod(handler.getClass(), "convertInboundData", inputEntity.getClass()),
-                    handler,
-                    inputEntity);
-            AssertUtils.notNullCheck("convertedEntity", inputEntity);
+            Object entity = handler.convertInboundData(inputEntity);
             try {
-                InvalidRequestDataBusinessException.createValidator()
-                        .validateAnnotations("convertedEntity", entity)
-                        .throwIfContainsViolations();
-                ObjectUtils.invokeMethod(
-                        ObjectUtils.findMethod(handler.getClass(), "validateProcessingData"), handler, entity);
+                validateAnnotations("convertedEntity", entity);
+                handler.validateProcessingData(entity);
             } catch (Exception e) {
-                ObjectUtils.invokeMethod(
-                        ObjectUtils.findMethod(handler.getClass(), "handleValidateProcessingDataException"),
-                        handler,
-                        inputEntity,
-                        entity,
-                        e);
+                handler.handleValidateProcessingDataException(inputEntity, entity, e);
                 continue;
             }
             try {
-                ObjectUtils.invokeMethod(
-                        ObjectUtils.findMethod(handler.getClass(), "process", entity.getClass()), handler, entity);
+                handler.process(entity);
             } catch (Exception e) {
-                ObjectUtils.invokeMethod(
-                        ObjectUtils.findMethod(handler.getClass(), "handleProcessException"),
-                        handler,
-                        inputEntity,
-                        entity,
-                        e);
+                handler.handleProcessException(inputEntity, entity, e);
             }
         }
         return executedHandlerCount;
     }
+
+    private ApimsProcessingHandlerDispatcher[] getGroupDispatchers(String processingGroup) {
+        if (processingGroup == null) {
+            return NO_DISPATCHERS;
+        }
+        return groupDispatchers.computeIfAbsent(processingGroup, name -> {
+            List<ApimsProcessingHandlerDispatcher> list = new ArrayList<>();
+            for (ApimsProcessingHandlerDispatcher dispatcher : dispatchers) {
+                if (name.equalsIgnoreCase(dispatcher.getHandler().getProcessingGroupName())) {
+                    list.add(dispatcher);
+                }
+            }
+            return list.toArray(NO_DISPATCHERS);
+        });
+    }
+
+    private void validateAnnotations(String propertyName, Object value) {
+        if (value == null) {
+            InvalidRequestDataBusinessException.createValidator()
+                    .validateAnnotations(propertyName, null)
+                    .throwIfContainsViolations();
+            return;
+        }
+        // the business exception (and its stack trace) is only created for invalid data
+        Set<ConstraintViolation<Object>> violations = beanValidator.validate(value);
+        if (!violations.isEmpty()) {
+            InvalidRequestDataBusinessException.createValidator()
+                    .register(propertyName, violations)
+                    .throwIfContainsViolations();
+        }
+    }
 }
@@ -9,30 +9,50 @@ import de.sky.newcrm.apims.spring.serialization.core.mapper.legacy.ObjectMapperU
 import de.sky.newcrm.apims.spring.telemetry.logging.core.ApimsAroundLoggingListenerSuppress;
 import de.sky.newcrm.apims.spring.telemetry.metrics.aspects.ApimsAroundMetricsListenerSuppress;
 import de.sky.newcrm.apims.spring.utils.AssertUtils;
-import lombok.RequiredArgsConstructor;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.specific.SpecificRecord;
 import org.apache.avro.specific.SpecificRecordBase;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
 
 import java.nio.charset.StandardCharsets;
 
 @Component
-@RequiredArgsConstructor
 @ApimsAroundMetricsListenerSuppress
 @ApimsAroundLoggingListenerSuppress(suppressMethodCall = true)
 @SuppressWarnings({"java:S6212"})
 public class ApimsAvroRecordProducer {
 
     private final ApimsKafkaSchemaClient apimsKafkaSchemaClient;
+    private final ApimsAvroSchemaCache schemaCache;
+    private final JsonAvroConverter converter;
+
+    @Autowired
+    public ApimsAvroRecordProducer(ApimsKafkaSchemaClient apimsKafkaSchemaClient) {
+        this(
+                apimsKafkaSchemaClient,
+                apimsKafkaSchemaClient == null ? null : new ApimsAvroSchemaCache(apimsKafkaSchemaClient));
+    }
+
+    public ApimsAvroRecordProducer(ApimsKafkaSchemaClient apimsKafkaSchemaClient, ApimsAvroSchemaCache schemaCache) {
+        this.apimsKafkaSchemaClient = apimsKafkaSchemaClient;
+        this.schemaCache = schemaCache;
+        this.converter = new JsonAvroConverter(ObjectMapperUtils.getApimsObjectMapperJson().unwrap());
+    }
 
     public ApimsAvroRecord createRecordForTopic(String topic, String jsonBody) {
-        AssertUtils.notNullCheck("apimsKafkaSchemaClient", apimsKafkaSchemaClient);
+        return createRecordForSchema(getSchemaForTopic(topic), jsonBody);
+    }
+
+    public Schema getSchemaForTopic(String topic) {
         AssertUtils.hasLengthCheck("topic", topic);
-        String schemaValue = apimsKafkaSchemaClient.getSchema(topic).getSchema();
-        return createRecordForSchema(schemaValue, jsonBody);
+        if (schemaCache != null) {
+            return schemaCache.getSchema(topic);
+        }
+        AssertUtils.notNullCheck("apimsKafkaSchemaClient", apimsKafkaSchemaClient);
+        return parseSchema(apimsKafkaSchemaClient.getSchema(topic).getSchema());
     }
 
     public ApimsAvroRecord createRecordForSchema(String schemaValue, String jsonBody) {
@@ -51,17 +71,12 @@ public class ApimsAvroRecordProducer {
         if (jsonBody == null) {
             return null;
         }
-        JsonAvroConverter converter = new JsonAvroConverter(
-                ObjectMapperUtils.getApimsObjectMapperJson().unwrap());
         return converter.convertToGenericDataRecord(jsonBody.getBytes(StandardCharsets.UTF_8), schema);
     }
 
     public <T extends SpecificRecordBase & SpecificRecord> T createSpecificRecordForTopic(
             String topic, Class<T> type, String jsonBody) {
-        AssertUtils.notNullCheck("apimsKafkaSchemaClient", apimsKafkaSchemaClient);
-        AssertUtils.hasLengthCheck("topic", topic);
-        String schemaValue = apimsKafkaSchemaClient.getSchema(topic).getSchema();
-        return createSpecificRecordForSchema(schemaValue, type, jsonBody);
+        return createSpecificRecordForSchema(getSchemaForTopic(topic), type, jsonBody);
     }
 
     public <T extends SpecificRecordBase & SpecificRecord> T createSpecificRecordForSchema(
@@ -82,8 +97,6 @@ public class ApimsAvroRecordProducer {
         if (jsonBody == null) {
             return null;
         }
-        JsonAvroConverter converter = new JsonAvroConverter(
-                ObjectMapperUtils.getApimsObjectMapperJson().unwrap());
         return converter.convertToSpecificRecord(jsonBody.getBytes(StandardCharsets.UTF_8), type, schema);
     }
 
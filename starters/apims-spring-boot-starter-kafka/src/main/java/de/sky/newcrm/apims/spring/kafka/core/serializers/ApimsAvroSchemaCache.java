@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2023-2024 Sky Deutschland Fernsehen GmbH & Co. KG. All rights reserved.
+ * This file and its contents are the sole property of Sky Deutschland Fernsehen GmbH & Co. KG.
+ */
+package de.sky.newcrm.apims.spring.kafka.core.serializers;
+
+import de.sky.newcrm.apims.spring.kafka.core.integration.ApimsKafkaSchemaClient;
+import de.sky.newcrm.apims.spring.utils.AssertUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Per topic cache of the parsed value {@link Schema} of the schema registry.
+ * <p>
+ * The first request of a topic loads the schema synchronously, concurrent requests of the same topic wait for the
+ * pending load of this single registry call. The registry is called outside of any map lock, so a slow registry does
+ * not block the requests of other topics. After {@code refreshIntervalMillis} the next request triggers one reload in
+ * the background and keeps using the cached schema until the reload has finished (refresh-ahead). If the reload fails,
+ * the cached schema is served further and the reload is retried after {@code min(refreshIntervalMillis, 30s)}
+ * (stale-while-revalidate). A reloaded schema that did not change keeps the already parsed instance.
+ */
+@Slf4j
+public class ApimsAvroSchemaCache {
+
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 300_000L;
+    public static final long MAX_ERROR_RETRY_INTERVAL_MILLIS = 30_000L;
+    public static final String APIMS_KAFKA_SCHEMA_CACHE_SIZE_GAUGE_NAME = "apims_kafka_schema_cache_size";
+    public static final String APIMS_KAFKA_SCHEMA_CACHE_HIT_COUNTER_NAME = "apims_kafka_schema_cache_hit";
+    public static final String APIMS_KAFKA_SCHEMA_CACHE_MISS_COUNTER_NAME = "apims_kafka_schema_cache_miss";
+    public static final String APIMS_KAFKA_SCHEMA_CACHE_REFRESH_COUNTER_NAME = "apims_kafka_schema_cache_refresh";
+    public static final String APIMS_KAFKA_SCHEMA_CACHE_REFRESH_ERROR_COUNTER_NAME =
+            "apims_kafka_schema_cache_refresh_error";
+
+    private final ApimsKafkaSchemaClient schemaClient;
+    private final long refreshIntervalNanos;
+    private final long errorRetryIntervalNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+    private final Map<String, CachedSchema> schemas = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedSchema>> pendingLoads = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter refreshCounter;
+    private final Counter refreshErrorCounter;
+
+    public ApimsAvroSchemaCache(ApimsKafkaSchemaClient schemaClient) {
+        this(schemaClient, DEFAULT_REFRESH_INTERVAL_MILLIS, null);
+    }
+
+    public ApimsAvroSchemaCache(
+            ApimsKafkaSchemaClient schemaClient, long refreshIntervalMillis, MeterRegistry meterRegistry) {
+        this(
+                schemaClient,
+                refreshIntervalMillis,
+                meterRegistry,
+                task -> Thread.ofVirtual().name("apims-kafka-schema-refresh").start(task),
+                System::nanoTime);
+    }
+
+    ApimsAvroSchemaCache(
+            ApimsKafkaSchemaClient schemaClient,
+            long refreshIntervalMillis,
+            MeterRegistry meterRegistry,
+            Executor refreshExecutor,
+            LongSupplier nanoClock) {
+        AssertUtils.notNullCheck("schemaClient", schemaClient);
+        this.schemaClient = schemaClient;
+        long refreshMillis = refreshIntervalMillis < 1 ? DEFAULT_REFRESH_INTERVAL_MILLIS : refreshIntervalMillis;
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshMillis);
+        this.errorRetryIntervalNanos =
+                TimeUnit.MILLISECONDS.toNanos(Math.min(refreshMillis, MAX_ERROR_RETRY_INTERVAL_MILLIS));
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+        MeterRegistry registry = meterRegistry == null ? Metrics.globalRegistry : meterRegistry;
+        registry.gaugeMapSize(APIMS_KAFKA_SCHEMA_CACHE_SIZE_GAUGE_NAME, List.of(), schemas);
+        this.hitCounter = registry.counter(APIMS_KAFKA_SCHEMA_CACHE_HIT_COUNTER_NAME);
+        this.missCounter = registry.counter(APIMS_KAFKA_SCHEMA_CACHE_MISS_COUNTER_NAME);
+        this.refreshCounter = registry.counter(APIMS_KAFKA_SCHEMA_CACHE_REFRESH_COUNTER_NAME);
+        this.refreshErrorCounter = registry.counter(APIMS_KAFKA_SCHEMA_CACHE_REFRESH_ERROR_COUNTER_NAME);
+    }
+
+    public Schema getSchema(String topic) {
+        AssertUtils.hasLengthCheck("topic", topic);
+        CachedSchema cachedSchema = schemas.get(topic);
+        if (cachedSchema == null) {
+            return load(topic).schema();
+        }
+        hitCounter.increment();
+        if (nanoClock.getAsLong() - cachedSchema.nextRefresh() >= 0
+                && cachedSchema.refreshing().compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> refresh(topic, cachedSchema));
+        }
+        return cachedSchema.schema();
+    }
+
+    public void invalidate(String topic) {
+        schemas.remove(topic);
+    }
+
+    public void invalidateAll() {
+        schemas.clear();
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    protected String loadSchemaValue(String topic) {
+        String schemaValue = schemaClient.getSchema(topic).getSchema();
+        AssertUtils.hasLengthCheck("schemaValue", schemaValue);
+        return schemaValue;
+    }
+
+    protected Schema parseSchema(String schemaValue) {
+        return new Schema.Parser().parse(schemaValue);
+    }
+
+    @SuppressWarnings("java:S1181")
+    private CachedSchema load(String topic) {
+        CompletableFuture<CachedSchema> load = new CompletableFuture<>();
+        CompletableFuture<CachedSchema> pendingLoad = pendingLoads.putIfAbsent(topic, load);
+        if (pendingLoad != null) {
+            return await(pendingLoad);
+        }
+        try {
+            // a load of this topic may have finished between the cache lookup and the registration of this one
+            CachedSchema cachedSchema = schemas.get(topic);
+            if (cachedSchema == null) {
+                missCounter.increment();
+                String schemaValue = loadSchemaValue(topic);
+                cachedSchema = createCachedSchema(
+                        schemaValue, parseSchema(schemaValue), nanoClock.getAsLong() + refreshIntervalNanos);
+                schemas.put(topic, cachedSchema);
+            }
+            load.complete(cachedSchema);
+            return cachedSchema;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLoads.remove(topic, load);
+        }
+    }
+
+    private static CachedSchema await(CompletableFuture<CachedSchema> pendingLoad) {
+        try {
+            return pendingLoad.join();
+        } catch (CompletionException e) {
+            // the waiting requests fail like the loading one
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void refresh(String topic, CachedSchema cachedSchema) {
+        refreshCounter.increment();
+        CachedSchema refreshedSchema;
+        try {
+            String schemaValue = loadSchemaValue(topic);
+            Schema schema =
+                    schemaValue.equals(cachedSchema.schemaValue()) ? cachedSchema.schema() : parseSchema(schemaValue);
+            refreshedSchema = createCachedSchema(schemaValue, schema, nanoClock.getAsLong() + refreshIntervalNanos);
+        } catch (RuntimeException e) {
+            refreshErrorCounter.increment();
+            log.warn("refresh of the schema of topic {} failed, keep the cached schema: {}", topic, e.getMessage());
+            refreshedSchema = createCachedSchema(
+                    cachedSchema.schemaValue(),
+                    cachedSchema.schema(),
+                    nanoClock.getAsLong() + errorRetryIntervalNanos);
+        }
+        // no-op, if the topic was invalidated in the meantime
+        schemas.replace(topic, cachedSchema, refreshedSchema);
+    }
+
+    private static CachedSchema createCachedSchema(String schemaValue, Schema schema, long nextRefresh) {
+        return new CachedSchema(schemaValue, schema, nextRefresh, new AtomicBoolean());
+    }
+
+    private record CachedSchema(String schemaValue, Schema schema, long nextRefresh, AtomicBoolean refreshing) {}
+}
@@ -110,7 +110,7 @@ public class ApimsRestAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ApimsRestClientHttpRequestContentInterceptor apimsRestClientHttpRequestContentInterceptor() {
-        return new ApimsRestClientHttpRequestContentInterceptor();
+        return new ApimsRestClientHttpRequestContentInterceptor(apimsRestConfig.getMaxErrorBodySize());
     }
     // TODO: Testing
 //    @Bean
@@ -1,6 +1,7 @@
 package de.sky.newcrm.apims.spring.web.config;
 
 import de.sky.newcrm.apims.spring.environment.config.ConditionalEnabled;
+import de.sky.newcrm.apims.spring.web.core.rest.ApimsWrappedClientHttpResponse;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -21,6 +22,7 @@ public class ApimsRestConfig extends ConditionalEnabled {
         private boolean autoValidateResponse = false;
         private boolean preventDoubleEncoding = false;
         private int reportNotHandledHttpErrorsAsStatusCode = -1;
+        private int maxErrorBodySize = ApimsWrappedClientHttpResponse.DEFAULT_MAX_ERROR_BODY_SIZE;
         private Map<String, String> headers = new LinkedHashMap<>();
         private Map<String, String> additionalHeaders = new LinkedHashMap<>();
 
@@ -4,10 +4,14 @@
  */
 package de.sky.newcrm.apims.spring.web.core.oauth.validator;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nimbusds.jose.Header;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.BadJOSEException;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
@@ -16,31 +20,66 @@ import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.*;
 import de.sky.newcrm.apims.spring.utils.DateTimeUtc;
+import de.sky.newcrm.apims.spring.utils.DigestUtils;
 import de.sky.newcrm.apims.spring.web.core.oauth.entity.ApimsConfigKeySourceTypeEnum;
 import de.sky.newcrm.apims.spring.web.core.oauth.entity.ApimsKeySource;
 import de.sky.newcrm.apims.spring.web.core.oauth.exception.ApimsOAuthTokenNotValidException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Base class of the JWT validators.
+ * <p>
+ * The {@link ConfigurableJWTProcessor} is built once per JWS algorithm and key source (a refreshed key source gets a
+ * new processor); the runtime audiences are passed to the claims verifier by the {@link RuntimeAudiencesContext}.
+ * Successfully verified tokens are kept in a bounded cache (token hash and runtime audiences -> claims), whose entries
+ * expire at {@code min(exp, validatedTokenCacheTtlSeconds)}, so the same bearer token is not verified on every request
+ * of a session. A ttl below 1 disables the cache. A changed key source invalidates the cache, so tokens signed with a
+ * removed key are rejected right after the refresh.
+ */
 public abstract class ApimsAbstractTokenValidator implements ApimsTokenValidator {
 
+    public static final long DEFAULT_VALIDATED_TOKEN_CACHE_TTL_SECONDS = 300L;
+    public static final long DEFAULT_VALIDATED_TOKEN_CACHE_MAX_SIZE = 10_000L;
+    public static final String APIMS_OAUTH_VALIDATED_TOKEN_CACHE_NAME = "apims_oauth_validated_token_cache";
+    public static final String APIMS_OAUTH_TOKEN_VERIFICATION_TIMER_NAME = "apims_oauth_token_verification";
     private static final long DEFAULT_KEY_SOURCE_INVALIDATION_TIMEOUT_SECONDS = 60L * 60L * 12L;
+    private static final String TOKEN_HASH_ALGORITHM = "SHA-256";
     private final Set<String> issuers = new HashSet<>();
     private ApimsKeySource keySource;
     private boolean explicitAudienceCheck;
     private final Set<String> validAudiences = new HashSet<>();
     private boolean validateExpirationTime;
+    private long validatedTokenCacheTtlSeconds = DEFAULT_VALIDATED_TOKEN_CACHE_TTL_SECONDS;
+    private long validatedTokenCacheMaxSize = DEFAULT_VALIDATED_TOKEN_CACHE_MAX_SIZE;
+    private final Map<JWSAlgorithm, CachedProcessor> processors = new ConcurrentHashMap<>();
+    private volatile JWKSource<SecurityContext> processorsJwtSource;
+    private volatile Cache<ValidatedTokenKey, JWTClaimsSet> validatedTokenCache;
+    private volatile Timer verificationTimer;
 
     @Autowired
     @Getter
     private ApimsTokenKeySourceLoader tokenKeySourceLoader;
 
+    @Autowired(required = false)
+    @Getter
+    @Setter
+    private MeterRegistry meterRegistry;
+
     protected ApimsAbstractTokenValidator() {
         this(new HashSet<>(), null);
     }
@@ -96,6 +135,20 @@ public abstract class ApimsAbstractTokenValidator implements ApimsTokenValidator
         this.validateExpirationTime = validateExpirationTime;
     }
 
+    protected long getValidatedTokenCacheTtlSeconds() {
+        return validatedTokenCacheTtlSeconds;
+    }
+
+    protected long getValidatedTokenCacheMaxSize() {
+        return validatedTokenCacheMaxSize;
+    }
+
+    protected synchronized void setValidatedTokenCache(long ttlSeconds, long maxSize) {
+        this.validatedTokenCacheTtlSeconds = ttlSeconds;
+        this.validatedTokenCacheMaxSize = maxSize < 1 ? DEFAULT_VALIDATED_TOKEN_CACHE_MAX_SIZE : maxSize;
+        this.validatedTokenCache = null;
+    }
+
     protected String getIssuer(JWT token) {
         if (token == null) {
             return null;
@@ -136,10 +189,23 @@ public abstract class ApimsAbstractTokenValidator implements ApimsTokenValidator
         try {
             jwtClaimsSet = token.getJWTClaimsSet();
             validateExpirationTime(jwtClaimsSet);
-            final ConfigurableJWTProcessor<SecurityContext> validator = createProzessor(token, runtimeAudiences);
+            final ConfigurableJWTProcessor<SecurityContext> validator = getProzessor(token);
             if (validator != null) {
-                jwtClaimsSet = validator.process(token, null);
-                validator.getJWTClaimsSetVerifier().verify(jwtClaimsSet, null);
+                final Cache<ValidatedTokenKey, JWTClaimsSet> cache = getValidatedTokenCache();
+                final ValidatedTokenKey cacheKey = cache == null ? null : createValidatedTokenKey(token, runtimeAudiences);
+                final JWTClaimsSet cachedClaimsSet = cacheKey == null ? null : cache.getIfPresent(cacheKey);
+                if (cachedClaimsSet != null) {
+                    return cachedClaimsSet;
+                }
+                final long start = System.nanoTime();
+                try {
+                    jwtClaimsSet = validator.process(token, new RuntimeAudiencesContext(runtimeAudiences));
+                } finally {
+                    recordVerification(System.nanoTime() - start);
+                }
+                if (cacheKey != null) {
+                    cache.put(cacheKey, jwtClaimsSet);
+                }
             }
         } catch (ParseException | BadJOSEException | JOSEException e) {
             throw new ApimsOAuthTokenNotValidException(e);
@@ -156,12 +222,47 @@ public abstract class ApimsAbstractTokenValidator implements ApimsTokenValidator
         }
     }
 
-    protected ConfigurableJWTProcessor<SecurityContext> createProzessor(JWT token, final Set<String> runtimeAudiences) {
+    protected ConfigurableJWTProcessor<SecurityContext> getProzessor(JWT token) {
+        final ApimsKeySource ks = getKeySource();
+        if (ks == null || ks.getJwtSource() == null) {
+            return null;
+        }
+        final JWSAlgorithm jwsAlgorithm = (JWSAlgorithm) token.getHeader().getAlgorithm();
+        final JWKSource<SecurityContext> jwtSource = ks.getJwtSource();
+        if (processorsJwtSource != jwtSource) {
+            onJwtSourceChanged(jwtSource);
+        }
+        CachedProcessor cachedProcessor = processors.get(jwsAlgorithm);
+        if (cachedProcessor == null || cachedProcessor.jwtSource() != jwtSource) {
+            final ConfigurableJWTProcessor<SecurityContext> processor = createProzessor(token);
+            if (processor == null) {
+                return null;
+            }
+            cachedProcessor = new CachedProcessor(jwtSource, processor);
+            processors.put(jwsAlgorithm, cachedProcessor);
+        }
+        return cachedProcessor.processor();
+    }
+
+    protected synchronized void onJwtSourceChanged(JWKSource<SecurityContext> jwtSource) {
+        if (processorsJwtSource == jwtSource) {
+            return;
+        }
+        // the processors and the verified tokens of the former keys
+        processors.clear();
+        final Cache<ValidatedTokenKey, JWTClaimsSet> cache = validatedTokenCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        processorsJwtSource = jwtSource;
+    }
+
+    protected ConfigurableJWTProcessor<SecurityContext> createProzessor(JWT token) {
         final JWSKeySelector<SecurityContext> keySelector = createKeySelector(token);
         if (keySelector == null) {
             return null;
         }
-        final JWTClaimsSetVerifier<SecurityContext> claimVerifier = createClaimVerifier(token, runtimeAudiences);
+        final JWTClaimsSetVerifier<SecurityContext> claimVerifier = createClaimVerifier(token);
         final ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
         jwtProcessor.setJWSKeySelector(keySelector);
         jwtProcessor.setJWTClaimsSetVerifier(claimVerifier);
@@ -197,12 +298,13 @@ public abstract class ApimsAbstractTokenValidator implements ApimsTokenValidator
     }
 
     @SuppressWarnings("java:S1172")
-    protected JWTClaimsSetVerifier<SecurityContext> createClaimVerifier(JWT token, final Set<String> runtimeAudiences) {
+    protected JWTClaimsSetVerifier<SecurityContext> createClaimVerifier(JWT token) {
         return new DefaultJWTClaimsVerifier<>(null, null) {
             @Override
             public void verify(JWTClaimsSet claimsSet, SecurityContext ctx) throws BadJWTException {
                 super.verify(claimsSet, ctx);
-                verifyAudience(claimsSet, runtimeAudiences, ctx);
+                verifyAudience(
+                        claimsSet, ctx instanceof RuntimeAudiencesContext c ? c.runtimeAudiences() : null, ctx);
             }
         };
     }
@@ -230,4 +332,95 @@ public abstract class ApimsAbstractTokenValidator implements ApimsTokenValidator
         }
         return null;
     }
+
+    protected Cache<ValidatedTokenKey, JWTClaimsSet> getValidatedTokenCache() {
+        if (validatedTokenCacheTtlSeconds < 1) {
+            return null;
+        }
+        Cache<ValidatedTokenKey, JWTClaimsSet> cache = validatedTokenCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = validatedTokenCache;
+                if (cache == null) {
+                    cache = createValidatedTokenCache();
+                    validatedTokenCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    protected Cache<ValidatedTokenKey, JWTClaimsSet> createValidatedTokenCache() {
+        final long ttlNanos = TimeUnit.SECONDS.toNanos(validatedTokenCacheTtlSeconds);
+        Cache<ValidatedTokenKey, JWTClaimsSet> cache = Caffeine.newBuilder()
+                .maximumSize(validatedTokenCacheMaxSize)
+                .expireAfter(new Expiry<ValidatedTokenKey, JWTClaimsSet>() {
+                    @Override
+                    public long expireAfterCreate(ValidatedTokenKey key, JWTClaimsSet value, long currentTime) {
+                        Date expirationTime = value.getExpirationTime();
+                        if (expirationTime == null) {
+                            return ttlNanos;
+                        }
+                        long remainingMillis = expirationTime.getTime() - System.currentTimeMillis();
+                        return Math.clamp(TimeUnit.MILLISECONDS.toNanos(remainingMillis), 0L, ttlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            ValidatedTokenKey key, JWTClaimsSet value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            ValidatedTokenKey key, JWTClaimsSet value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(
+                    meterRegistry, cache, APIMS_OAUTH_VALIDATED_TOKEN_CACHE_NAME, "validator", getValidatorName());
+        }
+        return cache;
+    }
+
+    protected ValidatedTokenKey createValidatedTokenKey(JWT token, Set<String> runtimeAudiences) {
+        String parsedToken = token.getParsedString();
+        if (parsedToken == null) {
+            return null;
+        }
+        String tokenHash =
+                DigestUtils.digestAsHexString(TOKEN_HASH_ALGORITHM, parsedToken.getBytes(StandardCharsets.UTF_8));
+        // the runtime audiences are only part of the validation with an explicit audience check
+        return new ValidatedTokenKey(
+                tokenHash,
+                explicitAudienceCheck && runtimeAudiences != null ? Set.copyOf(runtimeAudiences) : Set.of());
+    }
+
+    protected void recordVerification(long durationNanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer timer = verificationTimer;
+        if (timer == null) {
+            timer = Timer.builder(APIMS_OAUTH_TOKEN_VERIFICATION_TIMER_NAME)
+                    .tag("validator", getValidatorName())
+                    .register(meterRegistry);
+            verificationTimer = timer;
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    protected String getValidatorName() {
+        return getClass().getSimpleName();
+    }
+
+    protected record ValidatedTokenKey(String tokenHash, Set<String> runtimeAudiences) {}
+
+    protected record RuntimeAudiencesContext(Set<String> runtimeAudiences) implements SecurityContext {}
+
+    private record CachedProcessor(
+            JWKSource<SecurityContext> jwtSource, ConfigurableJWTProcessor<SecurityContext> processor) {}
 }
@@ -30,6 +30,7 @@ public abstract class ApimsConfigTokenValidator extends ApimsAbstractTokenValida
         setExplicitAudienceCheck(explicitAudienceCheck);
         getValidAudiences().addAll(Set.of(StringUtils.tokenizeToStringArray(validAudiences, ",")));
         setValidateExpirationTime(validateExpirationTime);
+        setValidatedTokenCache(getConfiguredValidatedTokenCacheTtlSeconds(), getConfiguredValidatedTokenCacheMaxSize());
     }
 
     protected String getConfiguredIssuer() {
@@ -57,6 +58,16 @@ public abstract class ApimsConfigTokenValidator extends ApimsAbstractTokenValida
         return getConfigurationValue("valid-audiences", "");
     }
 
+    protected long getConfiguredValidatedTokenCacheTtlSeconds() {
+        return Long.parseLong(getConfigurationValue(
+                "validated-token-cache-ttl-seconds", String.valueOf(DEFAULT_VALIDATED_TOKEN_CACHE_TTL_SECONDS)));
+    }
+
+    protected long getConfiguredValidatedTokenCacheMaxSize() {
+        return Long.parseLong(getConfigurationValue(
+                "validated-token-cache-max-size", String.valueOf(DEFAULT_VALIDATED_TOKEN_CACHE_MAX_SIZE)));
+    }
+
     protected String getConfigurationValue(String key, String defaultValue) {
         return ApimsSpringContext.getProperty(rootConfigLocation + "." + key, defaultValue);
     }
@@ -13,6 +13,16 @@ import java.io.IOException;
 @SuppressWarnings({"java:S6201"})
 public class ApimsRestClientHttpRequestContentInterceptor implements ApimsRestClientHttpRequestInterceptor {
 
+    private final int maxErrorBodySize;
+
+    public ApimsRestClientHttpRequestContentInterceptor() {
+        this(ApimsWrappedClientHttpResponse.DEFAULT_MAX_ERROR_BODY_SIZE);
+    }
+
+    public ApimsRestClientHttpRequestContentInterceptor(int maxErrorBodySize) {
+        this.maxErrorBodySize = maxErrorBodySize;
+    }
+
     @Override
     public int getOrder() {
         return LOWEST_PRECEDENCE - 50;
@@ -22,9 +32,9 @@ public class ApimsRestClientHttpRequestContentInterceptor implements ApimsRestCl
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
             throws IOException {
         ClientHttpResponse response = execution.execute(request, body);
-        // force read body. spring ignores the response body on http status >= 400
+        // force read body on http status >= 400, spring ignores it. other bodies are passed through
         return response instanceof ApimsWrappedClientHttpResponse awchr
                 ? awchr
-                : new ApimsWrappedClientHttpResponse(response);
+                : new ApimsWrappedClientHttpResponse(response, maxErrorBodySize);
     }
 }
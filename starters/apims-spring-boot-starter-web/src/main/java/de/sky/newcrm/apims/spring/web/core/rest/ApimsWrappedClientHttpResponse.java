@@ -7,39 +7,57 @@ package de.sky.newcrm.apims.spring.web.core.rest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.util.StreamUtils;
+import org.springframework.util.Assert;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
-import java.util.Map;
 
+/**
+ * Buffers the body of error responses (http status >= 400), which spring would otherwise ignore, up to
+ * {@code maxErrorBodySize} bytes. The body of all other responses is passed through untouched, the headers are always
+ * read from the wrapped response.
+ */
 public class ApimsWrappedClientHttpResponse implements ClientHttpResponse {
 
+    public static final int DEFAULT_MAX_ERROR_BODY_SIZE = 1024 * 1024;
+
+    private final ClientHttpResponse clientHttpResponse;
     private final int rawStatusCode;
-    private final String statusText;
-    private final HttpHeaders headers;
     private final byte[] responseBody;
 
     public ApimsWrappedClientHttpResponse(ClientHttpResponse clientHttpResponse) throws IOException {
+        this(clientHttpResponse, DEFAULT_MAX_ERROR_BODY_SIZE);
+    }
+
+    public ApimsWrappedClientHttpResponse(ClientHttpResponse clientHttpResponse, int maxErrorBodySize)
+            throws IOException {
+        Assert.isTrue(maxErrorBodySize >= 0, "'maxErrorBodySize' should be larger than or equal to 0");
+        this.clientHttpResponse = clientHttpResponse;
         rawStatusCode = clientHttpResponse.getStatusCode().value();
-        statusText = clientHttpResponse.getStatusText();
-        responseBody = StreamUtils.copyToByteArray(clientHttpResponse.getBody());
-        headers = new HttpHeaders();
-        for (Map.Entry<String, List<String>> entry :
-                clientHttpResponse.getHeaders().headerSet()) {
-            for (String value : entry.getValue()) {
-                headers.add(entry.getKey(), value);
-            }
+        responseBody = rawStatusCode >= 400 ? readBody(clientHttpResponse.getBody(), maxErrorBodySize) : null;
+    }
+
+    private static byte[] readBody(InputStream body, int maxErrorBodySize) throws IOException {
+        if (body == null) {
+            return new byte[0];
+        }
+        try (InputStream inputStream = body) {
+            return inputStream.readNBytes(maxErrorBodySize);
         }
-        clientHttpResponse.close();
     }
 
+    /**
+     * Returns the buffered body of an error response, {@code null} if the body is passed through.
+     */
     public byte[] getResponseBody() {
         return responseBody;
     }
 
+    public boolean isBuffered() {
+        return responseBody != null;
+    }
+
     @Override
     public HttpStatus getStatusCode() throws IOException {
         return HttpStatus.valueOf(rawStatusCode);
@@ -47,21 +65,21 @@ public class ApimsWrappedClientHttpResponse implements ClientHttpResponse {
 
     @Override
     public String getStatusText() throws IOException {
-        return statusText;
+        return clientHttpResponse.getStatusText();
     }
 
     @Override
     public void close() {
-        // nothing to do
+        clientHttpResponse.close();
     }
 
     @Override
     public InputStream getBody() throws IOException {
-        return responseBody == null ? InputStream.nullInputStream() : new ByteArrayInputStream(responseBody);
+        return responseBody == null ? clientHttpResponse.getBody() : new ByteArrayInputStream(responseBody);
     }
 
     @Override
     public HttpHeaders getHeaders() {
-        return headers;
+        return clientHttpResponse.getHeaders();
     }
 }
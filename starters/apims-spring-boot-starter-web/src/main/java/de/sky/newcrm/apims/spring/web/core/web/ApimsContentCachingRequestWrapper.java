@@ -9,50 +9,111 @@ import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
-import org.springframework.util.FileCopyUtils;
+import org.springframework.util.Assert;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streams the request body through to the application and keeps only the first {@code maxPayloadLength} bytes for
+ * logging. If the body is requested before the application reads it, these bytes are read ahead and replayed to the
+ * application, the rest of the body is never held in memory.
+ */
 public class ApimsContentCachingRequestWrapper extends HttpServletRequestWrapper {
 
-    private byte[] content = null;
+    public static final int DEFAULT_MAX_PAYLOAD_LENGTH = 1024;
+
+    private final int maxPayloadLength;
+    private ApimsContentCachingInputStream inputStream = null;
+    private BufferedReader reader = null;
 
     public ApimsContentCachingRequestWrapper(HttpServletRequest request) {
+        this(request, DEFAULT_MAX_PAYLOAD_LENGTH);
+    }
+
+    public ApimsContentCachingRequestWrapper(HttpServletRequest request, int maxPayloadLength) {
         super(request);
+        Assert.isTrue(maxPayloadLength >= 0, "'maxPayloadLength' should be larger than or equal to 0");
+        this.maxPayloadLength = maxPayloadLength;
     }
 
+    /**
+     * Returns the first {@code maxPayloadLength} bytes of the body.
+     */
     public byte[] getBody() throws IOException {
-        if (content == null) {
-            content = FileCopyUtils.copyToByteArray(super.getInputStream());
-        }
-        return content;
+        ApimsContentCachingInputStream stream = getContentCachingInputStream();
+        stream.readAhead();
+        return stream.getCapturedContent();
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        return new ApimsContentCachingInputStream(getBody());
+        return getContentCachingInputStream();
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String characterEncoding = getCharacterEncoding();
+            Charset charset =
+                    characterEncoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(characterEncoding);
+            reader = new BufferedReader(new InputStreamReader(getContentCachingInputStream(), charset));
+        }
+        return reader;
+    }
+
+    private ApimsContentCachingInputStream getContentCachingInputStream() throws IOException {
+        if (inputStream == null) {
+            long contentLength = getContentLengthLong();
+            int capacity = contentLength < 0 ? maxPayloadLength : (int) Math.min(contentLength, maxPayloadLength);
+            inputStream = new ApimsContentCachingInputStream(super.getInputStream(), capacity);
+        }
+        return inputStream;
     }
 
     private static class ApimsContentCachingInputStream extends ServletInputStream {
 
-        private final InputStream delegate;
+        private final ServletInputStream delegate;
+        private final byte[] content;
+        // bytes of content, and the bytes of content already passed to the application
+        private int count = 0;
+        private int position = 0;
+        private boolean endOfStream = false;
+
+        public ApimsContentCachingInputStream(ServletInputStream delegate, int capacity) {
+            this.delegate = delegate;
+            this.content = new byte[capacity];
+        }
+
+        void readAhead() throws IOException {
+            while (count < content.length && !endOfStream) {
+                int read = delegate.read(content, count, content.length - count);
+                if (read < 0) {
+                    endOfStream = true;
+                } else {
+                    count += read;
+                }
+            }
+        }
 
-        public ApimsContentCachingInputStream(byte[] body) {
-            this.delegate = new ByteArrayInputStream(body);
+        byte[] getCapturedContent() {
+            return Arrays.copyOf(content, count);
         }
 
         @Override
         @ApimsReportGeneratedHint
         public boolean isFinished() {
-            return false;
+            return position == count && (endOfStream || delegate.isFinished());
         }
 
         @Override
         @ApimsReportGeneratedHint
         public boolean isReady() {
-            return true;
+            return position < count || delegate.isReady();
         }
 
         @Override
@@ -62,57 +123,59 @@ public class ApimsContentCachingRequestWrapper extends HttpServletRequestWrapper
         }
 
         @Override
-        @ApimsReportGeneratedHint
         public int read() throws IOException {
-            return this.delegate.read();
+            if (position < count) {
+                return content[position++] & 0xFF;
+            }
+            if (endOfStream) {
+                return -1;
+            }
+            int value = delegate.read();
+            if (value < 0) {
+                endOfStream = true;
+            } else if (count < content.length) {
+                content[count++] = (byte) value;
+                position = count;
+            }
+            return value;
         }
 
         @Override
-        @ApimsReportGeneratedHint
         public int read(byte[] b, int off, int len) throws IOException {
-            return this.delegate.read(b, off, len);
-        }
-
-        @Override
-        @ApimsReportGeneratedHint
-        public int read(byte[] b) throws IOException {
-            return this.delegate.read(b);
-        }
-
-        @Override
-        @ApimsReportGeneratedHint
-        public long skip(long n) throws IOException {
-            return this.delegate.skip(n);
+            if (len == 0) {
+                return 0;
+            }
+            if (position < count) {
+                int length = Math.min(len, count - position);
+                System.arraycopy(content, position, b, off, length);
+                position += length;
+                return length;
+            }
+            if (endOfStream) {
+                return -1;
+            }
+            int read = delegate.read(b, off, len);
+            if (read < 0) {
+                endOfStream = true;
+            } else if (count < content.length) {
+                int length = Math.min(read, content.length - count);
+                System.arraycopy(b, off, content, count, length);
+                count += length;
+                position = count;
+            }
+            return read;
         }
 
         @Override
         @ApimsReportGeneratedHint
         public int available() throws IOException {
-            return this.delegate.available();
+            return (count - position) + (endOfStream ? 0 : delegate.available());
         }
 
         @Override
         @ApimsReportGeneratedHint
         public void close() throws IOException {
-            this.delegate.close();
-        }
-
-        @Override
-        @ApimsReportGeneratedHint
-        public synchronized void mark(int readlimit) {
-            this.delegate.mark(readlimit);
-        }
-
-        @Override
-        @ApimsReportGeneratedHint
-        public synchronized void reset() throws IOException {
-            this.delegate.reset();
-        }
-
-        @Override
-        @ApimsReportGeneratedHint
-        public boolean markSupported() {
-            return this.delegate.markSupported();
+            delegate.close();
         }
     }
 }
@@ -9,26 +9,42 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.util.Assert;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
+/**
+ * Writes the response body straight through to the client and keeps only the first {@code maxPayloadLength} bytes
+ * for logging.
+ */
 public class ApimsContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
+    private final int maxPayloadLength;
     private ApimsContentCachingOutputStream apimsContentCachingOutputStream = null;
 
     public ApimsContentCachingResponseWrapper(HttpServletResponse response) {
+        this(response, ApimsContentCachingRequestWrapper.DEFAULT_MAX_PAYLOAD_LENGTH);
+    }
+
+    public ApimsContentCachingResponseWrapper(HttpServletResponse response, int maxPayloadLength) {
         super(response);
+        Assert.isTrue(maxPayloadLength >= 0, "'maxPayloadLength' should be larger than or equal to 0");
+        this.maxPayloadLength = maxPayloadLength;
     }
 
     @Override
     public ServletOutputStream getOutputStream() throws IOException {
         if (apimsContentCachingOutputStream == null) {
-            apimsContentCachingOutputStream = new ApimsContentCachingOutputStream(super.getOutputStream());
+            apimsContentCachingOutputStream =
+                    new ApimsContentCachingOutputStream(super.getOutputStream(), maxPayloadLength);
         }
         return apimsContentCachingOutputStream;
     }
 
+    /**
+     * Returns the first {@code maxPayloadLength} bytes of the body.
+     */
     public byte[] getBody() {
         return apimsContentCachingOutputStream == null ? new byte[0] : apimsContentCachingOutputStream.getBody();
     }
@@ -36,11 +52,13 @@ public class ApimsContentCachingResponseWrapper extends HttpServletResponseWrapp
     private static class ApimsContentCachingOutputStream extends ServletOutputStream {
 
         private final ServletOutputStream originalServletOutputStream;
-        private final ByteArrayOutputStream byteArrayOutputStream;
+        private final int maxPayloadLength;
+        private byte[] content = null;
+        private int count = 0;
 
-        public ApimsContentCachingOutputStream(ServletOutputStream originalServletOutputStream) {
+        public ApimsContentCachingOutputStream(ServletOutputStream originalServletOutputStream, int maxPayloadLength) {
             this.originalServletOutputStream = originalServletOutputStream;
-            this.byteArrayOutputStream = new ByteArrayOutputStream();
+            this.maxPayloadLength = maxPayloadLength;
         }
 
         @Override
@@ -56,15 +74,43 @@ public class ApimsContentCachingResponseWrapper extends HttpServletResponseWrapp
         }
 
         @Override
-        @ApimsReportGeneratedHint
         public void write(int b) throws IOException {
             originalServletOutputStream.write(b);
-            byteArrayOutputStream.write(b);
+            if (count < maxPayloadLength) {
+                capture(1)[count++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            originalServletOutputStream.write(b, off, len);
+            if (count < maxPayloadLength && len > 0) {
+                int length = Math.min(len, maxPayloadLength - count);
+                System.arraycopy(b, off, capture(length), count, length);
+                count += length;
+            }
+        }
+
+        @Override
+        @ApimsReportGeneratedHint
+        public void flush() throws IOException {
+            originalServletOutputStream.flush();
+        }
+
+        private byte[] capture(int length) {
+            if (content == null) {
+                // small responses stay small, the buffer is never larger than maxPayloadLength
+                content = new byte[Math.min(maxPayloadLength, Math.max(length, 256))];
+            } else if (count + length > content.length) {
+                content = Arrays.copyOf(
+                        content, Math.min(maxPayloadLength, Math.max(count + length, content.length * 2)));
+            }
+            return content;
         }
 
         @ApimsReportGeneratedHint
         public byte[] getBody() {
-            return byteArrayOutputStream.toByteArray();
+            return content == null ? new byte[0] : Arrays.copyOf(content, count);
         }
     }
 }
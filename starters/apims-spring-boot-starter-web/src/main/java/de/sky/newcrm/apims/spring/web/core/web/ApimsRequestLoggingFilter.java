@@ -65,7 +65,7 @@ public class ApimsRequestLoggingFilter extends OncePerRequestFilter {
      */
     public static final String DEFAULT_AFTER_MESSAGE_SUFFIX = "]";
 
-    private static final int DEFAULT_MAX_PAYLOAD_LENGTH = 1024;
+    private static final int DEFAULT_MAX_PAYLOAD_LENGTH = ApimsContentCachingRequestWrapper.DEFAULT_MAX_PAYLOAD_LENGTH;
 
     private boolean includeQueryString = false;
 
@@ -216,7 +216,7 @@ public class ApimsRequestLoggingFilter extends OncePerRequestFilter {
 
     /**
      * Set the maximum length of the payload body to be included in the log message.
-     * Default is 50 characters.
+     * Default is 1024 bytes. Only this many bytes of the request and response body are kept in memory.
      *
      * @since 3.0
      */
@@ -295,10 +295,10 @@ public class ApimsRequestLoggingFilter extends OncePerRequestFilter {
         boolean shouldLog = shouldLog(requestToUse);
         if (shouldLog && isIncludePayload() && isFirstRequest) {
             if (!(requestToUse instanceof ApimsContentCachingRequestWrapper)) {
-                requestToUse = new ApimsContentCachingRequestWrapper(request);
+                requestToUse = new ApimsContentCachingRequestWrapper(request, getMaxPayloadLength());
             }
             if (!(responseToUse instanceof ApimsContentCachingResponseWrapper)) {
-                responseToUse = new ApimsContentCachingResponseWrapper(response);
+                responseToUse = new ApimsContentCachingResponseWrapper(response, getMaxPayloadLength());
             }
         }
 